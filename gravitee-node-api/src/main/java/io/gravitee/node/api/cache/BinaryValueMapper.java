@@ -0,0 +1,27 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * {@link ValueMapper} converting the values from and to raw bytes.
+ * Caching systems able to store binary values exchange the {@link Buffer} directly with their client, avoiding the intermediate
+ * {@link String} copy and charset conversion of a <code>ValueMapper&lt;V, String&gt;</code>.
+ *
+ * @param <V> the value type provided by the application
+ */
+public interface BinaryValueMapper<V> extends ValueMapper<V, Buffer> {}
@@ -21,6 +21,7 @@ import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -155,6 +156,33 @@ public interface Cache<K, V> {
         return Maybe.fromCallable(() -> this.get(key)).subscribeOn(Schedulers.io());
     }
 
+    /**
+     * Return the values of the specified keys. Caches backed by a remote system fetch them in as few round trips as possible.
+     * @param keys the keys used to get the values.
+     *
+     * @return a map of the values found, keys without value are not part of it.
+     */
+    default Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>();
+        keys.forEach(key -> {
+            V value = this.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Reactive method to get the values of the specified keys as a <code>Single</code>.
+     * @param keys the keys used to get the values.
+     *
+     * @return a <code>Single</code> containing a map of the values found, keys without value are not part of it.
+     */
+    default Single<Map<K, V>> rxGetAll(final Collection<? extends K> keys) {
+        return Single.fromCallable(() -> this.getAll(keys)).subscribeOn(Schedulers.io());
+    }
+
     /**
      * Associate the value to the specified key in this cache and returns the previous value that was associated to this key or <code>null</code>
      * if no value was previously associated to this key.
@@ -213,6 +241,28 @@ public interface Cache<K, V> {
         return Completable.fromRunnable(() -> this.putAll(m)).subscribeOn(Schedulers.io());
     }
 
+    /**
+     * Same as {@link #putAll(Map)} but with a time to live applied to each entry.
+     * @param m a map containing all the key/value pairs to put into this cache.
+     * @param ttl the time to live.
+     * @param ttlUnit the unit of the time to live.
+     */
+    default void putAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        m.forEach((key, value) -> this.put(key, value, ttl, ttlUnit));
+    }
+
+    /**
+     * Same as {@link #rxPutAll(Map)} but with a time to live applied to each entry.
+     * @param m a map containing all the key/value pairs to put into this cache.
+     * @param ttl the time to live.
+     * @param ttlUnit the unit of the time to live.
+     *
+     * @return a <code>Completable</code> that completes once all the key/value pairs have been put in the cache.
+     */
+    default Completable rxPutAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        return Completable.fromRunnable(() -> this.putAll(m, ttl, ttlUnit)).subscribeOn(Schedulers.io());
+    }
+
     /**
      * If the specified key is not already associated with a value, attempt to compute the value of the specified key using the given remapping function.
      * If the remapping function returns <code>null</code>, the mapping is removed.
@@ -278,6 +328,72 @@ public interface Cache<K, V> {
         return Maybe.fromCallable(() -> this.compute(key, remappingFunction)).subscribeOn(Schedulers.io());
     }
 
+    /**
+     * Atomically add the given delta to the counter held by the specified key, the counter starting at <code>0</code> when the key is
+     * absent. The values of a cache used as counters must be {@link Number}s, the counter being stored as a {@link Long}.
+     * Caches supporting it update the counter in a single server side operation rather than with {@link #compute(Object, BiFunction)}.
+     * @param key the key.
+     * @param delta the value to add, negative to decrement the counter.
+     *
+     * @return the value of the counter once incremented.
+     */
+    @SuppressWarnings("unchecked")
+    default long increment(final K key, final long delta) {
+        V value = this.compute(key, (k, current) -> (V) Long.valueOf(current == null ? delta : ((Number) current).longValue() + delta));
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * Reactive method to atomically add the given delta to the counter held by the specified key.
+     * @param key the key.
+     * @param delta the value to add, negative to decrement the counter.
+     *
+     * @return a <code>Single</code> containing the value of the counter once incremented.
+     */
+    default Single<Long> rxIncrement(final K key, final long delta) {
+        return Single.fromCallable(() -> this.increment(key, delta)).subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Reactive method to get the value of the specified key, loading and storing it with the given loader if it is missing.
+     * Unlike {@link #rxComputeIfAbsent(Object, Function)}, the loader is asynchronous and no lock is held while it runs.
+     * @param key the key.
+     * @param loader the function returning the value to store, or an empty <code>Maybe</code> if there is no value to store.
+     *
+     * @return a <code>Maybe</code> containing the cached or loaded value, or an empty one if the loader did not return any value.
+     */
+    default Maybe<V> rxGetOrLoad(final K key, final Function<? super K, Maybe<V>> loader) {
+        return this.rxGetOrLoad(key, loader, CacheLoadOptions.builder().build());
+    }
+
+    /**
+     * Reactive method to get the value of the specified key, loading and storing it with the given loader if it is missing.
+     * Caches supporting it coalesce the concurrent loads of a same key in a single call to the loader.
+     * <p>
+     * This default implementation only honors the time to live of the options: each miss calls the loader, there is neither refresh
+     * ahead nor distributed lock. Implementations are expected to override it with a loader kept for the lifetime of the cache.
+     * @param key the key.
+     * @param loader the function returning the value to store, or an empty <code>Maybe</code> if there is no value to store.
+     * @param options the options of the load (time to live of the loaded value, refresh ahead, distributed lock).
+     *
+     * @return a <code>Maybe</code> containing the cached or loaded value, or an empty one if the loader did not return any value.
+     */
+    default Maybe<V> rxGetOrLoad(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        return this.rxGet(key)
+            .switchIfEmpty(
+                Maybe.defer(() ->
+                    loader
+                        .apply(key)
+                        .flatMap(value -> {
+                            Maybe<V> put = options.getTimeToLiveInMs() > 0
+                                ? this.rxPut(key, value, options.getTimeToLiveInMs(), TimeUnit.MILLISECONDS)
+                                : this.rxPut(key, value);
+                            return put.ignoreElement().andThen(Maybe.just(value));
+                        })
+                )
+            );
+    }
+
     /**
      * Remove the key/value entry from the cache.
      * @param key the key.
@@ -296,6 +412,24 @@ public interface Cache<K, V> {
         return Maybe.fromCallable(() -> this.evict(key)).subscribeOn(Schedulers.io());
     }
 
+    /**
+     * Remove all the key/value entries of the specified keys from the cache.
+     * @param keys the keys to remove.
+     */
+    default void evictAll(final Collection<? extends K> keys) {
+        keys.forEach(this::evict);
+    }
+
+    /**
+     * Reactive method to remove all the key/value entries of the specified keys from the cache.
+     * @param keys the keys to remove.
+     *
+     * @return a <code>Completable</code> that completes once all the entries have been removed.
+     */
+    default Completable rxEvictAll(final Collection<? extends K> keys) {
+        return Completable.fromRunnable(() -> this.evictAll(keys)).subscribeOn(Schedulers.io());
+    }
+
     /**
      * Clear the cache.
      */
@@ -345,4 +479,56 @@ public interface Cache<K, V> {
     default Single<Boolean> rxRemoveCacheListener(final String listenerCacheId) {
         return Single.fromCallable(() -> this.removeCacheListener(listenerCacheId)).subscribeOn(Schedulers.io());
     }
+
+    /**
+     * Add a listener that will be called with the key of each entry added, updated or removed from this cache, including the changes
+     * made by other nodes for caches able to observe them. This is typically used to invalidate local copies of the cache entries.
+     * @param listener the invalidation listener.
+     *
+     * @return an uuid for this invalidation listener that can be used to remove it.
+     */
+    default String addCacheInvalidationListener(final CacheInvalidationListener<K> listener) {
+        return this.addCacheListener(
+            new CacheListener<>() {
+                @Override
+                public void onEntryAdded(final K key, final V value) {
+                    listener.onInvalidation(key);
+                }
+
+                @Override
+                public void onEntryEvicted(final K key, final V value) {
+                    listener.onInvalidation(key);
+                }
+
+                @Override
+                public void onEntryUpdated(final K key, final V oldValue, final V value) {
+                    listener.onInvalidation(key);
+                }
+
+                @Override
+                public void onEntryExpired(final K key, final V value) {
+                    listener.onInvalidation(key);
+                }
+            }
+        );
+    }
+
+    /**
+     * Remove the specified invalidation listener.
+     * @param listenerId the id of the invalidation listener to remove.
+     *
+     * @return <code>true</code> if the invalidation listener has been removed, <code>false</code> otherwise.
+     */
+    default boolean removeCacheInvalidationListener(final String listenerId) {
+        return this.removeCacheListener(listenerId);
+    }
+
+    /**
+     * Statistics of the cache observed by the current node, e.g. to follow its hit rate.
+     *
+     * @return the statistics, empty if the cache does not record any.
+     */
+    default CacheStats stats() {
+        return CacheStats.empty();
+    }
 }
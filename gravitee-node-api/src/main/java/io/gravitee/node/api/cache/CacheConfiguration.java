@@ -36,9 +36,93 @@ public class CacheConfiguration {
     @Builder.Default
     private long maxSize = -1;
 
+    /**
+     * Maximum total weight in bytes of the entries of a local cache, <code>-1</code> for no limit.
+     * Entries are weighed with {@link #getWeigher()}, or by their serialized size for an off-heap cache. Takes precedence over
+     * {@link #getMaxSize()} when both are configured.
+     */
+    @Builder.Default
+    private long maxWeightInBytes = -1;
+
+    /**
+     * Weigher of the entries, required when {@link #getMaxWeightInBytes()} is configured on a cache keeping its values on the heap.
+     */
+    private Weigher<?, ?> weigher;
+
     @Builder.Default
     private long timeToLiveInMs = -1;
 
     @Builder.Default
     private long timeToIdleInMs = -1;
+
+    /**
+     * Maximum number of entries kept in the local near cache placed in front of a distributed cache, <code>-1</code> to disable it.
+     */
+    @Builder.Default
+    private long nearCacheMaxSize = -1;
+
+    /**
+     * Time to live of the entries of the local near cache, <code>-1</code> to only rely on invalidation events.
+     */
+    @Builder.Default
+    private long nearCacheTimeToLiveInMs = -1;
+
+    /**
+     * Keep the values of a local cache serialized in direct memory instead of the heap.
+     * Requires the cache to be created with a {@link BinaryValueMapper}, ignored for distributed caches.
+     */
+    @Builder.Default
+    private boolean offHeap = false;
+
+    /**
+     * File the entries of a local cache are saved to, and restored from when the cache is created, <code>null</code> to disable it.
+     * Requires string keys and a {@link BinaryValueMapper}, restored entries keep their remaining time to live. Ignored for distributed
+     * and off-heap caches.
+     */
+    private String snapshotPath;
+
+    /**
+     * Interval between two snapshots of a local cache configured with {@link #getSnapshotPath()}, <code>-1</code> to only save it when
+     * the cache manager stops.
+     */
+    @Builder.Default
+    private long snapshotIntervalInMs = -1;
+
+    /**
+     * Format of the values stored by a distributed cache, <code>null</code> to keep the one of the caching system configuration.
+     */
+    private InMemoryFormat inMemoryFormat;
+
+    /**
+     * Number of synchronous backups of the entries of a distributed cache, <code>-1</code> to keep the one of the caching system
+     * configuration.
+     */
+    @Builder.Default
+    private int backupCount = -1;
+
+    /**
+     * Number of asynchronous backups of the entries of a distributed cache, <code>-1</code> to keep the one of the caching system
+     * configuration. Asynchronous backups do not slow down the writes, at the risk of losing the latest ones when a node fails.
+     */
+    @Builder.Default
+    private int asyncBackupCount = -1;
+
+    /**
+     * Maximum number of entries of the near cache provided by the distributed caching system itself when it supports one (Hazelcast),
+     * <code>-1</code> to disable it. Unlike {@link #getNearCacheMaxSize()}, its invalidation is handled by the caching system, both
+     * should not be enabled together.
+     */
+    @Builder.Default
+    private long nativeNearCacheMaxSize = -1;
+
+    public enum InMemoryFormat {
+        /**
+         * Values are stored serialized, each read deserializes them.
+         */
+        BINARY,
+        /**
+         * Values are stored deserialized, which suits caches mostly read locally.
+         */
+        OBJECT,
+    }
 }
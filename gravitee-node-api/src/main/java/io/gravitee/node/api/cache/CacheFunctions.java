@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Registry of the functions given to the compute methods of a {@link Cache} by id.
+ * Distributed caches able to run the computation where the entry is stored only send the id of a registered function instead of the
+ * function itself, which then does not have to be serializable. The function must be registered with the same id on every node.
+ * Local caches simply apply the registered function.
+ *
+ * @author GraviteeSource Team
+ */
+public final class CacheFunctions {
+
+    private static final ConcurrentMap<String, BiFunction<?, ?, ?>> FUNCTIONS = new ConcurrentHashMap<>();
+
+    private CacheFunctions() {}
+
+    /**
+     * Register a remapping function under the given id, replacing any function already registered with this id.
+     *
+     * @return the function to pass to {@link Cache#compute(Object, BiFunction)} or {@link Cache#computeIfPresent(Object, BiFunction)}.
+     */
+    public static <K, V> BiFunction<K, V, V> register(final String id, final BiFunction<? super K, ? super V, ? extends V> function) {
+        FUNCTIONS.put(id, function);
+        return remapping(id);
+    }
+
+    public static void unregister(final String id) {
+        FUNCTIONS.remove(id);
+    }
+
+    /**
+     * @return the remapping function registered with the given id, to pass to {@link Cache#compute(Object, BiFunction)} or
+     * {@link Cache#computeIfPresent(Object, BiFunction)}.
+     */
+    public static <K, V> BiFunction<K, V, V> remapping(final String id) {
+        return new RemappingFunction<>(id);
+    }
+
+    /**
+     * @return the remapping function registered with the given id, called with a <code>null</code> value, to pass to
+     * {@link Cache#computeIfAbsent(Object, Function)}.
+     */
+    public static <K, V> Function<K, V> mapping(final String id) {
+        return new MappingFunction<>(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> BiFunction<K, V, V> lookup(final String id) {
+        BiFunction<K, V, V> function = (BiFunction<K, V, V>) FUNCTIONS.get(id);
+        if (function == null) {
+            throw new IllegalStateException("No cache function registered with id [" + id + "]");
+        }
+        return function;
+    }
+
+    private record RemappingFunction<K, V>(String id) implements BiFunction<K, V, V>, Serializable {
+        @Override
+        public V apply(final K key, final V value) {
+            return CacheFunctions.<K, V>lookup(id).apply(key, value);
+        }
+    }
+
+    private record MappingFunction<K, V>(String id) implements Function<K, V>, Serializable {
+        @Override
+        public V apply(final K key) {
+            return CacheFunctions.<K, V>lookup(id).apply(key, null);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+/**
+ * Listener notified with the key of each entry which has been added, updated or removed from a cache, whoever made the change.
+ *
+ * @author GraviteeSource Team
+ */
+@FunctionalInterface
+public interface CacheInvalidationListener<K> {
+    void onInvalidation(final K key);
+
+    /**
+     * Called when changes may have been missed, e.g. while the notifications of a distributed cache were interrupted, so every local
+     * copy of the cache entries must be dropped.
+     */
+    default void onInvalidationOfAll() {}
+
+    /**
+     * Called when the changes of a distributed cache cannot be observed, e.g. when the notifications it relies on are disabled on the
+     * server, so local copies of the cache entries must not be kept anymore.
+     */
+    default void onInvalidationUnavailable() {
+        onInvalidationOfAll();
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+
+/**
+ * Lock shared by all the nodes accessing a distributed cache, used to let only one node load a missing value.
+ *
+ * @param <K> the type of the keys of the cache
+ * @author GraviteeSource Team
+ */
+public interface CacheLoadLock<K> {
+    /**
+     * Try to acquire the lock of the given key without waiting.
+     * @param key the key to lock.
+     * @param leaseTimeInMs the time after which the lock is automatically released.
+     *
+     * @return a <code>Maybe</code> containing the token to provide to release the lock, or empty if the lock is held by someone else.
+     */
+    Maybe<String> rxTryLock(K key, long leaseTimeInMs);
+
+    /**
+     * Release the lock of the given key if it is still held with the given token.
+     * @param key the key to unlock.
+     * @param token the token returned when the lock has been acquired.
+     *
+     * @return a <code>Completable</code> completing once the lock has been released.
+     */
+    Completable rxUnlock(K key, String token);
+}
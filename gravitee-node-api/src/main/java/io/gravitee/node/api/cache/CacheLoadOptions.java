@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Options of {@link Cache#rxGetOrLoad(Object, java.util.function.Function, CacheLoadOptions)}.
+ *
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class CacheLoadOptions {
+
+    /**
+     * Time to live of the loaded value, <code>-1</code> to rely on the time to live of the cache.
+     */
+    @Builder.Default
+    private long timeToLiveInMs = -1;
+
+    /**
+     * Reload the value in background when it is read less than this delay before its expiration, <code>-1</code> to disable it.
+     * Only applies when {@link #timeToLiveInMs} is set.
+     */
+    @Builder.Default
+    private long refreshAheadInMs = -1;
+
+    /**
+     * Acquire a short lock shared by all the nodes before loading a missing value, so only one node calls the loader while the
+     * others wait for the value to be available in the cache. Ignored by caches which are not distributed.
+     */
+    @Builder.Default
+    private boolean distributedLock = false;
+
+    /**
+     * Lease time of the distributed lock, which is also the maximum time a node waits for another node to load the value before
+     * loading it itself.
+     */
+    @Builder.Default
+    private long distributedLockLeaseTimeInMs = 5000;
+}
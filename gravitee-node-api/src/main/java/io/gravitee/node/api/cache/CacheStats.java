@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Statistics of a {@link Cache} observed by the current node since the cache has been created, see {@link Cache#stats()}.
+ * Distributed caches only count the operations made from the current node, not the ones made by the other nodes.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+@Builder
+public class CacheStats {
+
+    private static final CacheStats EMPTY = CacheStats.builder().build();
+
+    /**
+     * Number of reads which returned a value.
+     */
+    private final long hitCount;
+
+    /**
+     * Number of reads which did not find any value.
+     */
+    private final long missCount;
+
+    /**
+     * Number of values written.
+     */
+    private final long putCount;
+
+    /**
+     * Number of loads, see {@link Cache#rxGetOrLoad(Object, java.util.function.Function, CacheLoadOptions)}, which returned a value.
+     */
+    private final long loadSuccessCount;
+
+    /**
+     * Number of loads which failed or did not return any value.
+     */
+    private final long loadFailureCount;
+
+    /**
+     * Total time spent loading values, successfully or not.
+     */
+    private final long totalLoadTimeNanos;
+
+    /**
+     * Number of entries evicted because the cache exceeded its max size or weight.
+     */
+    private final long evictionCount;
+
+    /**
+     * Total weight of the entries evicted because the cache exceeded its max weight.
+     */
+    private final long evictionWeight;
+
+    /**
+     * Number of reads whose latency has been measured, only the reads going through the network are.
+     */
+    private final long timedGetCount;
+
+    /**
+     * Total time spent by the measured reads.
+     */
+    private final long totalGetTimeNanos;
+
+    /**
+     * Number of writes whose latency has been measured, only the writes going through the network are.
+     */
+    private final long timedPutCount;
+
+    /**
+     * Total time spent by the measured writes.
+     */
+    private final long totalPutTimeNanos;
+
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the number of reads, either hits or misses.
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the ratio of reads which returned a value, <code>1.0</code> when there was no read.
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the sum of these statistics and the given ones.
+     */
+    public CacheStats plus(final CacheStats other) {
+        return CacheStats
+            .builder()
+            .hitCount(hitCount + other.hitCount)
+            .missCount(missCount + other.missCount)
+            .putCount(putCount + other.putCount)
+            .loadSuccessCount(loadSuccessCount + other.loadSuccessCount)
+            .loadFailureCount(loadFailureCount + other.loadFailureCount)
+            .totalLoadTimeNanos(totalLoadTimeNanos + other.totalLoadTimeNanos)
+            .evictionCount(evictionCount + other.evictionCount)
+            .evictionWeight(evictionWeight + other.evictionWeight)
+            .timedGetCount(timedGetCount + other.timedGetCount)
+            .totalGetTimeNanos(totalGetTimeNanos + other.totalGetTimeNanos)
+            .timedPutCount(timedPutCount + other.timedPutCount)
+            .totalPutTimeNanos(totalPutTimeNanos + other.totalPutTimeNanos)
+            .build();
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe counters backing the {@link CacheStats} of the caches which do not get them from their underlying caching system.
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheStatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder timedGetCount = new LongAdder();
+    private final LongAdder totalGetTimeNanos = new LongAdder();
+    private final LongAdder timedPutCount = new LongAdder();
+    private final LongAdder totalPutTimeNanos = new LongAdder();
+
+    public void recordHits(final int count) {
+        hitCount.add(count);
+    }
+
+    public void recordMisses(final int count) {
+        missCount.add(count);
+    }
+
+    /**
+     * Record a read whose latency has been measured.
+     */
+    public void recordGet(final boolean hit, final long elapsedNanos) {
+        (hit ? hitCount : missCount).increment();
+        timedGetCount.increment();
+        totalGetTimeNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Record a read of several keys whose latency has been measured.
+     */
+    public void recordGets(final int hits, final int misses, final long elapsedNanos) {
+        hitCount.add(hits);
+        missCount.add(misses);
+        timedGetCount.increment();
+        totalGetTimeNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Record a write of the given number of values whose latency has been measured.
+     */
+    public void recordPuts(final int count, final long elapsedNanos) {
+        putCount.add(count);
+        timedPutCount.increment();
+        totalPutTimeNanos.add(elapsedNanos);
+    }
+
+    public void recordLoad(final boolean success, final long elapsedNanos) {
+        (success ? loadSuccessCount : loadFailureCount).increment();
+        totalLoadTimeNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Measure the given read, from its subscription to its completion. Failed reads are not recorded.
+     */
+    public <T> Maybe<T> timeGet(final Maybe<T> get) {
+        return Maybe.defer(() -> {
+            long start = System.nanoTime();
+            return get
+                .doOnSuccess(value -> recordGet(true, System.nanoTime() - start))
+                .doOnComplete(() -> recordGet(false, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Measure the given read of several distinct keys, from its subscription to its completion. Failed reads are not recorded.
+     */
+    public <K, V> Single<Map<K, V>> timeGetAll(final Single<Map<K, V>> getAll, final int keyCount) {
+        return Single.defer(() -> {
+            long start = System.nanoTime();
+            return getAll.doOnSuccess(values -> recordGets(values.size(), keyCount - values.size(), System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Measure the given write of a single value, from its subscription to its completion. Failed writes are not recorded.
+     */
+    public <T> Maybe<T> timePut(final Maybe<T> put) {
+        return Maybe.defer(() -> {
+            long start = System.nanoTime();
+            return put.doOnEvent((value, throwable) -> {
+                if (throwable == null) {
+                    recordPuts(1, System.nanoTime() - start);
+                }
+            });
+        });
+    }
+
+    /**
+     * Measure the given write of several values, from its subscription to its completion. Failed writes are not recorded.
+     */
+    public Completable timePuts(final Completable put, final int count) {
+        return Completable.defer(() -> {
+            long start = System.nanoTime();
+            return put.doOnComplete(() -> recordPuts(count, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * @return a snapshot of the counters.
+     */
+    public CacheStats snapshot() {
+        return CacheStats
+            .builder()
+            .hitCount(hitCount.sum())
+            .missCount(missCount.sum())
+            .putCount(putCount.sum())
+            .loadSuccessCount(loadSuccessCount.sum())
+            .loadFailureCount(loadFailureCount.sum())
+            .totalLoadTimeNanos(totalLoadTimeNanos.sum())
+            .timedGetCount(timedGetCount.sum())
+            .totalGetTimeNanos(totalGetTimeNanos.sum())
+            .timedPutCount(timedPutCount.sum())
+            .totalPutTimeNanos(totalPutTimeNanos.sum())
+            .build();
+    }
+}
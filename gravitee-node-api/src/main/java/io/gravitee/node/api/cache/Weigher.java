@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cache;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Compute the weight in bytes of a cache entry, used to bound a local cache with {@link CacheConfiguration#getMaxWeightInBytes()}.
+ * The weight of an entry is computed once when it is written, it must not change afterward.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+    /**
+     * @return the weight in bytes of the entry, never negative.
+     */
+    int weigh(K key, V value);
+
+    /**
+     * Weigh the entries according to the size of their value once serialized with the given mapper.
+     * The value is serialized on each write only to be weighed, prefer a dedicated weigher on hot caches.
+     */
+    static <K, V> Weigher<K, V> serializedSize(final ValueMapper<V, Buffer> valueMapper) {
+        return (key, value) -> valueMapper.toCachedValue(value).length();
+    }
+}
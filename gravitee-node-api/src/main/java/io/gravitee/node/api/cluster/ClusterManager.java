@@ -16,9 +16,12 @@
 package io.gravitee.node.api.cluster;
 
 import io.gravitee.common.service.Service;
+import io.gravitee.node.api.cluster.messaging.CoalescingTopic;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
 import io.gravitee.node.api.cluster.messaging.Queue;
 import io.gravitee.node.api.cluster.messaging.Topic;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -72,6 +75,36 @@ public interface ClusterManager extends Service<ClusterManager> {
      */
     <T> Queue<T> queue(final String name);
 
+    /**
+     * Return a {@link CoalescingTopic} publishing the events at once on the topic of the given name, see
+     * {@link CoalescingTopic#CoalescingTopic(Topic, int, long, Function)}. Cluster managers should close it when they stop so that its
+     * pending events are published. By default, it is not closed.
+     *
+     * @param name the name of the topic the events are published on
+     * @param maxBatchSize the number of pending events triggering their publication
+     * @param maxDelayMs the maximum time in milliseconds an event is kept pending
+     * @param keyMapper the function giving the key of an event, <code>null</code> to publish all the events
+     * @return a {@link CoalescingTopic<T>}
+     * @param <T> the type of content that will be published or consumed.
+     */
+    default <T> CoalescingTopic<T> coalescingTopic(
+        final String name,
+        final int maxBatchSize,
+        final long maxDelayMs,
+        final Function<? super T, ?> keyMapper
+    ) {
+        return new CoalescingTopic<>(topic(name), maxBatchSize, maxDelayMs, keyMapper);
+    }
+
+    /**
+     * Register a {@link MessageCodec} used to send the messages of its type to the other members of the cluster, on any topic or queue.
+     * By default, codecs are ignored, which suits cluster managers delivering the messages in memory.
+     *
+     * @param codec the codec to register
+     * @param <T> the type of messages handled by the codec.
+     */
+    default <T> void registerCodec(final MessageCodec<T> codec) {}
+
     default ClusterInfo clusterInfo() {
         return new ClusterInfo(clusterId(), isRunning(), self(), members());
     }
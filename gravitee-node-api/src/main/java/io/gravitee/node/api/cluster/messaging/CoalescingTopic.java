@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * {@link Topic} decorator buffering the published events to publish them at once on the decorated topic, with
+ * {@link Topic#publishAll(Collection)}. Pending events are published at the latest <code>maxDelayMs</code> after the first of them, or
+ * as soon as <code>maxBatchSize</code> events are pending. The cluster implementations send them as a single message, unpacked for
+ * the listeners, so listening to this topic or to the decorated one is the same.
+ * When a key mapper is given, a pending event is replaced by a newer event with the same key: only the last one is published.
+ * Pending events are lost if they are not published with {@link #flush()} or {@link #close()} before the node stops, which the cluster
+ * managers do for the topics created with {@link io.gravitee.node.api.cluster.ClusterManager#coalescingTopic}.
+ *
+ * @param <T> the type of content that will be published or consumed.
+ * @author GraviteeSource Team
+ */
+public class CoalescingTopic<T> implements Topic<T>, AutoCloseable {
+
+    private final Topic<T> delegate;
+    private final int maxBatchSize;
+    private final long maxDelayMs;
+    private final Function<? super T, ?> keyMapper;
+    private final Object publishLock = new Object();
+    private Map<Object, T> pendingEvents = new LinkedHashMap<>();
+    /**
+     * Token of the flush currently scheduled, a scheduled run no-ops once its token has been swapped out by another flush.
+     */
+    private final AtomicReference<Object> scheduledFlush = new AtomicReference<>();
+    private boolean closed;
+
+    public CoalescingTopic(final Topic<T> delegate, final int maxBatchSize, final long maxDelayMs) {
+        this(delegate, maxBatchSize, maxDelayMs, null);
+    }
+
+    /**
+     * @param delegate the topic the events are published on.
+     * @param maxBatchSize the number of pending events triggering their publication.
+     * @param maxDelayMs the maximum time in milliseconds an event is kept pending.
+     * @param keyMapper the function giving the key of an event, only the last pending event of a key is published. <code>null</code> to
+     * publish all the events.
+     */
+    public CoalescingTopic(final Topic<T> delegate, final int maxBatchSize, final long maxDelayMs, final Function<? super T, ?> keyMapper) {
+        if (maxBatchSize <= 0 || maxDelayMs < 0) {
+            throw new IllegalArgumentException("Max batch size must be positive and max delay must not be negative");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMs = maxDelayMs;
+        this.keyMapper = keyMapper;
+    }
+
+    @Override
+    public void publish(final T event) {
+        publishAll(Collections.singletonList(event));
+    }
+
+    @Override
+    public void publishAll(final Collection<T> events) {
+        boolean full;
+        synchronized (this) {
+            for (T event : events) {
+                // Without key mapper, each event has its own key
+                Object key = keyMapper == null ? new Object() : keyMapper.apply(event);
+                // Remove first so that the newer event takes the position of the latest write
+                pendingEvents.remove(key);
+                pendingEvents.put(key, event);
+            }
+            full = closed || pendingEvents.size() >= maxBatchSize;
+            if (!full && !pendingEvents.isEmpty() && scheduledFlush.get() == null) {
+                Object flushToken = new Object();
+                scheduledFlush.set(flushToken);
+                Schedulers.io().scheduleDirect(() -> scheduledFlush(flushToken), maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Publish the pending events right away on the decorated topic.
+     */
+    public void flush() {
+        // Pending events are taken and published under the same lock so that the batches are published in order
+        synchronized (publishLock) {
+            List<T> events = takePendingEvents();
+            if (!events.isEmpty()) {
+                delegate.publishAll(events);
+            }
+        }
+    }
+
+    /**
+     * Publish the pending events, the events published afterwards being published right away on the decorated topic.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+    /**
+     * @return the number of events waiting to be published.
+     */
+    public synchronized int pendingEvents() {
+        return pendingEvents.size();
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener) {
+        return delegate.addMessageListener(messageListener);
+    }
+
+    @Override
+    public boolean removeMessageListener(final String subscriptionId) {
+        return delegate.removeMessageListener(subscriptionId);
+    }
+
+    private void scheduledFlush(final Object flushToken) {
+        // Pending events have already been published by another flush otherwise
+        if (scheduledFlush.compareAndSet(flushToken, null)) {
+            flush();
+        }
+    }
+
+    private synchronized List<T> takePendingEvents() {
+        // The scheduled run, if any, is left to no-op rather than disposed as it may be the one flushing
+        scheduledFlush.set(null);
+        if (pendingEvents.isEmpty()) {
+            return List.of();
+        }
+        List<T> events = new ArrayList<>(pendingEvents.values());
+        pendingEvents = new LinkedHashMap<>();
+        return events;
+    }
+}
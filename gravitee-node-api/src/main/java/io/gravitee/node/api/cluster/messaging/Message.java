@@ -15,6 +15,7 @@
  */
 package io.gravitee.node.api.cluster.messaging;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -39,4 +40,40 @@ public class Message<T> {
      * Actual message content
      */
     private final T content;
+
+    @Getter(AccessLevel.NONE)
+    private Acknowledgement acknowledgement;
+
+    /**
+     * Create a message consumed with {@link Queue#consume(int)}, which has to be acknowledged.
+     */
+    public Message(final String destination, final T content, final Acknowledgement acknowledgement) {
+        this(destination, content);
+        this.acknowledgement = acknowledgement;
+    }
+
+    /**
+     * Acknowledge the message once it has been handled. It does nothing for a message not consumed with {@link Queue#consume(int)}.
+     */
+    public void ack() {
+        if (acknowledgement != null) {
+            acknowledgement.ack();
+        }
+    }
+
+    /**
+     * Negatively acknowledge the message when it could not be handled, it is then redelivered. It does nothing for a message not
+     * consumed with {@link Queue#consume(int)}.
+     */
+    public void nack() {
+        if (acknowledgement != null) {
+            acknowledgement.nack();
+        }
+    }
+
+    public interface Acknowledgement {
+        void ack();
+
+        void nack();
+    }
 }
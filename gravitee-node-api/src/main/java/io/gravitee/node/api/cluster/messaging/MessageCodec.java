@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+/**
+ * Codec converting the messages of a given type from and to raw bytes when they are sent to other members of the cluster.
+ * Once registered with {@link io.gravitee.node.api.cluster.ClusterManager#registerCodec(MessageCodec)}, it is used for every message
+ * of this type published on a {@link Topic} or added to a {@link Queue}, instead of the default serialization of the cluster.
+ * All the members of the cluster must register the same codecs.
+ *
+ * @param <T> the type of messages handled by this codec.
+ * @author GraviteeSource Team
+ */
+public interface MessageCodec<T> {
+    /**
+     * @return the exact type of the messages handled by this codec. Subtypes are not handled.
+     */
+    Class<T> type();
+
+    /**
+     * @return the name identifying this codec across the cluster, the name of the handled type by default.
+     */
+    default String name() {
+        return type().getName();
+    }
+
+    /**
+     * Encode the given message.
+     *
+     * @param message the message to encode
+     * @return the encoded message
+     */
+    byte[] encode(T message);
+
+    /**
+     * Decode the given bytes.
+     *
+     * @param bytes the bytes produced by {@link MessageCodec#encode(Object)}
+     * @return the decoded message
+     */
+    T decode(byte[] bytes);
+}
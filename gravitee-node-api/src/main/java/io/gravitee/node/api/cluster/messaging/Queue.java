@@ -15,9 +15,12 @@
  */
 package io.gravitee.node.api.cluster.messaging;
 
+import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
@@ -42,6 +45,28 @@ public interface Queue<T> {
         return Completable.fromRunnable(() -> this.add(item)).subscribeOn(Schedulers.io());
     }
 
+    /**
+     * Publish several messages on the current queue, in the iteration order of the given collection. Implementations may send them
+     * at once rather than one by one.
+     * By default, items are added one by one with {@link Queue#add(T)}.
+     *
+     * @param items the items to send
+     * @throws IllegalStateException – if the elements cannot be added at this time due to capacity restrictions
+     */
+    default void addAll(Collection<T> items) {
+        items.forEach(this::add);
+    }
+
+    /**
+     * Reactive version of {@link Queue#addAll(Collection)}. By default, execution will be done on IO schedulers.
+     *
+     * @param items the items to send
+     * @return returns a {@code Completable} instance that completes in case of success
+     */
+    default Completable rxAddAll(Collection<T> items) {
+        return Completable.fromRunnable(() -> this.addAll(items)).subscribeOn(Schedulers.io());
+    }
+
     /**
      * Add a new listener on this queue. The given listener will be notified on any new message on the queue.
      * @param messageListener the listener to notify
@@ -75,4 +100,38 @@ public interface Queue<T> {
     default Completable rxRemoveMessageListener(final String subscriptionId) {
         return Completable.fromRunnable(() -> this.removeMessageListener(subscriptionId)).subscribeOn(Schedulers.io());
     }
+
+    /**
+     * Consume the messages of this queue according to the downstream demand, as an alternative to {@link #addMessageListener}.
+     * Each message must be acknowledged with {@link Message#ack()} once handled, or with {@link Message#nack()} to be redelivered.
+     * Messages not acknowledged when the subscription ends are redelivered too, as long as the node consuming them is running.
+     * By default, messages are pushed by a listener and buffered until requested, implementations should override it to only take
+     * messages from the queue when they are requested. At most <code>max(prefetch, Flowable.bufferSize())</code> messages are buffered:
+     * beyond, the {@code Flowable} fails with a {@link io.reactivex.rxjava3.exceptions.MissingBackpressureException} and the buffered
+     * messages are redelivered.
+     *
+     * @param prefetch the number of messages taken from the queue ahead of the downstream demand.
+     * @return a {@code Flowable} of the messages, emitted on IO schedulers.
+     */
+    default Flowable<Message<T>> consume(final int prefetch) {
+        return Flowable
+            .defer(() -> {
+                UnacknowledgedMessages<T> unacknowledged = new UnacknowledgedMessages<>(this::add);
+                return Flowable
+                    .<Message<T>>create(
+                        emitter -> {
+                            String subscriptionId = addMessageListener(message ->
+                                emitter.onNext(unacknowledged.track(message.destination(), message.content()))
+                            );
+                            emitter.setCancellable(() -> {
+                                removeMessageListener(subscriptionId);
+                                unacknowledged.close();
+                            });
+                        },
+                        BackpressureStrategy.MISSING
+                    )
+                    .onBackpressureBuffer(Math.max(prefetch, Flowable.bufferSize()));
+            })
+            .observeOn(Schedulers.io(), false, prefetch);
+    }
 }
@@ -18,6 +18,7 @@ package io.gravitee.node.api.cluster.messaging;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
 import org.checkerframework.checker.units.qual.C;
 
 /**
@@ -41,6 +42,27 @@ public interface Topic<T> {
         return Completable.fromRunnable(() -> this.publish(event)).subscribeOn(Schedulers.io());
     }
 
+    /**
+     * Publish several events on the current topic, in the iteration order of the given collection. Implementations may send them
+     * at once rather than one by one.
+     * By default, events are published one by one with {@link Topic#publish(T)}.
+     *
+     * @param events the events to publish
+     */
+    default void publishAll(Collection<T> events) {
+        events.forEach(this::publish);
+    }
+
+    /**
+     * Reactive version of {@link Topic#publishAll(Collection)}. By default, execution will be done on IO schedulers.
+     *
+     * @param events the events to publish
+     * @return returns a {@code Completable} instance that completes in case of success
+     */
+    default Completable rxPublishAll(Collection<T> events) {
+        return Completable.fromRunnable(() -> this.publishAll(events)).subscribeOn(Schedulers.io());
+    }
+
     /**
      * Add a new listener on this topic. The given listener will be notified on any new message on the topic.
      * @param messageListener the listener to notify
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.api.cluster.messaging;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Messages consumed from a queue and not acknowledged yet, used by the implementations of {@link Queue#consume(int)}.
+ * A message negatively acknowledged is redelivered, as well as all the messages still unacknowledged once the consumption is
+ * closed, so that no message is lost when a consumer fails or stops. Messages are kept in memory though, those held by a node which
+ * crashes are lost.
+ *
+ * @param <T> the type of content of the messages.
+ * @author GraviteeSource Team
+ */
+public class UnacknowledgedMessages<T> {
+
+    private final Consumer<T> redelivery;
+    private final Set<Tracked> messages = new LinkedHashSet<>();
+    private boolean closed;
+
+    /**
+     * @param redelivery the function redelivering a message, usually by adding it back to the queue.
+     */
+    public UnacknowledgedMessages(final Consumer<T> redelivery) {
+        this.redelivery = redelivery;
+    }
+
+    /**
+     * @param destination the name of the queue.
+     * @param content the content of the consumed message.
+     * @return the message to deliver to the consumer, redelivered right away if the consumption is already closed.
+     */
+    public Message<T> track(final String destination, final T content) {
+        Tracked tracked = new Tracked(content);
+        boolean redeliver;
+        synchronized (this) {
+            redeliver = closed;
+            if (!closed) {
+                messages.add(tracked);
+            }
+        }
+        if (redeliver) {
+            redelivery.accept(content);
+        }
+        return new Message<>(destination, content, tracked);
+    }
+
+    /**
+     * Close the consumption and redeliver all the messages not acknowledged yet.
+     */
+    public void close() {
+        List<Tracked> pending;
+        synchronized (this) {
+            closed = true;
+            pending = List.copyOf(messages);
+            messages.clear();
+        }
+        pending.forEach(tracked -> redelivery.accept(tracked.content));
+    }
+
+    /**
+     * @return the number of messages not acknowledged yet.
+     */
+    public synchronized int size() {
+        return messages.size();
+    }
+
+    private synchronized boolean remove(final Tracked tracked) {
+        return messages.remove(tracked);
+    }
+
+    private class Tracked implements Message.Acknowledgement {
+
+        private final T content;
+
+        private Tracked(final T content) {
+            this.content = content;
+        }
+
+        @Override
+        public void ack() {
+            remove(this);
+        }
+
+        @Override
+        public void nack() {
+            // A message already acknowledged or redelivered is ignored
+            if (remove(this)) {
+                redelivery.accept(content);
+            }
+        }
+    }
+}
@@ -0,0 +1,429 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheLoadOptions;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.CacheStatsCounter;
+import io.gravitee.node.api.cache.Weigher;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Base of the caches local to the node, backed by Caffeine: listener notifications, time to live checks and reactive methods.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractInMemoryCache<K, V> implements Cache<K, V> {
+
+    protected final String name;
+    protected final CacheConfiguration configuration;
+    private final Map<String, CacheListener<K, V>> cacheListeners = new ConcurrentHashMap<>();
+    private final CacheListenerDispatcher listenerDispatcher;
+    private final CacheStatsCounter loadStatsCounter = new CacheStatsCounter();
+    private final SingleFlightLoader<K, V> loader = new SingleFlightLoader<>(this, null, loadStatsCounter);
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+    private final InMemoryExpiry<K, Object> expiry;
+
+    protected AbstractInMemoryCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final CacheListenerDispatcher listenerDispatcher
+    ) {
+        this.name = name;
+        this.configuration = configuration;
+        this.listenerDispatcher = listenerDispatcher;
+        this.expiry = new InMemoryExpiry<>(configuration.getTimeToLiveInMs(), configuration.getTimeToIdleInMs());
+    }
+
+    /**
+     * Create a Caffeine builder honouring the max size or weight, time to live and time to idle of the configuration.
+     */
+    protected Caffeine<Object, Object> newCacheBuilder() {
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
+        // Removal notifications are handed over to the dispatcher from the calling thread to keep them ordered with put notifications
+        cacheBuilder.executor(Runnable::run);
+        cacheBuilder.recordStats();
+        if (isWeighted()) {
+            cacheBuilder.maximumWeight(configuration.getMaxWeightInBytes()).weigher(this::weigh);
+        } else if (configuration.getMaxSize() > 0) {
+            cacheBuilder.maximumSize(configuration.getMaxSize());
+        }
+        // Expiration is always variable so that a ttl can be given per entry.
+        // The system scheduler allows expired entries to be reclaimed without waiting for a cache access.
+        cacheBuilder.expireAfter(expiry);
+        cacheBuilder.scheduler(Scheduler.systemScheduler());
+        return cacheBuilder;
+    }
+
+    /**
+     * Build the Caffeine cache. When reads extend the entries up to their time to live, Caffeine tracks their write time through
+     * a refresh delay they never reach, so the time to live deadline does not have to be stored aside.
+     */
+    protected <S> com.github.benmanes.caffeine.cache.Cache<K, S> buildCache(final Caffeine<Object, Object> cacheBuilder) {
+        if (!expiry.isWriteTimeRequired()) {
+            return cacheBuilder.build();
+        }
+        cacheBuilder.refreshAfterWrite(expiry.unreachedRefreshDelayInNanos(), TimeUnit.NANOSECONDS);
+        com.github.benmanes.caffeine.cache.LoadingCache<K, S> cache = cacheBuilder.build(
+            new CacheLoader<K, S>() {
+                @Override
+                public S load(final K key) {
+                    return null;
+                }
+
+                @Override
+                public S reload(final K key, final S oldValue) {
+                    return oldValue;
+                }
+            }
+        );
+        Policy.FixedRefresh<K, S> refresh = cache.policy().refreshAfterWrite().orElseThrow();
+        expiry.writeAge(key -> refresh.ageOf(key, TimeUnit.NANOSECONDS).orElse(-1));
+        return cache;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Maybe<V> rxGetOrLoad(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        return this.loader.rxGetOrLoad(key, loader, options);
+    }
+
+    @Override
+    public String addCacheListener(final CacheListener<K, V> cacheListener) {
+        String listenerCacheId = io.gravitee.common.utils.UUID.random().toString();
+        cacheListeners.put(listenerCacheId, cacheListener);
+
+        return listenerCacheId;
+    }
+
+    @Override
+    public boolean removeCacheListener(final String listenerCacheId) {
+        return cacheListeners.remove(listenerCacheId) != null;
+    }
+
+    // The reactive methods below complete synchronously on the subscribing thread: an in-memory cache never blocks, so the
+    // Schedulers.io() hop of the default implementations would only add a context switch to every call.
+
+    @Override
+    public Flowable<V> rxValues() {
+        return Flowable.defer(() -> Flowable.fromIterable(this.values()));
+    }
+
+    @Override
+    public Flowable<K> rxKeys() {
+        return Flowable.defer(() -> Flowable.fromIterable(this.keys()));
+    }
+
+    @Override
+    public Flowable<Map.Entry<K, V>> rxEntrySet() {
+        return Flowable.defer(() -> Flowable.fromIterable(this.entrySet()));
+    }
+
+    @Override
+    public Single<Integer> rxSize() {
+        return Single.fromCallable(this::size);
+    }
+
+    @Override
+    public Single<Boolean> rxIsEmpty() {
+        return Single.fromCallable(this::isEmpty);
+    }
+
+    @Override
+    public Single<Boolean> rxContainsKey(final K key) {
+        return Single.fromCallable(() -> this.containsKey(key));
+    }
+
+    @Override
+    public Maybe<V> rxGet(final K key) {
+        return Maybe.fromCallable(() -> this.get(key));
+    }
+
+    @Override
+    public Single<Map<K, V>> rxGetAll(final Collection<? extends K> keys) {
+        return Single.fromCallable(() -> this.getAll(keys));
+    }
+
+    @Override
+    public Maybe<V> rxPut(final K key, final V value) {
+        return Maybe.fromCallable(() -> this.put(key, value));
+    }
+
+    @Override
+    public Maybe<V> rxPut(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return Maybe.fromCallable(() -> this.put(key, value, ttl, ttlUnit));
+    }
+
+    @Override
+    public Completable rxPutAll(final Map<? extends K, ? extends V> m) {
+        return Completable.fromRunnable(() -> this.putAll(m));
+    }
+
+    @Override
+    public Completable rxPutAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        return Completable.fromRunnable(() -> this.putAll(m, ttl, ttlUnit));
+    }
+
+    @Override
+    public Maybe<V> rxComputeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        return Maybe.fromCallable(() -> this.computeIfAbsent(key, mappingFunction));
+    }
+
+    @Override
+    public Maybe<V> rxComputeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return Maybe.fromCallable(() -> this.computeIfPresent(key, remappingFunction));
+    }
+
+    @Override
+    public Maybe<V> rxCompute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return Maybe.fromCallable(() -> this.compute(key, remappingFunction));
+    }
+
+    @Override
+    public Maybe<V> rxEvict(final K key) {
+        return Maybe.fromCallable(() -> this.evict(key));
+    }
+
+    @Override
+    public Completable rxEvictAll(final Collection<? extends K> keys) {
+        return Completable.fromRunnable(() -> this.evictAll(keys));
+    }
+
+    @Override
+    public Completable rxClear() {
+        return Completable.fromRunnable(this::clear);
+    }
+
+    @Override
+    public Single<String> rxAddCacheListener(final CacheListener<K, V> listener) {
+        return Single.fromCallable(() -> this.addCacheListener(listener));
+    }
+
+    @Override
+    public Single<Boolean> rxRemoveCacheListener(final String listenerCacheId) {
+        return Single.fromCallable(() -> this.removeCacheListener(listenerCacheId));
+    }
+
+    /**
+     * @return the total weight in bytes of the entries, or <code>-1</code> when the cache is not bounded by weight.
+     */
+    public long getWeightInBytes() {
+        if (!isWeighted()) {
+            return -1;
+        }
+        return internalCache().policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    /**
+     * @return the number of entries evicted because the cache exceeded its max size or weight.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the total weight in bytes of the entries evicted because the cache exceeded its max weight.
+     */
+    public long getEvictionWeightInBytes() {
+        return evictionWeight.sum();
+    }
+
+    /**
+     * Hits and misses are recorded by Caffeine, loads by {@link #rxGetOrLoad(Object, Function, CacheLoadOptions)}. Puts are not counted.
+     */
+    @Override
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = internalCache().stats();
+        return CacheStats
+            .builder()
+            .hitCount(stats.hitCount())
+            .missCount(stats.missCount())
+            .evictionCount(evictionCount.sum())
+            .evictionWeight(evictionWeight.sum())
+            .build()
+            .plus(loadStatsCounter.snapshot());
+    }
+
+    /**
+     * @return the underlying Caffeine cache.
+     */
+    protected abstract com.github.benmanes.caffeine.cache.Cache<K, ?> internalCache();
+
+    /**
+     * Weigh an entry with the weigher of the configuration.
+     *
+     * @param key the key of the entry.
+     * @param storedValue the value as stored in the underlying Caffeine cache.
+     */
+    @SuppressWarnings("unchecked")
+    protected int weigh(final Object key, final Object storedValue) {
+        return ((Weigher<Object, Object>) configuration.getWeigher()).weigh(key, storedValue);
+    }
+
+    protected boolean isWeighted() {
+        return configuration.getMaxWeightInBytes() > 0;
+    }
+
+    /**
+     * Record the removal of an entry from the underlying Caffeine cache, to be called from its removal listener.
+     */
+    protected void recordRemoval(final Object key, final Object storedValue, final RemovalCause cause) {
+        if (cause == RemovalCause.SIZE) {
+            evictionCount.increment();
+            if (isWeighted()) {
+                evictionWeight.add(weigh(key, storedValue));
+            }
+        }
+    }
+
+    /**
+     * Compute an entry expiring after the given duration, which reads never extend.
+     *
+     * @param cache the underlying Caffeine cache.
+     * @param varExpiration the variable expiration policy of the underlying Caffeine cache.
+     */
+    protected <S> void computeWithFixedExpiry(
+        final com.github.benmanes.caffeine.cache.Cache<K, S> cache,
+        final Policy.VarExpiration<K, S> varExpiration,
+        final K key,
+        final BiFunction<? super K, ? super S, ? extends S> remappingFunction,
+        final long durationInNanos
+    ) {
+        if (expiry.isExtendedByReads()) {
+            // The expiry gives the duration to the entry and marks it so that reads tell it apart
+            expiry.withFixedDuration(durationInNanos, () -> cache.asMap().compute(key, remappingFunction));
+        } else {
+            varExpiration.compute(key, remappingFunction, Duration.ofNanos(durationInNanos));
+        }
+    }
+
+    protected long computeTTLMillis(final long ttl, final TimeUnit ttlUnit) {
+        long ttlMillis = TimeUnit.MILLISECONDS.convert(ttl, ttlUnit);
+        if (this.configuration.getTimeToLiveInMs() > 0 && this.configuration.getTimeToLiveInMs() < ttlMillis) {
+            throw new IllegalArgumentException("TTL can't be bigger than ttl defined in the cache configuration");
+        }
+        return ttlMillis;
+    }
+
+    protected boolean hasCacheListeners() {
+        return !cacheListeners.isEmpty();
+    }
+
+    /**
+     * @return <code>true</code> if listeners must be notified of a removal with the given cause.
+     */
+    protected boolean isNotified(final RemovalCause cause) {
+        return !cacheListeners.isEmpty() && cause != RemovalCause.REPLACED && cause != RemovalCause.COLLECTED;
+    }
+
+    /**
+     * Notify the listeners of a computation, if its function has been applied. To be called once the entry is no longer locked.
+     */
+    protected void notifyListeners(final K key, final Computation<V> computation) {
+        if (computation.applied) {
+            notifyListeners(key, computation.newValue, computation.oldValue);
+        }
+    }
+
+    protected void notifyListeners(final K key, final V value, final V oldValue) {
+        if (cacheListeners.isEmpty()) {
+            return;
+        }
+        listenerDispatcher.dispatch(
+            key,
+            () ->
+                cacheListeners.forEach((id, listener) -> {
+                    if (oldValue == null) {
+                        listener.onEntryAdded(key, value);
+                    } else {
+                        listener.onEntryUpdated(key, oldValue, value);
+                    }
+                })
+        );
+    }
+
+    protected void notifyRemoval(final K key, final V value, final RemovalCause cause) {
+        listenerDispatcher.dispatch(
+            key,
+            () ->
+                cacheListeners.forEach((id, listener) -> {
+                    if (cause == RemovalCause.EXPIRED) {
+                        listener.onEntryExpired(key, value);
+                    } else {
+                        listener.onEntryEvicted(key, value);
+                    }
+                })
+        );
+    }
+
+    /**
+     * Values of an entry recorded by a Caffeine compute, so that listeners are notified once the entry is no longer locked.
+     */
+    protected static final class Computation<V> {
+
+        private boolean applied;
+        private V oldValue;
+        private V newValue;
+
+        /**
+         * @return the new value, once recorded along with the old one.
+         */
+        V record(final V oldValue, final V newValue) {
+            this.applied = true;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            return newValue;
+        }
+
+        V newValue() {
+            return newValue;
+        }
+    }
+}
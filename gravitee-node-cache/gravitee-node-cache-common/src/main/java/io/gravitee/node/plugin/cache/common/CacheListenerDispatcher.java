@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.CustomLog;
+
+/**
+ * Dispatch cache listener notifications on a bounded set of single threaded shards.
+ * The shard is selected from the hash of the entry key so notifications related to a same key are always delivered in order.
+ * Each shard has a bounded queue. A notification submitted while the queue is full is kept in an overflow queue of the shard, along
+ * with the notifications submitted after it until the overflow is moved back to the shard queue. Submitting never blocks nor runs a
+ * notification on the calling thread, so caches may dispatch right after their writes, and the notifications submitted by a thread
+ * are delivered in order. Overflowed notifications are counted.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class CacheListenerDispatcher {
+
+    private static final int DEFAULT_SHARDS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    private static final CacheListenerDispatcher DEFAULT = new CacheListenerDispatcher(
+        "gio-cache-in-memory-listeners",
+        DEFAULT_SHARDS,
+        DEFAULT_QUEUE_CAPACITY
+    );
+
+    private final String name;
+    private final int queueCapacity;
+    private final Shard[] shards;
+    private final AtomicLong overflowedNotifications = new AtomicLong();
+
+    public CacheListenerDispatcher(final String name, final int shardCount, final int queueCapacity) {
+        if (shardCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Shard count and queue capacity must be greater than 0");
+        }
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(name + "-" + i);
+        }
+    }
+
+    /**
+     * @return the dispatcher shared by all the in-memory caches of the node.
+     */
+    public static CacheListenerDispatcher getDefault() {
+        return DEFAULT;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Submit a notification on the shard owning the given key.
+     * Callers are expected to check they have listeners before building the notification, and to submit it once the entry is no
+     * longer locked.
+     *
+     * @param key the key of the entry the notification is related to.
+     * @param notification the notification to run.
+     */
+    public void dispatch(final Object key, final Runnable notification) {
+        shards[shardIndex(key)].submit(notification);
+    }
+
+    /**
+     * @return the number of notifications waiting to be delivered across all the shards.
+     */
+    public int getPendingNotifications() {
+        int pending = 0;
+        for (Shard shard : shards) {
+            pending += shard.executor.getQueue().size() + shard.overflow.size();
+        }
+        return pending;
+    }
+
+    /**
+     * @return the number of notifications kept in an overflow queue because a shard queue was full.
+     */
+    public long getOverflowedNotifications() {
+        return overflowedNotifications.get();
+    }
+
+    /**
+     * @return the highest delay, in milliseconds, between the submission and the delivery of the last notification of each shard.
+     */
+    public long getLagInMs() {
+        long lag = 0;
+        for (Shard shard : shards) {
+            lag = Math.max(lag, shard.lastLagInNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
+    }
+
+    private int shardIndex(final Object key) {
+        if (shards.length == 1) {
+            return 0;
+        }
+        int h = Objects.hashCode(key);
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    private class Shard {
+
+        private final ThreadPoolExecutor executor;
+        /**
+         * Notifications waiting for a free slot in the executor queue, moved back to it by the shard thread or by the next submission.
+         */
+        private final Queue<Runnable> overflow = new ConcurrentLinkedQueue<>();
+        private final String threadName;
+        private volatile long lastLagInNanos;
+
+        private Shard(final String threadName) {
+            this.threadName = threadName;
+            this.executor =
+                new ThreadPoolExecutor(
+                    1,
+                    1,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (r, e) -> overflow(r)
+                );
+        }
+
+        private void submit(final Runnable notification) {
+            final long submittedAt = System.nanoTime();
+            Runnable task = () -> {
+                lastLagInNanos = System.nanoTime() - submittedAt;
+                try {
+                    notification.run();
+                } catch (Exception e) {
+                    log.error("Unable to trigger cache listener", e);
+                }
+                moveOverflow();
+            };
+            if (overflow.isEmpty()) {
+                executor.execute(task);
+            } else {
+                // Queued behind the overflowed notifications to keep them in order
+                overflow(task);
+            }
+        }
+
+        private void overflow(final Runnable task) {
+            if (overflowedNotifications.getAndIncrement() % queueCapacity == 0) {
+                log.warn("Cache listener queue [{}] is full, notifications are kept in memory until listeners catch up", threadName);
+            }
+            overflow.add(task);
+            // The shard thread may have drained its queue meanwhile
+            moveOverflow();
+        }
+
+        /**
+         * Move the overflowed notifications to the executor queue, as long as it has free slots. The executor thread is running as
+         * notifications only overflow once the queue is full.
+         */
+        private void moveOverflow() {
+            if (overflow.isEmpty()) {
+                return;
+            }
+            synchronized (overflow) {
+                Runnable task;
+                while ((task = overflow.peek()) != null && executor.getQueue().offer(task)) {
+                    overflow.poll();
+                }
+            }
+        }
+    }
+}
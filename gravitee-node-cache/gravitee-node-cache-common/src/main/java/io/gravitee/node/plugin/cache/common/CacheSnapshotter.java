@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.BinaryValueMapper;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.ValueMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.CustomLog;
+
+/**
+ * Save and restore the {@link InMemoryCacheSnapshot} of the in-memory caches configured with {@link CacheConfiguration#getSnapshotPath()}.
+ * A snapshot is restored when its cache is registered, saved periodically on a single daemon thread shared by all the caches of the
+ * cache manager, and saved a last time when the snapshotter is closed. A snapshot which cannot be restored never prevents the creation
+ * of its cache.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class CacheSnapshotter {
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    /**
+     * Restore the snapshot of the given cache and schedule its next ones, does nothing if the cache is not configured with a snapshot path.
+     * The snapshot is read from disk on the calling thread, which must not hold any lock shared with the other caches.
+     *
+     * @param cache the cache to restore and save.
+     * @param configuration the configuration of the cache.
+     * @param valueMapper the value mapper the cache has been created with, it must be a {@link BinaryValueMapper}.
+     */
+    public <V> void register(final InMemoryCache<?, V> cache, final CacheConfiguration configuration, final ValueMapper<V, ?> valueMapper) {
+        if (configuration.getSnapshotPath() == null) {
+            return;
+        }
+        if (!(valueMapper instanceof BinaryValueMapper<V> binaryValueMapper)) {
+            throw new IllegalArgumentException("A BinaryValueMapper is required to snapshot the cache [" + cache.getName() + "]");
+        }
+        InMemoryCacheSnapshot<V> snapshot = new InMemoryCacheSnapshot<>(
+            cache,
+            binaryValueMapper,
+            Path.of(configuration.getSnapshotPath())
+        );
+        try {
+            int restored = snapshot.restore();
+            log.info("{} entries of cache [{}] restored from snapshot [{}]", restored, cache.getName(), configuration.getSnapshotPath());
+        } catch (IOException e) {
+            log.warn("Unable to restore cache [{}] from snapshot [{}]", cache.getName(), configuration.getSnapshotPath(), e);
+        } catch (RuntimeException e) {
+            // The snapshot cannot be read back, e.g. its values no longer match the value mapper: it must not fail the next starts too
+            log.warn(
+                "Unable to restore cache [{}] from snapshot [{}], it is discarded",
+                cache.getName(),
+                configuration.getSnapshotPath(),
+                e
+            );
+            discard(cache.getName(), snapshot);
+        }
+
+        ScheduledFuture<?> task = null;
+        long interval = configuration.getSnapshotIntervalInMs();
+        if (interval > 0) {
+            task = executor().scheduleWithFixedDelay(() -> save(cache.getName(), snapshot), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        registrations.put(cache.getName(), new Registration(snapshot, task));
+    }
+
+    /**
+     * Stop saving the snapshot of a cache which is destroyed, and delete it so the cache is not restored on the next start.
+     */
+    public void unregister(final String name) {
+        Registration registration = registrations.remove(name);
+        if (registration != null) {
+            registration.cancel();
+            try {
+                registration.snapshot().delete();
+            } catch (IOException e) {
+                log.warn("Unable to delete the snapshot of cache [{}]", name, e);
+            }
+        }
+    }
+
+    /**
+     * Save the snapshot of every registered cache and stop the periodic snapshots.
+     */
+    public void close() {
+        registrations.forEach((name, registration) -> {
+            registration.cancel();
+            save(name, registration.snapshot());
+        });
+        registrations.clear();
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    private void discard(final String name, final InMemoryCacheSnapshot<?> snapshot) {
+        try {
+            snapshot.discard();
+        } catch (IOException e) {
+            log.warn("Unable to discard the snapshot of cache [{}], deleting it", name, e);
+            try {
+                snapshot.delete();
+            } catch (IOException deleteException) {
+                log.warn("Unable to delete the snapshot of cache [{}]", name, deleteException);
+            }
+        }
+    }
+
+    private void save(final String name, final InMemoryCacheSnapshot<?> snapshot) {
+        try {
+            int saved = snapshot.save();
+            log.debug("{} entries of cache [{}] saved to snapshot", saved, name);
+        } catch (Exception e) {
+            log.warn("Unable to save the snapshot of cache [{}]", name, e);
+        }
+    }
+
+    private synchronized ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor =
+                Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "gio-cache-snapshot");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return executor;
+    }
+
+    private record Registration(InMemoryCacheSnapshot<?> snapshot, ScheduledFuture<?> task) {
+        private void cancel() {
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+}
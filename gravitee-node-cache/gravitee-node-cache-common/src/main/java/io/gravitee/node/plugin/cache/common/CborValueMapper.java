@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.gravitee.node.api.cache.BinaryValueMapper;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link BinaryValueMapper} serializing the values in CBOR, a compact binary form of JSON.
+ * Values are usually smaller and faster to (de)serialize than with a JSON <code>ValueMapper&lt;V, String&gt;</code>, while supporting
+ * the same value shapes (POJOs, maps, lists, ...) through Jackson.
+ *
+ * @param <V> the value type provided by the application
+ * @author GraviteeSource Team
+ */
+public class CborValueMapper<V> implements BinaryValueMapper<V> {
+
+    private static final ObjectMapper DEFAULT_MAPPER = new CBORMapper();
+
+    private final ObjectMapper mapper;
+    private final JavaType type;
+
+    public CborValueMapper(final Class<V> type) {
+        this(DEFAULT_MAPPER, DEFAULT_MAPPER.constructType(type));
+    }
+
+    public CborValueMapper(final TypeReference<V> type) {
+        this(DEFAULT_MAPPER, DEFAULT_MAPPER.constructType(type));
+    }
+
+    /**
+     * @param mapper a mapper created with a CBOR factory, e.g. a {@link CBORMapper} with custom modules.
+     * @param type the type of the values.
+     */
+    public CborValueMapper(final ObjectMapper mapper, final JavaType type) {
+        this.mapper = mapper;
+        this.type = type;
+    }
+
+    @Override
+    public Buffer toCachedValue(final V value) {
+        try {
+            return Buffer.buffer(mapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize cache value", e);
+        }
+    }
+
+    @Override
+    public V toValue(final Buffer cachedValue) {
+        try {
+            return mapper.readValue(cachedValue.getBytes(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to deserialize cache value", e);
+        }
+    }
+}
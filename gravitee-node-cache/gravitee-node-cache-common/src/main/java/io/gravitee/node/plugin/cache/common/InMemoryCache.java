@@ -16,90 +16,57 @@
 package io.gravitee.node.plugin.cache.common;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
-import io.gravitee.node.api.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
 import io.gravitee.node.api.cache.CacheConfiguration;
-import io.gravitee.node.api.cache.CacheListener;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.CustomLog;
-import lombok.RequiredArgsConstructor;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
  */
 @CustomLog
-public class InMemoryCache<K, V> implements Cache<K, V> {
+public class InMemoryCache<K, V> extends AbstractInMemoryCache<K, V> {
 
-    private final String name;
-    private final CacheConfiguration configuration;
-    private final com.github.benmanes.caffeine.cache.Cache<K, ExpiringValue<V>> internalCache;
-    private final Map<String, CacheListener<K, V>> cacheListeners = new HashMap<>();
-    private static final ExecutorService executorService = Executors.newSingleThreadExecutor(r ->
-        new Thread(r, "gio-cache-in-memory-listeners")
-    );
+    private static final long NEVER_EXPIRES_THRESHOLD_NANOS = TimeUnit.DAYS.toNanos(100 * 365L);
+
+    private final com.github.benmanes.caffeine.cache.Cache<K, V> internalCache;
+    private final Policy.VarExpiration<K, V> varExpiration;
 
     public InMemoryCache(final String name, final CacheConfiguration configuration) {
-        this.name = name;
-        this.configuration = configuration;
+        this(name, configuration, CacheListenerDispatcher.getDefault());
+    }
 
-        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder();
-        cacheBuilder.executor(executorService);
-        if (configuration.getMaxSize() > 0) {
-            cacheBuilder.maximumSize(configuration.getMaxSize());
-        }
-        if (configuration.getTimeToIdleInMs() > 0) {
-            cacheBuilder.expireAfterAccess(configuration.getTimeToIdleInMs(), TimeUnit.MILLISECONDS);
+    public InMemoryCache(final String name, final CacheConfiguration configuration, final CacheListenerDispatcher listenerDispatcher) {
+        super(name, configuration, listenerDispatcher);
+        if (isWeighted() && configuration.getWeigher() == null) {
+            throw new IllegalArgumentException("A weigher is required to bound the cache [" + name + "] by weight");
         }
-        if (configuration.getTimeToLiveInMs() > 0) {
-            cacheBuilder.expireAfterWrite(configuration.getTimeToLiveInMs(), TimeUnit.MILLISECONDS);
-        }
-        cacheBuilder.removalListener((k, v, cause) ->
-            cacheListeners.forEach((id, listener) -> {
-                try {
-                    K typeKey = (K) k;
-                    ExpiringValue<V> expiringValue = (ExpiringValue<V>) v;
-                    V value = expiringValue != null ? expiringValue.value : null;
-                    switch (cause) {
-                        case EXPLICIT:
-                            if (expiringValue != null && expiringValue.hasExpired()) {
-                                listener.onEntryExpired(typeKey, value);
-                            } else {
-                                listener.onEntryEvicted(typeKey, value);
-                            }
-                            break;
-                        case EXPIRED:
-                            listener.onEntryExpired(typeKey, value);
-                            break;
-                        case SIZE:
-                            listener.onEntryEvicted(typeKey, value);
-                            break;
-                        case REPLACED:
-                        case COLLECTED:
-                        default:
-                            break;
-                    }
-                } catch (Exception e) {
-                    log.error("Unable to trigger cache listener");
-                }
-            })
-        );
-        internalCache = cacheBuilder.build();
+
+        Caffeine<Object, Object> cacheBuilder = newCacheBuilder();
+        cacheBuilder.removalListener((k, v, cause) -> {
+            recordRemoval(k, v, cause);
+            if (isNotified(cause)) {
+                notifyRemoval((K) k, (V) v, cause);
+            }
+        });
+        internalCache = buildCache(cacheBuilder);
+        varExpiration = internalCache.policy().expireVariably().orElseThrow();
     }
 
     @Override
-    public String getName() {
-        return name;
+    protected com.github.benmanes.caffeine.cache.Cache<K, ?> internalCache() {
+        return internalCache;
     }
 
     @Override
@@ -107,27 +74,9 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
         return (int) internalCache.estimatedSize();
     }
 
-    @Override
-    public boolean isEmpty() {
-        return this.size() == 0;
-    }
-
     @Override
     public Collection<V> values() {
-        return this.internalCache.asMap()
-            .entrySet()
-            .stream()
-            .map(entry -> {
-                K key = entry.getKey();
-                ExpiringValue<V> expiringValue = entry.getValue();
-                if (expiringValue.hasExpired()) {
-                    internalCache.invalidate(key);
-                    return null;
-                }
-                return expiringValue.value;
-            })
-            .filter(Objects::nonNull)
-            .toList();
+        return new ArrayList<>(this.internalCache.asMap().values());
     }
 
     @Override
@@ -140,36 +89,18 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
         return this.internalCache.asMap()
             .entrySet()
             .stream()
-            .map(entry -> {
-                K key = entry.getKey();
-                ExpiringValue<V> expiringValue = entry.getValue();
-                if (expiringValue.hasExpired()) {
-                    internalCache.invalidate(key);
-                    return null;
-                }
-                return new AbstractMap.SimpleEntry<>(key, expiringValue.value);
-            })
-            .filter(Objects::nonNull)
+            .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue()))
             .collect(Collectors.toSet());
     }
 
     @Override
-    public boolean containsKey(final K key) {
-        return get(key) != null;
+    public V get(final K key) {
+        return internalCache.getIfPresent(key);
     }
 
     @Override
-    public V get(final K key) {
-        ExpiringValue<V> expiringValue = internalCache.getIfPresent(key);
-        // If value is present and expired invalidates cache and return null, otherwise return value
-        if (expiringValue != null) {
-            if (expiringValue.hasExpired()) {
-                internalCache.invalidate(key);
-                return null;
-            }
-            return expiringValue.value;
-        }
-        return null;
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        return internalCache.getAllPresent(keys);
     }
 
     @Override
@@ -181,9 +112,19 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
     public V put(K key, V value, long ttl, TimeUnit ttlUnit) {
         long ttlMillis = computeTTLMillis(ttl, ttlUnit);
 
-        V oldValue = get(key);
-        long expirationTimeMillis = computeExpirationTimeMillis(ttlMillis);
-        this.internalCache.put(key, new ExpiringValue<>(value, expirationTimeMillis));
+        // Both puts return the previous value in the same pass as the write
+        V oldValue;
+        if (ttlMillis > 0) {
+            AtomicReference<V> previous = new AtomicReference<>();
+            BiFunction<K, V, V> replace = (k, v) -> {
+                previous.set(v);
+                return value;
+            };
+            computeWithFixedExpiry(this.internalCache, this.varExpiration, key, replace, TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+            oldValue = previous.get();
+        } else {
+            oldValue = this.internalCache.asMap().put(key, value);
+        }
 
         notifyListeners(key, value, oldValue);
 
@@ -192,146 +133,88 @@ public class InMemoryCache<K, V> implements Cache<K, V> {
 
     @Override
     public void putAll(final Map<? extends K, ? extends V> values) {
-        Map<K, V> oldValues = new HashMap<>();
-        if (!cacheListeners.isEmpty()) {
-            values
-                .keySet()
-                .forEach(key -> {
-                    V oldValue = this.get(key);
-                    if (oldValue != null) {
-                        oldValues.put(key, oldValue);
-                    }
-                });
+        if (!hasCacheListeners()) {
+            this.internalCache.putAll(values);
+        } else {
+            Map<K, V> map = this.internalCache.asMap();
+            values.forEach((key, value) -> notifyListeners(key, value, map.put(key, value)));
         }
-        Map<K, ExpiringValue<V>> expiringValueMap = values
-            .entrySet()
-            .stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, e -> new ExpiringValue<>(e.getValue(), 0)));
-
-        this.internalCache.putAll(expiringValueMap);
+    }
 
-        executorService.execute(() ->
-            cacheListeners.forEach((id, listener) ->
-                values.forEach((key, value) -> {
-                    if (!oldValues.containsKey(key)) {
-                        listener.onEntryAdded(key, value);
-                    } else {
-                        listener.onEntryUpdated(key, oldValues.get(key), value);
-                    }
-                })
-            )
-        );
+    /**
+     * Iterate over the entries without copying them nor recording any hit.
+     */
+    void forEachEntry(final BiConsumer<? super K, ? super V> action) {
+        this.internalCache.asMap().forEach(action);
+    }
+
+    /**
+     * @return the time in nanoseconds until the entry expires, {@link Long#MAX_VALUE} if it never expires or <code>-1</code> if the
+     * entry is absent.
+     */
+    long expiresAfterNanos(final K key) {
+        long expiresAfter = varExpiration.getExpiresAfter(key, TimeUnit.NANOSECONDS).orElse(-1);
+        // Caffeine caps the duration of the entries which never expire to about 150 years
+        return expiresAfter > NEVER_EXPIRES_THRESHOLD_NANOS ? Long.MAX_VALUE : expiresAfter;
+    }
+
+    /**
+     * Put an entry restored from a snapshot, without notifying the listeners.
+     *
+     * @param expiresAfterNanos the remaining time to live of the entry, {@link Long#MAX_VALUE} if it never expires.
+     */
+    void restore(final K key, final V value, final long expiresAfterNanos) {
+        long timeToLiveInNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getTimeToLiveInMs());
+        if (timeToLiveInNanos > 0) {
+            // The write time of the entry is unknown, it is not extended by reads beyond its remaining time to live.
+            // The time to live of the cache may also have been reduced since the snapshot.
+            long durationInNanos = Math.min(timeToLiveInNanos, expiresAfterNanos);
+            computeWithFixedExpiry(this.internalCache, this.varExpiration, key, (k, v) -> value, durationInNanos);
+        } else if (expiresAfterNanos == Long.MAX_VALUE || configuration.getTimeToIdleInMs() > 0) {
+            // Without time to live, reads extend the entry by the time to idle from now on
+            this.internalCache.put(key, value);
+        } else {
+            this.varExpiration.put(key, value, expiresAfterNanos, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public V computeIfAbsent(final K key, final Function<? super K, ? extends V> remappingFunction) {
-        this.internalCache.asMap()
-            .computeIfAbsent(
-                key,
-                k -> {
-                    V applied = remappingFunction.apply(k);
-                    notifyListeners(k, applied, null);
-                    return buildExpiringValue(applied);
-                }
-            );
-        return get(key);
+        // Listeners are notified once the entry is no longer locked
+        Computation<V> computation = new Computation<>();
+        V value = this.internalCache.asMap().computeIfAbsent(key, k -> computation.record(null, remappingFunction.apply(k)));
+        notifyListeners(key, computation);
+        return value;
     }
 
     @Override
     public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-        this.internalCache.asMap()
-            .computeIfPresent(
-                key,
-                (k, v) -> {
-                    V applied = remappingFunction.apply(k, v.value);
-                    notifyListeners(k, applied, v.value);
-                    return buildExpiringValue(applied);
-                }
-            );
-        return get(key);
+        Computation<V> computation = new Computation<>();
+        V value = this.internalCache.asMap().computeIfPresent(key, (k, v) -> computation.record(v, remappingFunction.apply(k, v)));
+        notifyListeners(key, computation);
+        return value;
     }
 
     @Override
     public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-        this.internalCache.asMap()
-            .compute(
-                key,
-                (k, v) -> {
-                    V old = null;
-                    V applied;
-                    if (v != null) {
-                        old = v.value;
-                    }
-                    applied = remappingFunction.apply(k, old);
-                    notifyListeners(k, applied, old);
-                    return buildExpiringValue(applied);
-                }
-            );
-        return get(key);
+        Computation<V> computation = new Computation<>();
+        V value = this.internalCache.asMap().compute(key, (k, v) -> computation.record(v, remappingFunction.apply(k, v)));
+        notifyListeners(key, computation);
+        return value;
     }
 
     @Override
     public V evict(final K key) {
-        V currentValue = this.get(key);
-        this.internalCache.invalidate(key);
-        return currentValue;
+        return this.internalCache.asMap().remove(key);
     }
 
     @Override
-    public void clear() {
-        this.internalCache.invalidateAll();
-    }
-
-    @Override
-    public String addCacheListener(final CacheListener<K, V> cacheListener) {
-        String listenerCacheId = io.gravitee.common.utils.UUID.random().toString();
-        cacheListeners.put(listenerCacheId, cacheListener);
-
-        return listenerCacheId;
+    public void evictAll(final Collection<? extends K> keys) {
+        this.internalCache.invalidateAll(keys);
     }
 
     @Override
-    public boolean removeCacheListener(final String listenerCacheId) {
-        return cacheListeners.remove(listenerCacheId) != null;
-    }
-
-    private long computeTTLMillis(final long ttl, final TimeUnit ttlUnit) {
-        long ttlMillis = TimeUnit.MILLISECONDS.convert(ttl, ttlUnit);
-        if (this.configuration.getTimeToLiveInMs() > 0 && this.configuration.getTimeToLiveInMs() < ttlMillis) {
-            throw new IllegalArgumentException("TTL can't be bigger than ttl defined in the cache configuration");
-        }
-        return ttlMillis;
-    }
-
-    private long computeExpirationTimeMillis(final long ttlMillis) {
-        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
-    }
-
-    private void notifyListeners(final K key, final V value, final V oldValue) {
-        executorService.execute(() ->
-            cacheListeners.forEach((id, listener) -> {
-                if (oldValue == null) {
-                    listener.onEntryAdded(key, value);
-                } else {
-                    listener.onEntryUpdated(key, oldValue, value);
-                }
-            })
-        );
-    }
-
-    @RequiredArgsConstructor
-    private static class ExpiringValue<T> {
-
-        private final T value;
-
-        private final long expirationTimeMillis;
-
-        public boolean hasExpired() {
-            return expirationTimeMillis > 0 && expirationTimeMillis <= System.currentTimeMillis();
-        }
-    }
-
-    private static <V> ExpiringValue<V> buildExpiringValue(V applied) {
-        return applied == null ? null : new ExpiringValue<>(applied, 0);
+    public void clear() {
+        this.internalCache.invalidateAll();
     }
 }
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.BinaryValueMapper;
+import io.vertx.core.buffer.Buffer;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.CustomLog;
+
+/**
+ * Snapshot of the entries of an {@link InMemoryCache} saved to a local file, so a restarted node does not start with an empty cache.
+ * The file starts with a magic number and a version, followed by each entry: its expiration time as epoch millis (<code>-1</code> if
+ * it never expires), then its key in UTF-8 and its value serialized with the {@link BinaryValueMapper}, both prefixed by their length.
+ * A snapshot is written to a temporary file which then atomically replaces the previous one, and is memory-mapped when restored.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class InMemoryCacheSnapshot<V> {
+
+    private static final int MAGIC = 0x47434853;
+    private static final int VERSION = 1;
+    private static final long NEVER_EXPIRES = -1;
+    /**
+     * Suffix of a snapshot which could not be restored.
+     */
+    static final String DISCARDED_SUFFIX = ".discarded";
+
+    private final InMemoryCache<Object, V> cache;
+    private final BinaryValueMapper<V> valueMapper;
+    private final Path path;
+
+    /**
+     * @param cache the cache to save and restore, only its entries with a string key are saved.
+     * @param valueMapper the mapper used to serialize the values.
+     * @param path the file of the snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public InMemoryCacheSnapshot(final InMemoryCache<?, V> cache, final BinaryValueMapper<V> valueMapper, final Path path) {
+        this.cache = (InMemoryCache<Object, V>) cache;
+        this.valueMapper = valueMapper;
+        this.path = path;
+    }
+
+    /**
+     * Save all the entries of the cache which are not expired yet.
+     *
+     * @return the number of entries saved.
+     */
+    public synchronized int save() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+        AtomicInteger count = new AtomicInteger();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            long now = System.currentTimeMillis();
+            cache.forEachEntry((key, value) -> {
+                long expiresAfterNanos = cache.expiresAfterNanos(key);
+                if (key instanceof String stringKey && expiresAfterNanos > 0) {
+                    long expiresAt = expiresAfterNanos == Long.MAX_VALUE
+                        ? NEVER_EXPIRES
+                        : now + TimeUnit.NANOSECONDS.toMillis(expiresAfterNanos);
+                    writeEntry(out, stringKey, value, expiresAt);
+                    count.incrementAndGet();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(tmpPath);
+            throw e.getCause();
+        } catch (IOException e) {
+            Files.deleteIfExists(tmpPath);
+            throw e;
+        }
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count.get();
+    }
+
+    /**
+     * Put the entries of the snapshot in the cache, if the snapshot exists. The entries already expired are skipped, the others
+     * expire at the same time as when they were saved. A truncated or corrupted snapshot is restored up to the first invalid entry.
+     *
+     * @return the number of entries restored.
+     */
+    public int restore() throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                log.warn("Snapshot [{}] of cache [{}] is too large to be restored", path, cache.getName());
+                return 0;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("Snapshot [{}] of cache [{}] has an unsupported format and is ignored", path, cache.getName());
+                return 0;
+            }
+            return restoreEntries(buffer);
+        }
+    }
+
+    /**
+     * Move the snapshot aside with the {@link #DISCARDED_SUFFIX} suffix, if it exists, so it is not restored again but kept for
+     * investigation. A previously discarded snapshot is replaced.
+     */
+    public synchronized void discard() throws IOException {
+        if (Files.isRegularFile(path)) {
+            Files.move(path, path.resolveSibling(path.getFileName() + DISCARDED_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Delete the snapshot, if it exists.
+     */
+    public synchronized void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private int restoreEntries(final ByteBuffer buffer) {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                long expiresAt = buffer.getLong();
+                String key = new String(readBytes(buffer), StandardCharsets.UTF_8);
+                byte[] value = readBytes(buffer);
+                if (expiresAt == NEVER_EXPIRES) {
+                    cache.restore(key, valueMapper.toValue(Buffer.buffer(value)), Long.MAX_VALUE);
+                    count++;
+                } else if (expiresAt > now) {
+                    cache.restore(key, valueMapper.toValue(Buffer.buffer(value)), TimeUnit.MILLISECONDS.toNanos(expiresAt - now));
+                    count++;
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | UncheckedIOException e) {
+            log.warn("Snapshot [{}] of cache [{}] is corrupted, only {} entries have been restored", path, cache.getName(), count);
+        }
+        return count;
+    }
+
+    private void writeEntry(final DataOutputStream out, final String key, final V value, final long expiresAt) {
+        try {
+            out.writeLong(expiresAt);
+            writeBytes(out, key.getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, valueMapper.toCachedValue(value).getBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Expiry applying the ttl and tti of the cache configuration to every entry. Reads extend the expiration by the time to idle, up to
+ * the time to live counted from the last write of the entry. Entries put with a specific ttl get their own duration and are never
+ * extended by reads.
+ * <p>
+ * Nothing is stored aside the entries. When the cache is configured with a time to idle, the expiration deadlines given by this
+ * expiry are even for the regular entries and odd for the entries put with a specific ttl, which tells them apart on reads. The time
+ * to live deadline is derived from the write time of the entry tracked by Caffeine, see {@link #isWriteTimeRequired()}.
+ *
+ * @author GraviteeSource Team
+ */
+class InMemoryExpiry<K, V> implements Expiry<K, V> {
+
+    private static final long NO_FIXED_DURATION = -1;
+    /**
+     * Duration of the entry being written on the current thread, when put with a specific ttl.
+     */
+    private static final ThreadLocal<long[]> FIXED_DURATION = ThreadLocal.withInitial(() -> new long[] { NO_FIXED_DURATION });
+
+    private final long timeToLiveInNanos;
+    private final long timeToIdleInNanos;
+    private final long defaultDurationInNanos;
+    private ToLongFunction<K> writeAge;
+
+    InMemoryExpiry(final long timeToLiveInMs, final long timeToIdleInMs) {
+        this.timeToLiveInNanos = timeToLiveInMs > 0 ? TimeUnit.MILLISECONDS.toNanos(timeToLiveInMs) : -1;
+        this.timeToIdleInNanos = timeToIdleInMs > 0 ? TimeUnit.MILLISECONDS.toNanos(timeToIdleInMs) : -1;
+        if (timeToLiveInNanos > 0 && timeToIdleInNanos > 0) {
+            this.defaultDurationInNanos = Math.min(timeToLiveInNanos, timeToIdleInNanos);
+        } else if (timeToLiveInNanos > 0) {
+            this.defaultDurationInNanos = timeToLiveInNanos;
+        } else if (timeToIdleInNanos > 0) {
+            this.defaultDurationInNanos = timeToIdleInNanos;
+        } else {
+            this.defaultDurationInNanos = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if reads extend the entries, in which case the entries put with a specific ttl must be written with
+     * {@link #withFixedDuration(long, Runnable)} rather than with {@link Policy.VarExpiration}.
+     */
+    boolean isExtendedByReads() {
+        return timeToIdleInNanos > 0;
+    }
+
+    /**
+     * @return <code>true</code> if the write time of the entries is needed, to be given with {@link #writeAge(ToLongFunction)}.
+     */
+    boolean isWriteTimeRequired() {
+        return timeToIdleInNanos > 0 && timeToLiveInNanos > 0;
+    }
+
+    /**
+     * @return a refresh delay never reached by the entries, so that tracking their write time never refreshes them.
+     */
+    long unreachedRefreshDelayInNanos() {
+        return timeToLiveInNanos > Long.MAX_VALUE / 4 ? Long.MAX_VALUE / 2 : timeToLiveInNanos * 2;
+    }
+
+    /**
+     * @param writeAge the time in nanoseconds since the last write of an entry, negative if the entry is absent.
+     */
+    void writeAge(final ToLongFunction<K> writeAge) {
+        this.writeAge = writeAge;
+    }
+
+    /**
+     * Run a write of an entry expiring after the given duration, never extended by reads.
+     */
+    void withFixedDuration(final long durationInNanos, final Runnable write) {
+        long[] fixedDuration = FIXED_DURATION.get();
+        long previous = fixedDuration[0];
+        fixedDuration[0] = durationInNanos;
+        try {
+            write.run();
+        } finally {
+            fixedDuration[0] = previous;
+        }
+    }
+
+    @Override
+    public long expireAfterCreate(final K key, final V value, final long currentTime) {
+        return onWrite(currentTime);
+    }
+
+    @Override
+    public long expireAfterUpdate(final K key, final V value, final long currentTime, final long currentDuration) {
+        return onWrite(currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(final K key, final V value, final long currentTime, final long currentDuration) {
+        if (timeToIdleInNanos <= 0 || isFixed(currentTime + currentDuration)) {
+            return currentDuration;
+        }
+        long duration = timeToIdleInNanos;
+        if (timeToLiveInNanos > 0) {
+            long age = writeAge.applyAsLong(key);
+            if (age < 0) {
+                return currentDuration;
+            }
+            duration = Math.min(duration, timeToLiveInNanos - age);
+        }
+        return duration <= 0 ? 0 : withDeadlineParity(currentTime, duration, false);
+    }
+
+    private long onWrite(final long currentTime) {
+        if (timeToIdleInNanos <= 0) {
+            return defaultDurationInNanos;
+        }
+        long fixedDuration = FIXED_DURATION.get()[0];
+        if (fixedDuration != NO_FIXED_DURATION) {
+            return withDeadlineParity(currentTime, fixedDuration, true);
+        }
+        return withDeadlineParity(currentTime, defaultDurationInNanos, false);
+    }
+
+    private static boolean isFixed(final long deadline) {
+        return (deadline & 1) == 1;
+    }
+
+    /**
+     * Adjust the duration by one nanosecond, if needed, so that the deadline is odd for fixed entries and even otherwise.
+     */
+    private static long withDeadlineParity(final long currentTime, final long duration, final boolean fixed) {
+        if (isFixed(currentTime + duration) == fixed) {
+            return duration;
+        }
+        return duration > 1 ? duration - 1 : duration + 1;
+    }
+}
@@ -0,0 +1,344 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.gravitee.node.api.cache.BinaryValueMapper;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.ValueMapper;
+import io.vertx.core.buffer.Buffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Local cache keeping its values serialized in direct memory, see {@link CacheConfiguration#isOffHeap()}.
+ * Only the keys and a small fixed-size handle per entry live on the heap, so large values do not weigh on garbage collections.
+ * Values are serialized with the {@link BinaryValueMapper} given at creation and deserialized on each read: the returned values are
+ * copies, modifying them does not modify the cache.
+ *
+ * @author GraviteeSource Team
+ */
+public class OffHeapCache<K, V> extends AbstractInMemoryCache<K, V> {
+
+    private final BinaryValueMapper<V> valueMapper;
+    private final OffHeapStore store = new OffHeapStore();
+    private final com.github.benmanes.caffeine.cache.Cache<K, OffHeapStore.Handle> internalCache;
+    private final Policy.VarExpiration<K, OffHeapStore.Handle> varExpiration;
+
+    public OffHeapCache(final String name, final CacheConfiguration configuration, final ValueMapper<V, ?> valueMapper) {
+        this(name, configuration, valueMapper, CacheListenerDispatcher.getDefault());
+    }
+
+    public OffHeapCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final ValueMapper<V, ?> valueMapper,
+        final CacheListenerDispatcher listenerDispatcher
+    ) {
+        super(name, configuration, listenerDispatcher);
+        if (!(valueMapper instanceof BinaryValueMapper<V> binaryValueMapper)) {
+            throw new IllegalArgumentException("A BinaryValueMapper is required for the off-heap cache [" + name + "]");
+        }
+        this.valueMapper = binaryValueMapper;
+
+        Caffeine<Object, Object> cacheBuilder = newCacheBuilder();
+        // Called synchronously once the entry is no longer reachable from the cache, the handle can then be released.
+        // Operations needing the previous value read it while the entry is still locked by the Caffeine compute.
+        cacheBuilder.removalListener((k, h, cause) -> {
+            OffHeapStore.Handle handle = (OffHeapStore.Handle) h;
+            recordRemoval(k, handle, cause);
+            if (isNotified(cause)) {
+                notifyRemoval((K) k, decode(handle), cause);
+            }
+            store.release(handle);
+        });
+        internalCache = buildCache(cacheBuilder);
+        varExpiration = internalCache.policy().expireVariably().orElseThrow();
+    }
+
+    @Override
+    protected com.github.benmanes.caffeine.cache.Cache<K, ?> internalCache() {
+        return internalCache;
+    }
+
+    /**
+     * Weigh the entries by the size of their serialized value, the weigher of the configuration is ignored.
+     */
+    @Override
+    protected int weigh(final Object key, final Object storedValue) {
+        return ((OffHeapStore.Handle) storedValue).length();
+    }
+
+    @Override
+    public int size() {
+        return (int) internalCache.estimatedSize();
+    }
+
+    @Override
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>();
+        this.internalCache.asMap()
+            .values()
+            .forEach(handle -> {
+                V value = read(handle);
+                if (value != null) {
+                    values.add(value);
+                }
+            });
+        return values;
+    }
+
+    @Override
+    public Set<K> keys() {
+        return this.internalCache.asMap().keySet();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = new HashSet<>();
+        this.internalCache.asMap()
+            .forEach((key, handle) -> {
+                V value = read(handle);
+                if (value != null) {
+                    entries.add(new AbstractMap.SimpleEntry<>(key, value));
+                }
+            });
+        return entries;
+    }
+
+    @Override
+    public V get(final K key) {
+        while (true) {
+            OffHeapStore.Handle handle = internalCache.getIfPresent(key);
+            if (handle == null) {
+                return null;
+            }
+            V value = read(handle);
+            // Otherwise, the entry has been replaced or removed while being read
+            if (value != null) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>();
+        internalCache
+            .getAllPresent(keys)
+            .forEach((key, handle) -> {
+                V value = read(handle);
+                if (value == null) {
+                    // The entry has been replaced or removed while being read, read it again without recording a second hit
+                    value = readLatest(key);
+                }
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+        return values;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return this.put(key, value, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The previous value is returned so it is always decoded, but outside of the entry lock: only its bytes are copied meanwhile.
+     */
+    @Override
+    public V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        byte[] previous = write(key, value, computeTTLMillis(ttl, ttlUnit), true);
+        V oldValue = previous == null ? null : valueMapper.toValue(Buffer.buffer(previous));
+        notifyListeners(key, value, oldValue);
+        return oldValue;
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values) {
+        this.putAll(values, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Previous values are neither copied nor decoded when there is no listener to notify.
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> values, final long ttl, final TimeUnit ttlUnit) {
+        long ttlMillis = computeTTLMillis(ttl, ttlUnit);
+        boolean notified = hasCacheListeners();
+        values.forEach((key, value) -> {
+            byte[] previous = write(key, value, ttlMillis, notified);
+            if (notified) {
+                notifyListeners(key, value, previous == null ? null : valueMapper.toValue(Buffer.buffer(previous)));
+            }
+        });
+    }
+
+    /**
+     * @return a copy of the bytes of the previous value if requested and present, <code>null</code> otherwise.
+     */
+    private byte[] write(final K key, final V value, final long ttlMillis, final boolean previousRequired) {
+        OffHeapStore.Handle handle = encode(value);
+        AtomicReference<byte[]> previousBytes = new AtomicReference<>();
+        BiFunction<K, OffHeapStore.Handle, OffHeapStore.Handle> replace = (k, previous) -> {
+            if (previous != null && previousRequired) {
+                // The previous handle is released as soon as it is replaced
+                previousBytes.set(store.read(previous));
+            }
+            return handle;
+        };
+        if (ttlMillis > 0) {
+            computeWithFixedExpiry(this.internalCache, this.varExpiration, key, replace, TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        } else {
+            this.internalCache.asMap().compute(key, replace);
+        }
+        return previousBytes.get();
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> remappingFunction) {
+        // Listeners are notified once the entry is no longer locked
+        Computation<V> computation = new Computation<>();
+        OffHeapStore.Handle handle = this.internalCache.asMap()
+            .computeIfAbsent(
+                key,
+                k -> {
+                    V applied = computation.record(null, remappingFunction.apply(k));
+                    return applied == null ? null : encode(applied);
+                }
+            );
+        notifyListeners(key, computation);
+        if (handle == null || computation.newValue() != null) {
+            return computation.newValue();
+        }
+        V value = read(handle);
+        return value != null ? value : get(key);
+    }
+
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Computation<V> computation = new Computation<>();
+        this.internalCache.asMap()
+            .computeIfPresent(
+                key,
+                (k, handle) -> {
+                    V value = decode(handle);
+                    V applied = computation.record(value, remappingFunction.apply(k, value));
+                    return applied == null ? null : encode(applied);
+                }
+            );
+        notifyListeners(key, computation);
+        return computation.newValue();
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Computation<V> computation = new Computation<>();
+        this.internalCache.asMap()
+            .compute(
+                key,
+                (k, handle) -> {
+                    V value = handle == null ? null : decode(handle);
+                    V applied = computation.record(value, remappingFunction.apply(k, value));
+                    return applied == null ? null : encode(applied);
+                }
+            );
+        notifyListeners(key, computation);
+        return computation.newValue();
+    }
+
+    @Override
+    public V evict(final K key) {
+        AtomicReference<V> evicted = new AtomicReference<>();
+        this.internalCache.asMap()
+            .computeIfPresent(
+                key,
+                (k, handle) -> {
+                    evicted.set(decode(handle));
+                    return null;
+                }
+            );
+        return evicted.get();
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        this.internalCache.invalidateAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        this.internalCache.invalidateAll();
+    }
+
+    /**
+     * @return the number of bytes of direct memory allocated by this cache.
+     */
+    public long getOffHeapAllocatedBytes() {
+        return store.getAllocatedBytes();
+    }
+
+    /**
+     * @return the number of bytes of direct memory used by the values of this cache.
+     */
+    public long getOffHeapUsedBytes() {
+        return store.getUsedBytes();
+    }
+
+    private OffHeapStore.Handle encode(final V value) {
+        return store.write(valueMapper.toCachedValue(value).getBytes());
+    }
+
+    /**
+     * Decode a handle which cannot be released concurrently, i.e. while its entry is locked or from the removal listener.
+     */
+    private V decode(final OffHeapStore.Handle handle) {
+        return valueMapper.toValue(Buffer.buffer(store.read(handle)));
+    }
+
+    private V readLatest(final K key) {
+        while (true) {
+            OffHeapStore.Handle handle = internalCache.asMap().get(key);
+            if (handle == null) {
+                return null;
+            }
+            V value = read(handle);
+            if (value != null) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @return the value of the given handle, or <code>null</code> if the handle has been released concurrently.
+     */
+    private V read(final OffHeapStore.Handle handle) {
+        byte[] bytes = store.read(handle);
+        return bytes == null ? null : valueMapper.toValue(Buffer.buffer(bytes));
+    }
+}
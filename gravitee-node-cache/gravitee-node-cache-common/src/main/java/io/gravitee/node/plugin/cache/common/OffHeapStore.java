@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Store of byte arrays in direct memory, outside of the Java heap.
+ * Direct buffers (slabs) are allocated on demand and split in chunks of a same size, each size being a power of two between
+ * {@link #MIN_CHUNK_SIZE} and {@link #SLAB_SIZE}. A value is copied in the smallest chunk able to hold it and the chunk is reused once
+ * the value is released. Slabs are never freed, the memory used by the store is bounded by the peak of the stored values.
+ * Values larger than a slab are split in segments, each one stored in a chunk, so their memory is reused the same way once released
+ * instead of waiting for the garbage collector to reclaim a dedicated direct buffer.
+ *
+ * @author GraviteeSource Team
+ */
+class OffHeapStore {
+
+    static final int MIN_CHUNK_SIZE = 64;
+    static final int SLAB_SIZE = 1 << 20;
+    private static final int SIZE_CLASS_COUNT = Integer.numberOfTrailingZeros(SLAB_SIZE / MIN_CHUNK_SIZE) + 1;
+
+    private final SizeClass[] sizeClasses = new SizeClass[SIZE_CLASS_COUNT];
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    OffHeapStore() {
+        for (int i = 0; i < SIZE_CLASS_COUNT; i++) {
+            sizeClasses[i] = new SizeClass(MIN_CHUNK_SIZE << i);
+        }
+    }
+
+    /**
+     * Copy the given bytes in direct memory.
+     *
+     * @return the handle to provide to read or release the bytes.
+     */
+    Handle write(final byte[] bytes) {
+        Handle handle;
+        if (bytes.length > SLAB_SIZE) {
+            Handle[] segments = new Handle[(bytes.length + SLAB_SIZE - 1) / SLAB_SIZE];
+            for (int i = 0; i < segments.length; i++) {
+                int offset = i * SLAB_SIZE;
+                segments[i] = writeChunk(bytes, offset, Math.min(SLAB_SIZE, bytes.length - offset));
+            }
+            handle = new Handle(segments, bytes.length);
+        } else {
+            handle = writeChunk(bytes, 0, bytes.length);
+        }
+        usedBytes.addAndGet(bytes.length);
+        return handle;
+    }
+
+    private Handle writeChunk(final byte[] bytes, final int offset, final int length) {
+        int sizeClassIndex = sizeClassIndex(length);
+        Handle handle = sizeClasses[sizeClassIndex].allocate(length, sizeClassIndex);
+        handle.buffer.put(handle.offset, bytes, offset, length);
+        return handle;
+    }
+
+    /**
+     * Copy the bytes referenced by the given handle back to the heap.
+     *
+     * @return the bytes, or <code>null</code> if the handle has been released while copying them.
+     */
+    byte[] read(final Handle handle) {
+        byte[] bytes = new byte[handle.length];
+        if (handle.segments != null) {
+            int offset = 0;
+            for (Handle segment : handle.segments) {
+                segment.buffer.get(segment.offset, bytes, offset, segment.length);
+                offset += segment.length;
+            }
+        } else {
+            handle.buffer.get(handle.offset, bytes, 0, handle.length);
+        }
+        // The chunk may have been released and reused during the copy, which is only known after the copy is complete
+        VarHandle.loadLoadFence();
+        return handle.released ? null : bytes;
+    }
+
+    /**
+     * Release the bytes referenced by the given handle so their chunk can be reused. A handle must only be released once.
+     */
+    void release(final Handle handle) {
+        handle.released = true;
+        usedBytes.addAndGet(-handle.length);
+        if (handle.segments != null) {
+            for (Handle segment : handle.segments) {
+                sizeClasses[segment.sizeClassIndex].free(segment.chunk);
+            }
+        } else {
+            sizeClasses[handle.sizeClassIndex].free(handle.chunk);
+        }
+    }
+
+    /**
+     * @return the number of bytes of direct memory allocated by this store.
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return the number of bytes of the values currently stored.
+     */
+    long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    private static int sizeClassIndex(final int length) {
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, Integer.highestOneBit(Math.max(1, length - 1)) << 1);
+        return Integer.numberOfTrailingZeros(chunkSize / MIN_CHUNK_SIZE);
+    }
+
+    static final class Handle {
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+        private final int sizeClassIndex;
+        private final int chunk;
+        /**
+         * Chunks holding the successive parts of a value larger than a slab, <code>null</code> for a value held by a single chunk.
+         */
+        private final Handle[] segments;
+        private volatile boolean released;
+
+        private Handle(final ByteBuffer buffer, final int offset, final int length, final int sizeClassIndex, final int chunk) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+            this.sizeClassIndex = sizeClassIndex;
+            this.chunk = chunk;
+            this.segments = null;
+        }
+
+        private Handle(final Handle[] segments, final int length) {
+            this.buffer = null;
+            this.offset = 0;
+            this.length = length;
+            this.sizeClassIndex = -1;
+            this.chunk = -1;
+            this.segments = segments;
+        }
+
+        int length() {
+            return length;
+        }
+    }
+
+    private final class SizeClass {
+
+        private final int chunkSize;
+        private final int chunksPerSlab;
+        private final List<ByteBuffer> slabs = new ArrayList<>();
+        /**
+         * Free chunks, each one encoded as <code>slab index * chunks per slab + chunk index</code>.
+         */
+        private int[] freeChunks = new int[16];
+        private int freeChunkCount;
+
+        private SizeClass(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.chunksPerSlab = SLAB_SIZE / chunkSize;
+        }
+
+        private synchronized Handle allocate(final int length, final int sizeClassIndex) {
+            if (freeChunkCount == 0) {
+                addSlab();
+            }
+            int chunk = freeChunks[--freeChunkCount];
+            return new Handle(slabs.get(chunk / chunksPerSlab), (chunk % chunksPerSlab) * chunkSize, length, sizeClassIndex, chunk);
+        }
+
+        private synchronized void free(final int chunk) {
+            pushFreeChunk(chunk);
+        }
+
+        private void addSlab() {
+            int slabIndex = slabs.size();
+            slabs.add(ByteBuffer.allocateDirect(SLAB_SIZE));
+            allocatedBytes.addAndGet(SLAB_SIZE);
+            // Pushed in reverse order so chunks are handed out from the start of the slab
+            for (int i = chunksPerSlab - 1; i >= 0; i--) {
+                pushFreeChunk(slabIndex * chunksPerSlab + i);
+            }
+        }
+
+        private void pushFreeChunk(final int chunk) {
+            if (freeChunkCount == freeChunks.length) {
+                freeChunks = Arrays.copyOf(freeChunks, freeChunks.length * 2);
+            }
+            freeChunks[freeChunkCount++] = chunk;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheLoadLock;
+import io.gravitee.node.api.cache.CacheLoadOptions;
+import io.gravitee.node.api.cache.CacheStatsCounter;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Load the missing values of a cache with at most one load in flight per key on this node: concurrent misses of a same key all
+ * subscribe to the same load instead of each calling the loader.
+ * When a {@link CacheLoadLock} is provided, the nodes also coordinate so that only one of them loads a missing value while the
+ * others wait for it to be available in the cache.
+ * Values loaded with a time to live can be reloaded in background shortly before they expire so readers never see them missing.
+ * <p>
+ * Loads are only coalesced through a same instance, which must therefore be kept for the lifetime of the cache.
+ *
+ * @param <K> the type of the keys of the cache
+ * @param <V> the type of the values of the cache
+ * @author GraviteeSource Team
+ */
+public class SingleFlightLoader<K, V> {
+
+    private static final long LOCK_POLL_INTERVAL_MS = 25;
+    private static final int REFRESH_DEADLINES_SWEEP_THRESHOLD = 10_000;
+
+    private final Cache<K, V> cache;
+    private final CacheLoadLock<K> lock;
+    private final CacheStatsCounter statsCounter;
+    private final ConcurrentMap<K, Maybe<V>> inFlightLoads = new ConcurrentHashMap<>();
+    /**
+     * Time after which the value of a key must be refreshed, only tracked for the values loaded by this node.
+     */
+    private final ConcurrentMap<K, Long> refreshDeadlines = new ConcurrentHashMap<>();
+    private final AtomicLong lastRefreshDeadlinesSweep = new AtomicLong();
+
+    public SingleFlightLoader(final Cache<K, V> cache, final CacheLoadLock<K> lock) {
+        this(cache, lock, new CacheStatsCounter());
+    }
+
+    /**
+     * @param statsCounter the counter recording the outcome and duration of the loads.
+     */
+    public SingleFlightLoader(final Cache<K, V> cache, final CacheLoadLock<K> lock, final CacheStatsCounter statsCounter) {
+        this.cache = cache;
+        this.lock = lock;
+        this.statsCounter = statsCounter;
+    }
+
+    /**
+     * See {@link Cache#rxGetOrLoad(Object, Function, CacheLoadOptions)}.
+     */
+    public Maybe<V> rxGetOrLoad(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        return cache
+            .rxGet(key)
+            .doOnSuccess(value -> refreshAheadIfNeeded(key, loader, options))
+            .switchIfEmpty(Maybe.defer(() -> singleFlight(key, () -> lockAndLoad(key, loader, options))));
+    }
+
+    /**
+     * @return the number of keys currently being loaded.
+     */
+    public int getInFlightLoads() {
+        return inFlightLoads.size();
+    }
+
+    private Maybe<V> singleFlight(final K key, final Supplier<Maybe<V>> load) {
+        return inFlightLoads.computeIfAbsent(
+            key,
+            k -> {
+                AtomicReference<Maybe<V>> self = new AtomicReference<>();
+                Maybe<V> shared = Maybe.defer(load::get).doFinally(() -> inFlightLoads.remove(k, self.get())).cache();
+                self.set(shared);
+                return shared;
+            }
+        );
+    }
+
+    private Maybe<V> lockAndLoad(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        if (lock == null || !options.isDistributedLock()) {
+            return loadAndStore(key, loader, options);
+        }
+        return lock
+            .rxTryLock(key, options.getDistributedLockLeaseTimeInMs())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMapMaybe(token -> {
+                if (token.isEmpty()) {
+                    return awaitLoadedByOtherNode(key, loader, options);
+                }
+                // Another node may have stored the value between the miss and the lock acquisition
+                return cache
+                    .rxGet(key)
+                    .switchIfEmpty(Maybe.defer(() -> loadAndStore(key, loader, options)))
+                    .doFinally(() -> lock.rxUnlock(key, token.get()).onErrorComplete().subscribe());
+            });
+    }
+
+    /**
+     * Poll the cache until the node holding the lock has stored the value. The value is loaded anyway once the lock lease time has
+     * elapsed, e.g. when the other node failed or its loader did not return any value.
+     */
+    private Maybe<V> awaitLoadedByOtherNode(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        long attempts = Math.max(1, options.getDistributedLockLeaseTimeInMs() / LOCK_POLL_INTERVAL_MS);
+        return cache
+            .rxGet(key)
+            .delaySubscription(LOCK_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)
+            .repeat(attempts)
+            .firstElement()
+            .switchIfEmpty(Maybe.defer(() -> loadAndStore(key, loader, options)));
+    }
+
+    private Maybe<V> loadAndStore(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        return Maybe
+            .defer(() -> {
+                long start = System.nanoTime();
+                return loader.apply(key).doOnEvent((value, throwable) -> statsCounter.recordLoad(value != null, System.nanoTime() - start));
+            })
+            .flatMap(value -> store(key, value, options).andThen(Maybe.just(value)));
+    }
+
+    private Completable store(final K key, final V value, final CacheLoadOptions options) {
+        Maybe<V> put = options.getTimeToLiveInMs() > 0
+            ? cache.rxPut(key, value, options.getTimeToLiveInMs(), TimeUnit.MILLISECONDS)
+            : cache.rxPut(key, value);
+        return put.ignoreElement().doOnComplete(() -> scheduleRefresh(key, options));
+    }
+
+    private void scheduleRefresh(final K key, final CacheLoadOptions options) {
+        if (!isRefreshAhead(options)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long lastSweep = lastRefreshDeadlinesSweep.get();
+        if (
+            refreshDeadlines.size() >= REFRESH_DEADLINES_SWEEP_THRESHOLD &&
+            now - lastSweep >= options.getTimeToLiveInMs() &&
+            lastRefreshDeadlinesSweep.compareAndSet(lastSweep, now)
+        ) {
+            // Deadlines of the values which are not read anymore are kept until the value is expired for sure
+            refreshDeadlines.values().removeIf(deadline -> deadline + options.getRefreshAheadInMs() < now);
+        }
+        refreshDeadlines.put(key, now + options.getTimeToLiveInMs() - options.getRefreshAheadInMs());
+    }
+
+    private void refreshAheadIfNeeded(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        if (!isRefreshAhead(options)) {
+            return;
+        }
+        Long deadline = refreshDeadlines.get(key);
+        // Only the first reader after the deadline triggers the refresh, all readers keep being served the current value
+        if (deadline != null && System.currentTimeMillis() >= deadline && refreshDeadlines.remove(key, deadline)) {
+            singleFlight(key, () -> loadAndStore(key, loader, options)).onErrorComplete().subscribe();
+        }
+    }
+
+    private static boolean isRefreshAhead(final CacheLoadOptions options) {
+        return options.getRefreshAheadInMs() > 0 && options.getTimeToLiveInMs() > 0;
+    }
+}
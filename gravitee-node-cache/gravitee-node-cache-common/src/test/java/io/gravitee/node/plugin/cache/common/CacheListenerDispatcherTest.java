@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CacheListenerDispatcherTest {
+
+    @Test
+    void should_deliver_notifications_of_a_same_key_in_order() {
+        CacheListenerDispatcher dispatcher = new CacheListenerDispatcher("test-dispatcher", 4, 1000);
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            int index = i;
+            dispatcher.dispatch("key", () -> delivered.add(index));
+        }
+
+        await()
+            .atMost(2, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(delivered).hasSize(500);
+                assertThat(delivered).isSorted();
+            });
+        assertThat(dispatcher.getPendingNotifications()).isZero();
+    }
+
+    @Test
+    void should_keep_notifications_in_order_without_blocking_when_queue_is_full() throws InterruptedException {
+        CacheListenerDispatcher dispatcher = new CacheListenerDispatcher("test-dispatcher", 1, 1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+
+        dispatcher.dispatch(
+            "key",
+            () -> {
+                started.countDown();
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        );
+        started.await(1, TimeUnit.SECONDS);
+        for (int i = 1; i <= 3; i++) {
+            int index = i;
+            dispatcher.dispatch("key", () -> delivered.add(index));
+        }
+
+        // The writer has not been blocked
+        assertThat(dispatcher.getOverflowedNotifications()).isEqualTo(2);
+        assertThat(dispatcher.getPendingNotifications()).isEqualTo(3);
+        assertThat(delivered).isEmpty();
+        blocked.countDown();
+
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delivered).containsExactly(1, 2, 3));
+        assertThat(dispatcher.getPendingNotifications()).isZero();
+    }
+
+    @Test
+    void should_queue_notification_submitted_from_a_full_shard_in_order() {
+        CacheListenerDispatcher dispatcher = new CacheListenerDispatcher("test-dispatcher", 1, 1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+
+        // A listener writing to a cache submits notifications from the shard thread
+        dispatcher.dispatch(
+            "key",
+            () -> {
+                dispatcher.dispatch("key", () -> delivered.add("queued"));
+                dispatcher.dispatch("key", () -> delivered.add("nested"));
+            }
+        );
+
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delivered).containsExactly("queued", "nested"));
+    }
+
+    @Test
+    void should_reject_invalid_configuration() {
+        assertThatThrownBy(() -> new CacheListenerDispatcher("test-dispatcher", 0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
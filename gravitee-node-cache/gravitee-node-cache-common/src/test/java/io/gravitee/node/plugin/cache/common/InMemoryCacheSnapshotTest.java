@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.gravitee.node.api.cache.BinaryValueMapper;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class InMemoryCacheSnapshotTest {
+
+    private static final String CACHE_NAME = "test-cache";
+    private static final CborValueMapper<String> VALUE_MAPPER = new CborValueMapper<>(String.class);
+
+    @TempDir
+    Path tempDir;
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() {
+        path = tempDir.resolve("snapshots").resolve(CACHE_NAME + ".snapshot");
+    }
+
+    @Test
+    void should_restore_saved_entries() throws IOException {
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+
+        assertThat(new InMemoryCacheSnapshot<>(cache, VALUE_MAPPER, path).save()).isEqualTo(2);
+
+        InMemoryCache<String, String> restored = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+        assertThat(new InMemoryCacheSnapshot<>(restored, VALUE_MAPPER, path).restore()).isEqualTo(2);
+        assertThat(restored.get("key1")).isEqualTo("value1");
+        assertThat(restored.get("key2")).isEqualTo("value2");
+    }
+
+    @Test
+    void should_restore_entries_with_their_remaining_time_to_live() throws IOException {
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+        cache.put("short", "value", 500, TimeUnit.MILLISECONDS);
+        cache.put("long", "value", 1, TimeUnit.HOURS);
+        new InMemoryCacheSnapshot<>(cache, VALUE_MAPPER, path).save();
+
+        InMemoryCache<String, String> restored = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+        new InMemoryCacheSnapshot<>(restored, VALUE_MAPPER, path).restore();
+
+        assertThat(restored.expiresAfterNanos("long")).isBetween(TimeUnit.MINUTES.toNanos(59), TimeUnit.HOURS.toNanos(1));
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(restored.get("short")).isNull());
+        assertThat(restored.get("long")).isEqualTo("value");
+    }
+
+    @Test
+    void should_skip_entries_expired_since_the_snapshot() throws IOException {
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+        cache.put("key", "value", 100, TimeUnit.MILLISECONDS);
+        new InMemoryCacheSnapshot<>(cache, VALUE_MAPPER, path).save();
+
+        await().pollDelay(200, TimeUnit.MILLISECONDS).until(() -> true);
+        InMemoryCache<String, String> restored = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+
+        assertThat(new InMemoryCacheSnapshot<>(restored, VALUE_MAPPER, path).restore()).isZero();
+        assertThat(restored.size()).isZero();
+    }
+
+    @Test
+    void should_restore_truncated_snapshot_up_to_the_first_invalid_entry() throws IOException {
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+        cache.put("key", "value");
+        new InMemoryCacheSnapshot<>(cache, VALUE_MAPPER, path).save();
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        InMemoryCache<String, String> restored = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+
+        assertThat(new InMemoryCacheSnapshot<>(restored, VALUE_MAPPER, path).restore()).isZero();
+    }
+
+    @Test
+    void should_ignore_missing_snapshot() throws IOException {
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().build());
+
+        assertThat(new InMemoryCacheSnapshot<>(cache, VALUE_MAPPER, path).restore()).isZero();
+    }
+
+    @Test
+    void should_create_cache_and_discard_snapshot_which_cannot_be_restored() throws IOException {
+        CacheConfiguration configuration = CacheConfiguration.builder().snapshotPath(path.toString()).build();
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+        cache.put("key", "value");
+        new InMemoryCacheSnapshot<>(cache, VALUE_MAPPER, path).save();
+        BinaryValueMapper<String> failingValueMapper = new BinaryValueMapper<>() {
+            @Override
+            public Buffer toCachedValue(final String value) {
+                return VALUE_MAPPER.toCachedValue(value);
+            }
+
+            @Override
+            public String toValue(final Buffer cachedValue) {
+                throw new IllegalStateException("Incompatible value");
+            }
+        };
+
+        CacheSnapshotter snapshotter = new CacheSnapshotter();
+        InMemoryCache<String, String> restored = new InMemoryCache<>(CACHE_NAME, configuration);
+        snapshotter.register(restored, configuration, failingValueMapper);
+
+        assertThat(restored.get("key")).isNull();
+        assertThat(path).doesNotExist();
+        assertThat(path.resolveSibling(path.getFileName() + InMemoryCacheSnapshot.DISCARDED_SUFFIX)).exists();
+        snapshotter.close();
+    }
+
+    @Test
+    void should_save_and_restore_through_snapshotter() {
+        CacheConfiguration configuration = CacheConfiguration.builder().snapshotPath(path.toString()).snapshotIntervalInMs(50).build();
+        CacheSnapshotter snapshotter = new CacheSnapshotter();
+        InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+        snapshotter.register(cache, configuration, VALUE_MAPPER);
+
+        cache.put("key", "value");
+        await().atMost(2, TimeUnit.SECONDS).until(() -> Files.exists(path));
+        snapshotter.close();
+
+        CacheSnapshotter restoringSnapshotter = new CacheSnapshotter();
+        InMemoryCache<String, String> restored = new InMemoryCache<>(CACHE_NAME, configuration);
+        restoringSnapshotter.register(restored, configuration, VALUE_MAPPER);
+        assertThat(restored.get("key")).isEqualTo("value");
+
+        restoringSnapshotter.unregister(CACHE_NAME);
+        assertThat(path).doesNotExist();
+    }
+}
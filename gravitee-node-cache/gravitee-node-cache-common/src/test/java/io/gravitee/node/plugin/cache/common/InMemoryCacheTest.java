@@ -16,14 +16,23 @@
 package io.gravitee.node.plugin.cache.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheLoadOptions;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.MaybeSubject;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Nested;
@@ -92,6 +101,16 @@ class InMemoryCacheTest {
     @Nested
     class RxGetTest {
 
+        @Test
+        void should_complete_synchronously_on_subscribing_thread() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            cache.rxGet(TEST_KEY).test().assertValue(TEST_VALUE);
+            cache.rxGet("no_key").test().assertComplete().assertNoValues();
+        }
+
         @Test
         void should_return_null_when_getting_non_existing_key() {
             CacheConfiguration configuration = CacheConfiguration.builder().build();
@@ -135,6 +154,34 @@ class InMemoryCacheTest {
         }
     }
 
+    @Nested
+    class GetAllTest {
+
+        @Test
+        void should_return_only_present_values() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            assertThat(cache.getAll(List.of(TEST_KEY, TEST_KEY2, "no_key")))
+                .containsOnly(Map.entry(TEST_KEY, TEST_VALUE), Map.entry(TEST_KEY2, TEST_VALUE2));
+            cache.rxGetAll(List.of(TEST_KEY, "no_key")).test().assertValue(Map.of(TEST_KEY, TEST_VALUE));
+        }
+
+        @Test
+        void should_record_hits_and_misses() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            cache.getAll(List.of(TEST_KEY, "no_key"));
+
+            assertThat(cache.stats().getHitCount()).isEqualTo(1);
+            assertThat(cache.stats().getMissCount()).isEqualTo(1);
+        }
+    }
+
     @Nested
     class PutTest {
 
@@ -221,6 +268,31 @@ class InMemoryCacheTest {
                     assertThat(listenerCalled).isTrue();
                 });
         }
+
+        @Test
+        void should_reclaim_expired_entry_with_custom_ttl_without_accessing_it() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            AtomicBoolean listenerCalled = new AtomicBoolean();
+            cache.addCacheListener(
+                new CacheListener<>() {
+                    @Override
+                    public void onEntryExpired(final String key, final String value) {
+                        listenerCalled.set(true);
+                    }
+                }
+            );
+            cache.put(TEST_KEY, TEST_VALUE, 100, TimeUnit.MILLISECONDS);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            await()
+                .atMost(2, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    assertThat(listenerCalled).isTrue();
+                    assertThat(cache.size()).isEqualTo(1);
+                });
+            assertThat(cache.get(TEST_KEY2)).isEqualTo(TEST_VALUE2);
+        }
     }
 
     @Nested
@@ -937,6 +1009,20 @@ class InMemoryCacheTest {
         }
     }
 
+    @Nested
+    class IncrementTest {
+
+        @Test
+        void should_increment_counter_from_zero_when_key_is_absent() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, Long> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            assertThat(cache.increment(TEST_KEY, 2)).isEqualTo(2);
+            assertThat(cache.increment(TEST_KEY, 3)).isEqualTo(5);
+            assertThat(cache.rxIncrement(TEST_KEY, -1).blockingGet()).isEqualTo(4);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(4L);
+        }
+    }
+
     @Nested
     class EvictTest {
 
@@ -1024,4 +1110,162 @@ class InMemoryCacheTest {
                 });
         }
     }
+
+    @Nested
+    class RxGetOrLoadTest {
+
+        @Test
+        void should_load_once_for_concurrent_misses() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            AtomicInteger loads = new AtomicInteger();
+            MaybeSubject<String> load = MaybeSubject.create();
+
+            List<TestObserver<String>> observers = IntStream
+                .range(0, 10)
+                .mapToObj(i ->
+                    cache
+                        .rxGetOrLoad(
+                            TEST_KEY,
+                            key -> {
+                                loads.incrementAndGet();
+                                return load;
+                            }
+                        )
+                        .test()
+                )
+                .toList();
+            load.onSuccess(TEST_VALUE);
+
+            observers.forEach(observer -> observer.awaitCount(1).assertValue(TEST_VALUE));
+            assertThat(loads).hasValue(1);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+        }
+
+        @Test
+        void should_not_load_when_key_is_present() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            cache
+                .rxGetOrLoad(TEST_KEY, key -> Maybe.just(TEST_VALUE_UPDATED))
+                .test()
+                .awaitDone(1, TimeUnit.SECONDS)
+                .assertValue(TEST_VALUE);
+        }
+
+        @Test
+        void should_not_store_anything_when_loader_returns_empty() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+
+            cache
+                .rxGetOrLoad(TEST_KEY, key -> Maybe.<String>empty())
+                .test()
+                .awaitDone(1, TimeUnit.SECONDS)
+                .assertComplete()
+                .assertNoValues();
+            assertThat(cache.containsKey(TEST_KEY)).isFalse();
+        }
+
+        @Test
+        void should_refresh_value_before_it_expires() {
+            CacheConfiguration configuration = CacheConfiguration.builder().build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            CacheLoadOptions options = CacheLoadOptions.builder().timeToLiveInMs(500).refreshAheadInMs(450).build();
+            AtomicInteger loads = new AtomicInteger();
+            Function<String, Maybe<String>> loader = key -> Maybe.just(loads.incrementAndGet() == 1 ? TEST_VALUE : TEST_VALUE_UPDATED);
+
+            cache.rxGetOrLoad(TEST_KEY, loader, options).test().awaitDone(1, TimeUnit.SECONDS).assertValue(TEST_VALUE);
+
+            await()
+                .pollInterval(20, TimeUnit.MILLISECONDS)
+                .atMost(400, TimeUnit.MILLISECONDS)
+                .untilAsserted(() -> {
+                    cache.rxGetOrLoad(TEST_KEY, loader, options).test().awaitDone(1, TimeUnit.SECONDS).assertValueCount(1);
+                    assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE_UPDATED);
+                });
+        }
+    }
+
+    @Nested
+    class WeightTest {
+
+        @Test
+        void should_evict_entries_exceeding_max_weight() {
+            CacheConfiguration configuration = CacheConfiguration
+                .builder()
+                .maxWeightInBytes(1000)
+                .weigher((String key, String value) -> value.length())
+                .build();
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+
+            IntStream.range(0, 100).forEach(i -> cache.put("key" + i, "a".repeat(100)));
+
+            await()
+                .atMost(1, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    assertThat(cache.getWeightInBytes()).isLessThanOrEqualTo(1000);
+                    assertThat(cache.size()).isLessThanOrEqualTo(10);
+                    assertThat(cache.getEvictionCount()).isGreaterThanOrEqualTo(90);
+                    assertThat(cache.getEvictionWeightInBytes()).isEqualTo(cache.getEvictionCount() * 100);
+                });
+        }
+
+        @Test
+        void should_report_no_weight_when_not_bounded_by_weight() {
+            InMemoryCache<String, String> cache = new InMemoryCache<>(CACHE_NAME, CacheConfiguration.builder().maxSize(10).build());
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            assertThat(cache.getWeightInBytes()).isEqualTo(-1);
+        }
+
+        @Test
+        void should_require_a_weigher() {
+            CacheConfiguration configuration = CacheConfiguration.builder().maxWeightInBytes(1000).build();
+
+            assertThatThrownBy(() -> new InMemoryCache<>(CACHE_NAME, configuration)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class ExpiryTest {
+
+        @Test
+        void should_extend_read_entry_up_to_time_to_live() throws InterruptedException {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToLiveInMs(1000).timeToIdleInMs(300).build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE);
+
+            // Reads keep the entry alive past its time to idle
+            for (int i = 0; i < 6; i++) {
+                Thread.sleep(100);
+                assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+            }
+
+            // But not past its time to live, even though it is still read
+            await()
+                .atMost(1, TimeUnit.SECONDS)
+                .pollInterval(100, TimeUnit.MILLISECONDS)
+                .untilAsserted(() -> assertThat(cache.get(TEST_KEY)).isNull());
+        }
+
+        @Test
+        void should_not_extend_entry_put_with_specific_ttl_when_read() throws InterruptedException {
+            CacheConfiguration configuration = CacheConfiguration.builder().timeToIdleInMs(500).build();
+            Cache<String, String> cache = new InMemoryCache<>(CACHE_NAME, configuration);
+            cache.put(TEST_KEY, TEST_VALUE, 200, TimeUnit.MILLISECONDS);
+            cache.put(TEST_KEY2, TEST_VALUE2);
+
+            Thread.sleep(100);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+            assertThat(cache.get(TEST_KEY2)).isEqualTo(TEST_VALUE2);
+            Thread.sleep(250);
+
+            assertThat(cache.get(TEST_KEY)).isNull();
+            // The entry without specific ttl is extended by its time to idle
+            assertThat(cache.get(TEST_KEY2)).isEqualTo(TEST_VALUE2);
+        }
+    }
 }
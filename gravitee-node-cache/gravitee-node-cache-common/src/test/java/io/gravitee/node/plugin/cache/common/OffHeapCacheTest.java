@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.ValueMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class OffHeapCacheTest {
+
+    private static final String CACHE_NAME = "test-cache";
+    private static final String TEST_KEY = "key1";
+    private static final String TEST_VALUE = "value1";
+    private static final String TEST_VALUE_UPDATED = "value1_updated";
+
+    private static OffHeapCache<String, String> newCache(final CacheConfiguration configuration) {
+        return new OffHeapCache<>(CACHE_NAME, configuration, new CborValueMapper<>(String.class));
+    }
+
+    @Test
+    void should_reject_non_binary_value_mapper() {
+        ValueMapper<String, String> valueMapper = new ValueMapper<>() {
+            @Override
+            public String toCachedValue(final String value) {
+                return value;
+            }
+
+            @Override
+            public String toValue(final String cachedValue) {
+                return cachedValue;
+            }
+        };
+
+        assertThatThrownBy(() -> new OffHeapCache<>(CACHE_NAME, CacheConfiguration.builder().build(), valueMapper))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_put_get_and_evict_values() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+
+        assertThat(cache.put(TEST_KEY, TEST_VALUE)).isNull();
+        assertThat(cache.put(TEST_KEY, TEST_VALUE_UPDATED)).isEqualTo(TEST_VALUE);
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE_UPDATED);
+        assertThat(cache.entrySet()).containsExactly(Map.entry(TEST_KEY, TEST_VALUE_UPDATED));
+        assertThat(cache.getOffHeapUsedBytes()).isPositive();
+
+        assertThat(cache.evict(TEST_KEY)).isEqualTo(TEST_VALUE_UPDATED);
+        assertThat(cache.get(TEST_KEY)).isNull();
+        assertThat(cache.getOffHeapUsedBytes()).isZero();
+    }
+
+    @Test
+    void should_get_all_present_values() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        cache.put(TEST_KEY, TEST_VALUE);
+
+        assertThat(cache.getAll(List.of(TEST_KEY, "no_key"))).containsOnly(Map.entry(TEST_KEY, TEST_VALUE));
+    }
+
+    @Test
+    void should_store_values_larger_than_a_slab() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        String value = "a".repeat(2 * 1024 * 1024);
+
+        cache.put(TEST_KEY, value);
+
+        assertThat(cache.get(TEST_KEY)).isEqualTo(value);
+        cache.clear();
+        assertThat(cache.getOffHeapUsedBytes()).isZero();
+    }
+
+    @Test
+    void should_reuse_memory_of_overwritten_values_larger_than_a_slab() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        String value = "a".repeat(2 * 1024 * 1024) + "b".repeat(256 * 1024);
+
+        IntStream.range(0, 10).forEach(i -> cache.put(TEST_KEY, value + i));
+
+        assertThat(cache.get(TEST_KEY)).isEqualTo(value + 9);
+        // Two values at most are held while overwriting: 2 slabs each and a chunk of a shared slab for the rest
+        assertThat(cache.getOffHeapAllocatedBytes()).isEqualTo(5 * 1024 * 1024);
+    }
+
+    @Test
+    void should_overwrite_values_with_put_all() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        cache.putAll(Map.of(TEST_KEY, TEST_VALUE, "key2", TEST_VALUE));
+        long usedBytes = cache.getOffHeapUsedBytes();
+
+        cache.putAll(Map.of(TEST_KEY, TEST_VALUE_UPDATED));
+
+        assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE_UPDATED);
+        assertThat(cache.getOffHeapUsedBytes()).isEqualTo(usedBytes + TEST_VALUE_UPDATED.length() - TEST_VALUE.length());
+    }
+
+    @Test
+    void should_compute_values() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+
+        assertThat(cache.computeIfAbsent(TEST_KEY, k -> TEST_VALUE)).isEqualTo(TEST_VALUE);
+        assertThat(cache.computeIfAbsent(TEST_KEY, k -> TEST_VALUE_UPDATED)).isEqualTo(TEST_VALUE);
+        assertThat(cache.computeIfPresent(TEST_KEY, (k, v) -> v + "_updated")).isEqualTo(TEST_VALUE_UPDATED);
+        assertThat(cache.compute(TEST_KEY, (k, v) -> null)).isNull();
+        assertThat(cache.containsKey(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void should_expire_values_and_release_memory() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        cache.put(TEST_KEY, TEST_VALUE, 100, TimeUnit.MILLISECONDS);
+
+        await()
+            .atMost(2, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(cache.get(TEST_KEY)).isNull();
+                assertThat(cache.getOffHeapUsedBytes()).isZero();
+            });
+    }
+
+    @Test
+    void should_reuse_memory_of_evicted_entries() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().maxSize(10).build());
+
+        IntStream.range(0, 50_000).forEach(i -> cache.put("key" + i, TEST_VALUE + i));
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.size()).isEqualTo(10));
+        assertThat(cache.getOffHeapAllocatedBytes()).isEqualTo(1024 * 1024);
+    }
+
+    @Test
+    void should_evict_entries_exceeding_max_weight_by_serialized_size() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().maxWeightInBytes(10_000).build());
+
+        IntStream.range(0, 100).forEach(i -> cache.put("key" + i, "a".repeat(1000)));
+
+        await()
+            .atMost(1, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(cache.getWeightInBytes()).isLessThanOrEqualTo(10_000);
+                assertThat(cache.getEvictionWeightInBytes()).isGreaterThanOrEqualTo(90 * 1000);
+            });
+    }
+
+    @Test
+    void should_notify_listeners_with_decoded_values() {
+        OffHeapCache<String, String> cache = newCache(CacheConfiguration.builder().build());
+        List<String> events = new CopyOnWriteArrayList<>();
+        cache.addCacheListener(
+            new CacheListener<>() {
+                @Override
+                public void onEntryAdded(final String key, final String value) {
+                    events.add("added:" + value);
+                }
+
+                @Override
+                public void onEntryUpdated(final String key, final String oldValue, final String value) {
+                    events.add("updated:" + oldValue + ">" + value);
+                }
+
+                @Override
+                public void onEntryEvicted(final String key, final String value) {
+                    events.add("evicted:" + value);
+                }
+            }
+        );
+
+        cache.put(TEST_KEY, TEST_VALUE);
+        cache.put(TEST_KEY, TEST_VALUE_UPDATED);
+        cache.evict(TEST_KEY);
+
+        await()
+            .atMost(1, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(events)
+                    .containsExactly(
+                        "added:" + TEST_VALUE,
+                        "updated:" + TEST_VALUE + ">" + TEST_VALUE_UPDATED,
+                        "evicted:" + TEST_VALUE_UPDATED
+                    )
+            );
+    }
+}
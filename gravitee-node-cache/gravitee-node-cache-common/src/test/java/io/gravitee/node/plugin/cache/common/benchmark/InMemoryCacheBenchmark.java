@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.common.benchmark;
+
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of the {@link InMemoryCache} write operations. The <code>*WithLookup</code> benchmarks reproduce the previous
+ * implementation, which looked the entry up again to find the previous or computed value, to measure the cost of that extra lookup.
+ * <p>
+ * Benchmarks are not part of the test suite, run the {@link #main(String[])} method once the test classes are compiled.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class InMemoryCacheBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+
+    @Param({ "-1", "60000" })
+    private long timeToLiveInMs;
+
+    private InMemoryCache<Integer, Integer> cache;
+
+    @Setup
+    public void setUp() {
+        CacheConfiguration configuration = CacheConfiguration.builder().maxSize(KEY_COUNT * 2L).timeToLiveInMs(timeToLiveInMs).build();
+        cache = new InMemoryCache<>("benchmark", configuration);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+
+        private int index;
+
+        Integer next() {
+            index = (index + 1) & (KEY_COUNT - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public Integer put(final Keys keys) {
+        Integer key = keys.next();
+        return cache.put(key, key);
+    }
+
+    @Benchmark
+    public Integer putWithLookup(final Keys keys) {
+        Integer key = keys.next();
+        Integer oldValue = cache.get(key);
+        cache.put(key, key);
+        return oldValue;
+    }
+
+    @Benchmark
+    public Integer compute(final Keys keys) {
+        return cache.compute(keys.next(), (k, v) -> v == null ? k : v + 1);
+    }
+
+    @Benchmark
+    public Integer computeWithLookup(final Keys keys) {
+        Integer key = keys.next();
+        cache.compute(key, (k, v) -> v == null ? k : v + 1);
+        return cache.get(key);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InMemoryCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import io.gravitee.node.plugin.cache.common.CacheListenerDispatcher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bind the backlog of a {@link CacheListenerDispatcher} to a meter registry, tagged by the dispatcher name, to monitor how far the
+ * cache listeners lag behind the cache writes.
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheListenerDispatcherMetrics implements MeterBinder {
+
+    private final CacheListenerDispatcher dispatcher;
+
+    public CacheListenerDispatcherMetrics(final CacheListenerDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge
+            .builder("cache.listener.notifications.pending", dispatcher, CacheListenerDispatcher::getPendingNotifications)
+            .tag("dispatcher", dispatcher.getName())
+            .description("The number of cache listener notifications waiting to be delivered")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.listener.notifications.overflowed", dispatcher, CacheListenerDispatcher::getOverflowedNotifications)
+            .tag("dispatcher", dispatcher.getName())
+            .description("The number of cache listener notifications kept in an overflow queue because the queue was full")
+            .register(registry);
+        TimeGauge
+            .builder("cache.listener.lag", dispatcher, TimeUnit.MILLISECONDS, CacheListenerDispatcher::getLagInMs)
+            .tag("dispatcher", dispatcher.getName())
+            .description("The delay between a cache write and the delivery of its listener notification")
+            .register(registry);
+    }
+}
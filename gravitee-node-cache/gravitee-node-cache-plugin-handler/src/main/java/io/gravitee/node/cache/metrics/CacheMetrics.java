@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.plugin.cache.common.AbstractInMemoryCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bind the {@link CacheStats} of a {@link Cache} to a meter registry, with the standard Micrometer cache meters tagged by the cache
+ * name, completed by the load and latency meters.
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheMetrics extends CacheMeterBinder<Cache<?, ?>> {
+
+    public CacheMetrics(final Cache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+    }
+
+    /**
+     * Only the size of the caches local to the node is reported, counting the entries of a distributed cache is too expensive.
+     */
+    @Override
+    protected Long size() {
+        Cache<?, ?> cache = getCache();
+        return cache instanceof AbstractInMemoryCache<?, ?> ? (long) cache.size() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        return stat(CacheStats::getHitCount);
+    }
+
+    @Override
+    protected Long missCount() {
+        return stat(CacheStats::getMissCount);
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return stat(CacheStats::getEvictionCount);
+    }
+
+    @Override
+    protected long putCount() {
+        return stat(CacheStats::getPutCount);
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(final MeterRegistry registry) {
+        Cache<?, ?> cache = getCache();
+        FunctionCounter
+            .builder("cache.load", cache, c -> c.stats().getLoadSuccessCount())
+            .tags(getTagsWithCacheName())
+            .tags("result", "success")
+            .description("The number of times cache lookup methods have successfully loaded a new value")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.load", cache, c -> c.stats().getLoadFailureCount())
+            .tags(getTagsWithCacheName())
+            .tags("result", "failure")
+            .description("The number of times cache lookup methods failed to load a new value")
+            .register(registry);
+        FunctionTimer
+            .builder(
+                "cache.load.duration",
+                cache,
+                c -> c.stats().getLoadSuccessCount() + c.stats().getLoadFailureCount(),
+                c -> c.stats().getTotalLoadTimeNanos(),
+                TimeUnit.NANOSECONDS
+            )
+            .tags(getTagsWithCacheName())
+            .description("The time the cache has spent loading new values")
+            .register(registry);
+        FunctionCounter
+            .builder("cache.eviction.weight", cache, c -> c.stats().getEvictionWeight())
+            .tags(getTagsWithCacheName())
+            .baseUnit("bytes")
+            .description("The sum of weights of evicted entries")
+            .register(registry);
+        FunctionTimer
+            .builder(
+                "cache.gets.latency",
+                cache,
+                c -> c.stats().getTimedGetCount(),
+                c -> c.stats().getTotalGetTimeNanos(),
+                TimeUnit.NANOSECONDS
+            )
+            .tags(getTagsWithCacheName())
+            .description("The time spent by the cache reads going through the network")
+            .register(registry);
+        FunctionTimer
+            .builder(
+                "cache.puts.latency",
+                cache,
+                c -> c.stats().getTimedPutCount(),
+                c -> c.stats().getTotalPutTimeNanos(),
+                TimeUnit.NANOSECONDS
+            )
+            .tags(getTagsWithCacheName())
+            .description("The time spent by the cache writes going through the network")
+            .register(registry);
+    }
+
+    private long stat(final ToLongFunction<CacheStats> stat) {
+        Cache<?, ?> cache = getCache();
+        return cache == null ? 0 : stat.applyAsLong(cache.stats());
+    }
+}
@@ -0,0 +1,577 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.near;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheInvalidationListener;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheLoadOptions;
+import io.gravitee.node.api.cache.CacheStats;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Cache keeping a bounded local copy of the entries read from a distributed cache.
+ * Local entries are invalidated on every change observed through {@link Cache#addCacheInvalidationListener(CacheInvalidationListener)}
+ * and on every write made through this cache, and all of them are dropped when the distributed cache reports that changes may have
+ * been missed. The optional time to live bounds the staleness when invalidation events are lost unnoticed. Nothing is kept locally
+ * anymore once the distributed cache reports that its changes cannot be observed at all.
+ *
+ * @author GraviteeSource Team
+ */
+public class NearCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, V> delegate;
+    private final com.github.benmanes.caffeine.cache.Cache<K, V> localCache;
+    private final String invalidationListenerId;
+    /**
+     * Keys being read from the delegate, so a value read is not kept locally if its key may have been invalidated meanwhile. Only the
+     * keys being read are tracked: invalidating any other key does not affect them.
+     */
+    private final ConcurrentMap<K, PendingReads> pendingReads = new ConcurrentHashMap<>();
+    private final LongAdder localHits = new LongAdder();
+    private volatile boolean bypassed;
+
+    public NearCache(final Cache<K, V> delegate, final CacheConfiguration configuration) {
+        this.delegate = delegate;
+
+        Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(configuration.getNearCacheMaxSize());
+        if (configuration.getNearCacheTimeToLiveInMs() > 0) {
+            cacheBuilder.expireAfterWrite(configuration.getNearCacheTimeToLiveInMs(), TimeUnit.MILLISECONDS);
+        }
+        this.localCache = cacheBuilder.build();
+        this.invalidationListenerId =
+            delegate.addCacheInvalidationListener(
+                new CacheInvalidationListener<>() {
+                    @Override
+                    public void onInvalidation(final K key) {
+                        invalidate(key);
+                    }
+
+                    @Override
+                    public void onInvalidationOfAll() {
+                        invalidateAll();
+                    }
+
+                    @Override
+                    public void onInvalidationUnavailable() {
+                        bypassed = true;
+                        invalidateAll();
+                    }
+                }
+            );
+    }
+
+    /**
+     * Stop listening to the invalidations of the distributed cache and drop all the local entries.
+     */
+    public void close() {
+        delegate.removeCacheInvalidationListener(invalidationListenerId);
+        invalidateAll();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return delegate.values();
+    }
+
+    @Override
+    public Flowable<V> rxValues() {
+        return delegate.rxValues();
+    }
+
+    @Override
+    public Set<K> keys() {
+        return delegate.keys();
+    }
+
+    @Override
+    public Flowable<K> rxKeys() {
+        return delegate.rxKeys();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return delegate.entrySet();
+    }
+
+    @Override
+    public Flowable<Map.Entry<K, V>> rxEntrySet() {
+        return delegate.rxEntrySet();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Single<Integer> rxSize() {
+        return delegate.rxSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public Single<Boolean> rxIsEmpty() {
+        return delegate.rxIsEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return localCache.getIfPresent(key) != null || delegate.containsKey(key);
+    }
+
+    @Override
+    public Single<Boolean> rxContainsKey(final K key) {
+        if (localCache.getIfPresent(key) != null) {
+            return Single.just(true);
+        }
+        return delegate.rxContainsKey(key);
+    }
+
+    @Override
+    public V get(final K key) {
+        V value = getLocally(key);
+        if (value != null) {
+            return value;
+        }
+        long version = startRead(key);
+        try {
+            value = delegate.get(key);
+            keepLocally(key, value, version);
+            return value;
+        } finally {
+            endRead(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxGet(final K key) {
+        V value = getLocally(key);
+        if (value != null) {
+            return Maybe.just(value);
+        }
+        return Maybe.defer(() -> {
+            long version = startRead(key);
+            return delegate.rxGet(key).doOnSuccess(v -> keepLocally(key, v, version)).doFinally(() -> endRead(key));
+        });
+    }
+
+    /**
+     * Only the keys missing locally are fetched from the distributed cache, in a single batch.
+     */
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Map<K, V> values = new HashMap<>();
+        List<K> missingKeys = getAllLocally(keys, values);
+        if (!missingKeys.isEmpty()) {
+            Map<K, Long> versions = startReads(missingKeys);
+            try {
+                Map<K, V> fetched = delegate.getAll(missingKeys);
+                keepAllLocally(fetched, versions);
+                values.putAll(fetched);
+            } finally {
+                endReads(missingKeys);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Single<Map<K, V>> rxGetAll(final Collection<? extends K> keys) {
+        return Single.defer(() -> {
+            Map<K, V> values = new HashMap<>();
+            List<K> missingKeys = getAllLocally(keys, values);
+            if (missingKeys.isEmpty()) {
+                return Single.just(values);
+            }
+            Map<K, Long> versions = startReads(missingKeys);
+            return delegate
+                .rxGetAll(missingKeys)
+                .map(fetched -> {
+                    keepAllLocally(fetched, versions);
+                    values.putAll(fetched);
+                    return values;
+                })
+                .doFinally(() -> endReads(missingKeys));
+        });
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        try {
+            return delegate.put(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxPut(final K key, final V value) {
+        return delegate.rxPut(key, value).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public V put(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        try {
+            return delegate.put(key, value, ttl, ttlUnit);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxPut(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return delegate.rxPut(key, value, ttl, ttlUnit).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        try {
+            delegate.putAll(m);
+        } finally {
+            invalidateAll(m.keySet());
+        }
+    }
+
+    @Override
+    public Completable rxPutAll(final Map<? extends K, ? extends V> m) {
+        return delegate.rxPutAll(m).doFinally(() -> invalidateAll(m.keySet()));
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        try {
+            delegate.putAll(m, ttl, ttlUnit);
+        } finally {
+            invalidateAll(m.keySet());
+        }
+    }
+
+    @Override
+    public Completable rxPutAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        return delegate.rxPutAll(m, ttl, ttlUnit).doFinally(() -> invalidateAll(m.keySet()));
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> remappingFunction) {
+        V value = getLocally(key);
+        if (value != null) {
+            return value;
+        }
+        try {
+            return delegate.computeIfAbsent(key, remappingFunction);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxComputeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        V value = getLocally(key);
+        if (value != null) {
+            return Maybe.just(value);
+        }
+        return delegate.rxComputeIfAbsent(key, mappingFunction).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return delegate.computeIfPresent(key, remappingFunction);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxComputeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return delegate.rxComputeIfPresent(key, remappingFunction).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        try {
+            return delegate.compute(key, remappingFunction);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxCompute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return delegate.rxCompute(key, remappingFunction).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public long increment(final K key, final long delta) {
+        try {
+            return delegate.increment(key, delta);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Single<Long> rxIncrement(final K key, final long delta) {
+        return delegate.rxIncrement(key, delta).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public Maybe<V> rxGetOrLoad(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        V value = getLocally(key);
+        if (value != null) {
+            return Maybe.just(value);
+        }
+        return Maybe.defer(() -> {
+            long version = startRead(key);
+            return delegate
+                .rxGetOrLoad(key, loader, options)
+                .doOnSuccess(v -> keepLocally(key, v, version))
+                .doFinally(() -> endRead(key));
+        });
+    }
+
+    @Override
+    public V evict(final K key) {
+        try {
+            return delegate.evict(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Maybe<V> rxEvict(final K key) {
+        return delegate.rxEvict(key).doFinally(() -> invalidate(key));
+    }
+
+    @Override
+    public void evictAll(final Collection<? extends K> keys) {
+        try {
+            delegate.evictAll(keys);
+        } finally {
+            invalidateAll(keys);
+        }
+    }
+
+    @Override
+    public Completable rxEvictAll(final Collection<? extends K> keys) {
+        return delegate.rxEvictAll(keys).doFinally(() -> invalidateAll(keys));
+    }
+
+    @Override
+    public void clear() {
+        try {
+            delegate.clear();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public Completable rxClear() {
+        return delegate.rxClear().doFinally(this::invalidateAll);
+    }
+
+    @Override
+    public String addCacheListener(final CacheListener<K, V> listener) {
+        return delegate.addCacheListener(listener);
+    }
+
+    @Override
+    public Single<String> rxAddCacheListener(final CacheListener<K, V> listener) {
+        return delegate.rxAddCacheListener(listener);
+    }
+
+    @Override
+    public boolean removeCacheListener(final String listenerCacheId) {
+        return delegate.removeCacheListener(listenerCacheId);
+    }
+
+    @Override
+    public Single<Boolean> rxRemoveCacheListener(final String listenerCacheId) {
+        return delegate.rxRemoveCacheListener(listenerCacheId);
+    }
+
+    @Override
+    public String addCacheInvalidationListener(final CacheInvalidationListener<K> listener) {
+        return delegate.addCacheInvalidationListener(listener);
+    }
+
+    @Override
+    public boolean removeCacheInvalidationListener(final String listenerId) {
+        return delegate.removeCacheInvalidationListener(listenerId);
+    }
+
+    /**
+     * @return the statistics of the distributed cache, plus the hits served locally.
+     */
+    @Override
+    public CacheStats stats() {
+        return delegate.stats().plus(CacheStats.builder().hitCount(localHits.sum()).build());
+    }
+
+    /**
+     * @return the number of entries currently held locally.
+     */
+    public long localSize() {
+        return localCache.estimatedSize();
+    }
+
+    private V getLocally(final K key) {
+        V value = localCache.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Put the values held locally in the given map.
+     *
+     * @return the keys not held locally.
+     */
+    private List<K> getAllLocally(final Collection<? extends K> keys, final Map<K, V> values) {
+        List<K> missingKeys = new ArrayList<>();
+        for (K key : keys) {
+            V value = getLocally(key);
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                missingKeys.add(key);
+            }
+        }
+        return missingKeys;
+    }
+
+    /**
+     * Register a read of the given key from the delegate, to be ended with {@link #endRead(Object)}.
+     *
+     * @return the version of the key the value read must match to be kept locally.
+     */
+    private long startRead(final K key) {
+        return pendingReads.compute(key, (k, reads) -> (reads == null ? new PendingReads() : reads).start()).version;
+    }
+
+    private Map<K, Long> startReads(final Collection<K> keys) {
+        Map<K, Long> versions = new HashMap<>();
+        keys.forEach(key -> versions.put(key, startRead(key)));
+        return versions;
+    }
+
+    private void endRead(final K key) {
+        pendingReads.computeIfPresent(key, (k, reads) -> reads.end());
+    }
+
+    private void endReads(final Collection<K> keys) {
+        keys.forEach(this::endRead);
+    }
+
+    private void keepAllLocally(final Map<K, V> values, final Map<K, Long> versions) {
+        values.forEach((key, value) -> {
+            Long version = versions.get(key);
+            if (version != null) {
+                keepLocally(key, value, version);
+            }
+        });
+    }
+
+    /**
+     * The value is put while holding the pending reads of its key, so it is either skipped because an invalidation has already changed
+     * the version of the key or put before the local entry is invalidated.
+     */
+    private void keepLocally(final K key, final V value, final long version) {
+        if (value == null) {
+            return;
+        }
+        pendingReads.computeIfPresent(
+            key,
+            (k, reads) -> {
+                if (!bypassed && reads.version == version) {
+                    localCache.put(k, value);
+                }
+                return reads;
+            }
+        );
+    }
+
+    private void invalidate(final K key) {
+        pendingReads.computeIfPresent(key, (k, reads) -> reads.invalidate());
+        localCache.invalidate(key);
+    }
+
+    private void invalidateAll(final Collection<? extends K> keys) {
+        keys.forEach(this::invalidate);
+    }
+
+    private void invalidateAll() {
+        pendingReads.keySet().forEach(this::invalidate);
+        localCache.invalidateAll();
+    }
+
+    /**
+     * Reads of a same key in progress. Only updated while holding the lock of its key in {@link #pendingReads}, the version is volatile
+     * as it is read once the read has been registered.
+     */
+    private static final class PendingReads {
+
+        private int count;
+        private volatile long version;
+
+        private PendingReads start() {
+            count++;
+            return this;
+        }
+
+        /**
+         * @return <code>null</code> once the last read has ended, to stop tracking the key.
+         */
+        private PendingReads end() {
+            return --count == 0 ? null : this;
+        }
+
+        private PendingReads invalidate() {
+            version++;
+            return this;
+        }
+    }
+}
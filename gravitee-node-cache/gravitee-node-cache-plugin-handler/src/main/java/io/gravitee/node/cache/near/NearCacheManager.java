@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.near;
+
+import io.gravitee.common.service.AbstractService;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.ValueMapper;
+import io.gravitee.node.cache.metrics.CacheListenerDispatcherMetrics;
+import io.gravitee.node.cache.metrics.CacheMetrics;
+import io.gravitee.node.plugin.cache.common.AbstractInMemoryCache;
+import io.gravitee.node.plugin.cache.common.CacheListenerDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * {@link CacheManager} decorating the one provided by the cache plugin to place a {@link NearCache} in front of the distributed caches
+ * configured with {@link CacheConfiguration#getNearCacheMaxSize()}.
+ * The statistics of every cache, and the backlog of the listeners of the in-memory caches, are also bound to the meter registry, when
+ * metrics are enabled.
+ *
+ * @author GraviteeSource Team
+ */
+public class NearCacheManager extends AbstractService<CacheManager> implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Supplier<MeterRegistry> meterRegistrySupplier;
+    private final ConcurrentMap<String, NearCache<?, ?>> nearCaches = new ConcurrentHashMap<>();
+    private final Set<String> meteredCaches = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatcherMetered = new AtomicBoolean();
+
+    public NearCacheManager(final CacheManager delegate) {
+        this(delegate, () -> null);
+    }
+
+    /**
+     * @param meterRegistrySupplier supplier of the registry the cache statistics are bound to, returning <code>null</code> when
+     * metrics are disabled. It is called when a cache is created as the registry may not be available yet when this manager is.
+     */
+    public NearCacheManager(final CacheManager delegate, final Supplier<MeterRegistry> meterRegistrySupplier) {
+        this.delegate = delegate;
+        this.meterRegistrySupplier = meterRegistrySupplier;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        delegate.start();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        nearCaches.values().forEach(NearCache::close);
+        nearCaches.clear();
+        delegate.stop();
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getOrCreateCache(final String name) {
+        return withMetrics(delegate.getOrCreateCache(name));
+    }
+
+    @Override
+    public <K, V, C> Cache<K, V> getOrCreateCache(final String name, final ValueMapper<V, C> valueMapper) {
+        return withMetrics(delegate.getOrCreateCache(name, valueMapper));
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getOrCreateCache(final String name, final CacheConfiguration configuration) {
+        return withMetrics(withNearCache(name, configuration, delegate.getOrCreateCache(name, configuration)));
+    }
+
+    @Override
+    public <K, V, C> Cache<K, V> getOrCreateCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final ValueMapper<V, C> valueMapper
+    ) {
+        return withMetrics(withNearCache(name, configuration, delegate.getOrCreateCache(name, configuration, valueMapper)));
+    }
+
+    @Override
+    public void destroy(final String name) {
+        NearCache<?, ?> nearCache = nearCaches.remove(name);
+        if (nearCache != null) {
+            nearCache.close();
+        }
+        if (meteredCaches.remove(name)) {
+            MeterRegistry meterRegistry = meterRegistrySupplier.get();
+            if (meterRegistry != null) {
+                Search.in(meterRegistry).tag("cache", name).meters().forEach(meterRegistry::remove);
+            }
+        }
+        delegate.destroy(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> Cache<K, V> withNearCache(final String name, final CacheConfiguration configuration, final Cache<K, V> cache) {
+        // A near cache is pointless in front of a cache which is already local
+        if (configuration.getNearCacheMaxSize() <= 0 || cache instanceof AbstractInMemoryCache) {
+            return cache;
+        }
+        return (Cache<K, V>) nearCaches.computeIfAbsent(name, s -> new NearCache<>(cache, configuration));
+    }
+
+    private <K, V> Cache<K, V> withMetrics(final Cache<K, V> cache) {
+        if (!meteredCaches.contains(cache.getName())) {
+            MeterRegistry meterRegistry = meterRegistrySupplier.get();
+            if (meterRegistry != null && meteredCaches.add(cache.getName())) {
+                new CacheMetrics(cache).bindTo(meterRegistry);
+                if (cache instanceof AbstractInMemoryCache<?, ?> && dispatcherMetered.compareAndSet(false, true)) {
+                    new CacheListenerDispatcherMetrics(CacheListenerDispatcher.getDefault()).bindTo(meterRegistry);
+                }
+            }
+        }
+        return cache;
+    }
+}
@@ -17,11 +17,13 @@ package io.gravitee.node.cache.plugin;
 
 import io.gravitee.node.api.cache.CacheManager;
 import io.gravitee.node.api.configuration.Configuration;
+import io.gravitee.node.cache.near.NearCacheManager;
 import io.gravitee.node.cache.spring.NodeCachePluginConfiguration;
 import io.gravitee.plugin.core.api.AbstractPluginHandler;
 import io.gravitee.plugin.core.api.Plugin;
 import io.gravitee.plugin.core.api.PluginClassLoaderFactory;
 import io.gravitee.plugin.core.api.PluginContextFactory;
+import io.vertx.micrometer.backends.BackendRegistries;
 import lombok.CustomLog;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,12 +72,15 @@ public class CachePluginHandler extends AbstractPluginHandler {
                 // Create spring application context
                 ApplicationContext context = pluginContextFactory.create(plugin);
 
-                // Retrieve actual CacheManager bean and register it as Singleton
+                // Retrieve actual CacheManager bean and register it as Singleton, decorated to provide near caches and metrics
                 CacheManager cacheManager = (CacheManager) context.getBean(pluginClass);
                 DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) (
                     (ConfigurableApplicationContext) applicationContext
                 ).getBeanFactory();
-                beanFactory.registerSingleton(CacheManager.class.getName(), cacheManager);
+                beanFactory.registerSingleton(
+                    CacheManager.class.getName(),
+                    new NearCacheManager(cacheManager, BackendRegistries::getDefaultNow)
+                );
                 log.info("Cache manager plugin '{}' installed.", plugin.id());
             } else {
                 log.warn("Cache manager plugin '{}' is not the type configured and won't be installed.", plugin.id());
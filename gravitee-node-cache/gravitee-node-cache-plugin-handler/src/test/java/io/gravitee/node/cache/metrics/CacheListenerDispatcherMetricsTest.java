@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.plugin.cache.common.CacheListenerDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CacheListenerDispatcherMetricsTest {
+
+    @Test
+    void should_expose_dispatcher_backlog_tagged_by_dispatcher_name() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CacheListenerDispatcher dispatcher = new CacheListenerDispatcher("my-dispatcher", 1, 10);
+        new CacheListenerDispatcherMetrics(dispatcher).bindTo(registry);
+
+        assertThat(registry.get("cache.listener.notifications.pending").tag("dispatcher", "my-dispatcher").gauge().value()).isZero();
+        assertThat(registry.get("cache.listener.notifications.overflowed").tag("dispatcher", "my-dispatcher").functionCounter().count())
+            .isZero();
+        assertThat(registry.get("cache.listener.lag").tag("dispatcher", "my-dispatcher").timeGauge()).isNotNull();
+    }
+}
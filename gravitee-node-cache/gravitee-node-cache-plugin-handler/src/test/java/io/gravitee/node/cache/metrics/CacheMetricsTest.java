@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Maybe;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CacheMetricsTest {
+
+    @Test
+    void should_expose_cache_statistics_tagged_by_cache_name() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Cache<String, String> cache = new InMemoryCache<>("my-cache", CacheConfiguration.builder().build());
+        new CacheMetrics(cache).bindTo(registry);
+
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("missing");
+        cache.rxGetOrLoad("loaded", key -> Maybe.just("value")).blockingGet();
+
+        assertThat(registry.get("cache.gets").tag("cache", "my-cache").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        // The read of the missing key plus the read preceding the load
+        assertThat(registry.get("cache.gets").tag("cache", "my-cache").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.load").tag("cache", "my-cache").tag("result", "success").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").tag("cache", "my-cache").gauge().value()).isEqualTo(2);
+        FunctionTimer loadDuration = registry.get("cache.load.duration").tag("cache", "my-cache").functionTimer();
+        assertThat(loadDuration.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.cache.near;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheInvalidationListener;
+import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NearCacheTest {
+
+    private static final String KEY = "key";
+
+    private Cache<String, String> distributedCache;
+    private NearCache<String, String> cut;
+
+    @BeforeEach
+    void setUp() {
+        distributedCache = new InMemoryCache<>("distributed", CacheConfiguration.builder().build());
+        cut = new NearCache<>(distributedCache, CacheConfiguration.builder().nearCacheMaxSize(100).build());
+    }
+
+    @Test
+    void should_keep_read_value_locally() {
+        distributedCache.put(KEY, "value");
+
+        assertThat(cut.get(KEY)).isEqualTo("value");
+        assertThat(cut.localSize()).isEqualTo(1);
+        assertThat(cut.rxGet(KEY).blockingGet()).isEqualTo("value");
+    }
+
+    @Test
+    void should_count_local_hits_in_statistics() {
+        distributedCache.put(KEY, "value");
+
+        cut.get(KEY);
+        cut.get(KEY);
+
+        // The first read is a hit of the distributed cache, the second one is served locally
+        assertThat(cut.stats().getHitCount()).isEqualTo(2);
+        assertThat(distributedCache.stats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_only_fetch_keys_missing_locally_when_getting_all() {
+        distributedCache.put(KEY, "value");
+        distributedCache.put("other", "other-value");
+        cut.get(KEY);
+
+        assertThat(cut.rxGetAll(List.of(KEY, "other", "missing")).blockingGet())
+            .containsOnly(Map.entry(KEY, "value"), Map.entry("other", "other-value"));
+        assertThat(cut.localSize()).isEqualTo(2);
+        // The key held locally has only been read once from the distributed cache
+        assertThat(distributedCache.stats().getHitCount()).isEqualTo(2);
+        assertThat(distributedCache.stats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_invalidate_local_value_when_distributed_cache_changes() {
+        distributedCache.put(KEY, "value");
+        assertThat(cut.get(KEY)).isEqualTo("value");
+
+        distributedCache.put(KEY, "updated");
+
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cut.get(KEY)).isEqualTo("updated"));
+    }
+
+    @Test
+    void should_invalidate_local_value_when_writing_through_near_cache() {
+        cut.put(KEY, "value");
+        assertThat(cut.get(KEY)).isEqualTo("value");
+
+        cut.put(KEY, "updated");
+        assertThat(cut.get(KEY)).isEqualTo("updated");
+
+        cut.evict(KEY);
+        assertThat(cut.get(KEY)).isNull();
+    }
+
+    @Test
+    void should_drop_all_local_values_when_invalidations_may_have_been_missed() {
+        final AtomicReference<CacheInvalidationListener<String>> listener = new AtomicReference<>();
+        final Cache<String, String> notifyingCache = new InMemoryCache<>("notifying", CacheConfiguration.builder().build()) {
+            @Override
+            public String addCacheInvalidationListener(final CacheInvalidationListener<String> invalidationListener) {
+                listener.set(invalidationListener);
+                return "listener";
+            }
+        };
+        final NearCache<String, String> nearCache = new NearCache<>(
+            notifyingCache,
+            CacheConfiguration.builder().nearCacheMaxSize(100).build()
+        );
+        notifyingCache.put(KEY, "value");
+        notifyingCache.put("other", "other-value");
+        nearCache.getAll(List.of(KEY, "other"));
+        assertThat(nearCache.localSize()).isEqualTo(2);
+
+        listener.get().onInvalidationOfAll();
+
+        assertThat(nearCache.localSize()).isZero();
+    }
+
+    @Test
+    void should_only_discard_value_read_when_its_own_key_is_invalidated_meanwhile() {
+        final AtomicReference<CacheInvalidationListener<String>> listener = new AtomicReference<>();
+        final AtomicReference<String> invalidatedWhileReading = new AtomicReference<>();
+        final Cache<String, String> notifyingCache = new InMemoryCache<>("notifying", CacheConfiguration.builder().build()) {
+            @Override
+            public String addCacheInvalidationListener(final CacheInvalidationListener<String> invalidationListener) {
+                listener.set(invalidationListener);
+                return "listener";
+            }
+
+            @Override
+            public String get(final String key) {
+                listener.get().onInvalidation(invalidatedWhileReading.get());
+                return super.get(key);
+            }
+        };
+        final NearCache<String, String> nearCache = new NearCache<>(
+            notifyingCache,
+            CacheConfiguration.builder().nearCacheMaxSize(100).build()
+        );
+        notifyingCache.put(KEY, "value");
+
+        invalidatedWhileReading.set("other");
+        assertThat(nearCache.get(KEY)).isEqualTo("value");
+        assertThat(nearCache.localSize()).isEqualTo(1);
+
+        listener.get().onInvalidation(KEY);
+        invalidatedWhileReading.set(KEY);
+        assertThat(nearCache.get(KEY)).isEqualTo("value");
+        assertThat(nearCache.localSize()).isZero();
+    }
+
+    @Test
+    void should_not_keep_values_locally_when_invalidations_are_unavailable() {
+        final AtomicReference<CacheInvalidationListener<String>> listener = new AtomicReference<>();
+        final Cache<String, String> notifyingCache = new InMemoryCache<>("notifying", CacheConfiguration.builder().build()) {
+            @Override
+            public String addCacheInvalidationListener(final CacheInvalidationListener<String> invalidationListener) {
+                listener.set(invalidationListener);
+                return "listener";
+            }
+        };
+        final NearCache<String, String> nearCache = new NearCache<>(
+            notifyingCache,
+            CacheConfiguration.builder().nearCacheMaxSize(100).build()
+        );
+        notifyingCache.put(KEY, "value");
+        nearCache.get(KEY);
+        assertThat(nearCache.localSize()).isEqualTo(1);
+
+        listener.get().onInvalidationUnavailable();
+
+        assertThat(nearCache.localSize()).isZero();
+        notifyingCache.put(KEY, "updated");
+        assertThat(nearCache.get(KEY)).isEqualTo("updated");
+        assertThat(nearCache.localSize()).isZero();
+    }
+
+    @Test
+    void should_stop_listening_invalidations_when_closed() {
+        distributedCache.put(KEY, "value");
+        assertThat(cut.get(KEY)).isEqualTo("value");
+
+        cut.close();
+
+        assertThat(cut.localSize()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Entry processor applying a remapping function on the member owning the entry, so the current value is not sent back and forth to
+ * the caller and the entry is updated atomically without a compare and set loop.
+ * The remapping function is sent with the processor to the owner and backup members, hence it must be serializable. Functions
+ * registered in {@link io.gravitee.node.api.cache.CacheFunctions} are sent as their id.
+ *
+ * @author GraviteeSource Team
+ */
+class ComputeEntryProcessor<K, V> implements EntryProcessor<K, V, V> {
+
+    enum Mode {
+        IF_ABSENT,
+        IF_PRESENT,
+        ALWAYS,
+    }
+
+    private final Mode mode;
+    private final BiFunction<? super K, ? super V, ? extends V> remappingFunction;
+
+    ComputeEntryProcessor(final Mode mode, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        this.mode = mode;
+        this.remappingFunction = remappingFunction;
+    }
+
+    static boolean isSerializable(final Object function) {
+        return function instanceof Serializable;
+    }
+
+    static <K, V> ComputeEntryProcessor<K, V> ifAbsent(final Function<? super K, ? extends V> mappingFunction) {
+        return new ComputeEntryProcessor<>(Mode.IF_ABSENT, (BiFunction<K, V, V> & Serializable) (key, value) -> mappingFunction.apply(key));
+    }
+
+    @Override
+    public V process(final Map.Entry<K, V> entry) {
+        V value = entry.getValue();
+        if ((mode == Mode.IF_ABSENT && value != null) || (mode == Mode.IF_PRESENT && value == null)) {
+            return value;
+        }
+        V newValue = remappingFunction.apply(entry.getKey(), value);
+        if (newValue != null || value != null) {
+            // Setting a null value removes the entry
+            entry.setValue(newValue);
+        }
+        return newValue;
+    }
+}
@@ -19,11 +19,21 @@ import com.hazelcast.core.EntryEvent;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.impl.MapListenerAdapter;
 import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheFunctions;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheLoadLock;
+import io.gravitee.node.api.cache.CacheLoadOptions;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.CacheStatsCounter;
+import io.gravitee.node.plugin.cache.common.SingleFlightLoader;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.io.Serializable;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -33,6 +43,13 @@ import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 
 /**
+ * Cache backed by a Hazelcast {@link IMap}. The reactive methods rely on the asynchronous operations of the map and do not block any
+ * thread, except the ones having no asynchronous counterpart (size, listing and clear).
+ * The compute methods run the remapping function on the member owning the entry, in a single round trip, when the function is
+ * {@link Serializable}: either a function registered in {@link CacheFunctions}, of which only the id is sent, or a serializable lambda,
+ * e.g. <code>(BiFunction&lt;K, V, V&gt; &amp; Serializable) (k, v) -&gt; ...</code>. Other functions are applied locally, the reactive
+ * methods then run on an io thread.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -40,7 +57,13 @@ import lombok.RequiredArgsConstructor;
 public class HazelcastCache<K, V> implements Cache<K, V> {
 
     private final IMap<K, V> cache;
+    /**
+     * Map holding the locks used to let only one node load a missing value, see {@link #rxGetOrLoad(Object, Function, CacheLoadOptions)}.
+     */
+    private final IMap<K, String> loadLocks;
     private final long timeToLiveInMs;
+    private final CacheStatsCounter statsCounter = new CacheStatsCounter();
+    private final SingleFlightLoader<K, V> loader = new SingleFlightLoader<>(this, new LoadLock(), statsCounter);
 
     @Override
     public String getName() {
@@ -77,64 +100,164 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
         return this.cache.containsKey(key);
     }
 
+    @Override
+    public Single<Boolean> rxContainsKey(final K key) {
+        return Maybe.fromCompletionStage(this.cache.getAsync(key)).map(value -> true).defaultIfEmpty(false);
+    }
+
     @Override
     public V get(K key) {
-        return this.cache.get(key);
+        long start = System.nanoTime();
+        V value = this.cache.get(key);
+        statsCounter.recordGet(value != null, System.nanoTime() - start);
+        return value;
     }
 
     @Override
     public Maybe<V> rxGet(final K key) {
-        return Maybe.fromCompletionStage(this.cache.getAsync(key));
+        return statsCounter.timeGet(Maybe.fromCompletionStage(this.cache.getAsync(key)));
+    }
+
+    /**
+     * Fetch the values with a single call per member owning some of the keys.
+     */
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        Set<K> distinctKeys = new HashSet<>(keys);
+        long start = System.nanoTime();
+        Map<K, V> values = this.cache.getAll(distinctKeys);
+        statsCounter.recordGets(values.size(), distinctKeys.size() - values.size(), System.nanoTime() - start);
+        return values;
     }
 
     @Override
     public V put(K key, V value) {
+        long start = System.nanoTime();
+        V previous;
         if (timeToLiveInMs > 0) {
-            return this.cache.put(key, value, timeToLiveInMs, TimeUnit.MILLISECONDS);
+            previous = this.cache.put(key, value, timeToLiveInMs, TimeUnit.MILLISECONDS);
         } else {
-            return this.cache.put(key, value);
+            previous = this.cache.put(key, value);
         }
+        statsCounter.recordPuts(1, System.nanoTime() - start);
+        return previous;
     }
 
     @Override
     public Maybe<V> rxPut(final K key, final V value) {
-        return Maybe.fromCompletionStage(this.cache.putAsync(key, value));
+        if (timeToLiveInMs > 0) {
+            return statsCounter.timePut(Maybe.fromCompletionStage(this.cache.putAsync(key, value, timeToLiveInMs, TimeUnit.MILLISECONDS)));
+        }
+        return statsCounter.timePut(Maybe.fromCompletionStage(this.cache.putAsync(key, value)));
     }
 
     @Override
     public V put(K key, V value, long ttl, TimeUnit ttlUnit) {
-        if (timeToLiveInMs > 0 && timeToLiveInMs < TimeUnit.MILLISECONDS.convert(ttl, ttlUnit)) {
-            throw new IllegalArgumentException("Single TTL can't be bigger than TTL defined in the configuration");
-        }
+        checkTtl(ttl, ttlUnit);
 
-        return this.cache.put(key, value, ttl, ttlUnit);
+        long start = System.nanoTime();
+        V previous = this.cache.put(key, value, ttl, ttlUnit);
+        statsCounter.recordPuts(1, System.nanoTime() - start);
+        return previous;
     }
 
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
+        long start = System.nanoTime();
         this.cache.putAll(m);
+        statsCounter.recordPuts(m.size(), System.nanoTime() - start);
+    }
+
+    @Override
+    public Maybe<V> rxPut(final K key, final V value, final long ttl, final TimeUnit ttlUnit) {
+        return Maybe.defer(() -> {
+            checkTtl(ttl, ttlUnit);
+            return statsCounter.timePut(Maybe.fromCompletionStage(this.cache.putAsync(key, value, ttl, ttlUnit)));
+        });
     }
 
     @Override
     public Completable rxPutAll(final Map<? extends K, ? extends V> m) {
-        return Completable.fromCompletionStage(this.cache.putAllAsync(m));
+        return statsCounter.timePuts(Completable.fromCompletionStage(this.cache.putAllAsync(m)), m.size());
+    }
+
+    /**
+     * There is no asynchronous put all with a ttl, the entries are set concurrently one by one.
+     */
+    @Override
+    public Completable rxPutAll(final Map<? extends K, ? extends V> m, final long ttl, final TimeUnit ttlUnit) {
+        return Completable.defer(() -> {
+            checkTtl(ttl, ttlUnit);
+            Completable setAll = Flowable
+                .fromIterable(m.entrySet())
+                .flatMapCompletable(entry ->
+                    Completable.fromCompletionStage(this.cache.setAsync(entry.getKey(), entry.getValue(), ttl, ttlUnit))
+                );
+            return statsCounter.timePuts(setAll, m.size());
+        });
     }
 
     @Override
     public V computeIfAbsent(final K key, final Function<? super K, ? extends V> remappingFunction) {
+        if (ComputeEntryProcessor.isSerializable(remappingFunction)) {
+            return this.cache.executeOnKey(key, ComputeEntryProcessor.ifAbsent(remappingFunction));
+        }
         return this.cache.computeIfAbsent(key, remappingFunction);
     }
 
+    @Override
+    public Maybe<V> rxComputeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        if (!ComputeEntryProcessor.isSerializable(mappingFunction)) {
+            return Cache.super.rxComputeIfAbsent(key, mappingFunction);
+        }
+        return Maybe.fromCompletionStage(this.cache.submitToKey(key, ComputeEntryProcessor.ifAbsent(mappingFunction)));
+    }
+
     @Override
     public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (ComputeEntryProcessor.isSerializable(remappingFunction)) {
+            return this.cache.executeOnKey(key, new ComputeEntryProcessor<>(ComputeEntryProcessor.Mode.IF_PRESENT, remappingFunction));
+        }
         return this.cache.computeIfPresent(key, remappingFunction);
     }
 
+    @Override
+    public Maybe<V> rxComputeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (!ComputeEntryProcessor.isSerializable(remappingFunction)) {
+            return Cache.super.rxComputeIfPresent(key, remappingFunction);
+        }
+        return submitCompute(key, ComputeEntryProcessor.Mode.IF_PRESENT, remappingFunction);
+    }
+
     @Override
     public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (ComputeEntryProcessor.isSerializable(remappingFunction)) {
+            return this.cache.executeOnKey(key, new ComputeEntryProcessor<>(ComputeEntryProcessor.Mode.ALWAYS, remappingFunction));
+        }
         return this.cache.compute(key, remappingFunction);
     }
 
+    @Override
+    public Maybe<V> rxCompute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (!ComputeEntryProcessor.isSerializable(remappingFunction)) {
+            return Cache.super.rxCompute(key, remappingFunction);
+        }
+        return submitCompute(key, ComputeEntryProcessor.Mode.ALWAYS, remappingFunction);
+    }
+
+    @Override
+    public Maybe<V> rxGetOrLoad(final K key, final Function<? super K, Maybe<V>> loader, final CacheLoadOptions options) {
+        return this.loader.rxGetOrLoad(key, loader, options);
+    }
+
+    /**
+     * Hits, misses and writes are counted client side. Evictions made by Hazelcast are not counted.
+     */
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
     @Override
     public Maybe<V> rxEvict(final K key) {
         return Maybe.fromCompletionStage(this.cache.removeAsync(key));
@@ -145,6 +268,11 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
         return cache.remove(key);
     }
 
+    @Override
+    public Completable rxEvictAll(final Collection<? extends K> keys) {
+        return Flowable.fromIterable(keys).flatMapCompletable(key -> Completable.fromCompletionStage(this.cache.removeAsync(key)));
+    }
+
     @Override
     public void clear() {
         cache.clear();
@@ -194,4 +322,36 @@ public class HazelcastCache<K, V> implements Cache<K, V> {
         }
         return false;
     }
+
+    private Maybe<V> submitCompute(
+        final K key,
+        final ComputeEntryProcessor.Mode mode,
+        final BiFunction<? super K, ? super V, ? extends V> remappingFunction
+    ) {
+        return Maybe.fromCompletionStage(this.cache.submitToKey(key, new ComputeEntryProcessor<>(mode, remappingFunction)));
+    }
+
+    private void checkTtl(final long ttl, final TimeUnit ttlUnit) {
+        if (timeToLiveInMs > 0 && timeToLiveInMs < TimeUnit.MILLISECONDS.convert(ttl, ttlUnit)) {
+            throw new IllegalArgumentException("Single TTL can't be bigger than TTL defined in the configuration");
+        }
+    }
+
+    private class LoadLock implements CacheLoadLock<K> {
+
+        @Override
+        public Maybe<String> rxTryLock(final K key, final long leaseTimeInMs) {
+            return Maybe
+                .fromCallable(() -> {
+                    String token = UUID.randomUUID().toString();
+                    return loadLocks.putIfAbsent(key, token, leaseTimeInMs, TimeUnit.MILLISECONDS) == null ? token : null;
+                })
+                .subscribeOn(Schedulers.io());
+        }
+
+        @Override
+        public Completable rxUnlock(final K key, final String token) {
+            return Completable.fromAction(() -> loadLocks.remove(key, token)).subscribeOn(Schedulers.io());
+        }
+    }
 }
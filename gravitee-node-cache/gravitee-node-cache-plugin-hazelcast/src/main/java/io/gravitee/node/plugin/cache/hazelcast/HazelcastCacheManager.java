@@ -17,13 +17,19 @@ package io.gravitee.node.plugin.cache.hazelcast;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.ValueMapper;
+import io.gravitee.node.plugin.cache.common.CacheSnapshotter;
 import io.gravitee.node.plugin.cache.common.InMemoryCache;
+import io.gravitee.node.plugin.cache.common.OffHeapCache;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -38,13 +44,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class HazelcastCacheManager extends AbstractService<CacheManager> implements CacheManager {
 
+    private static final String LOAD_LOCKS_SUFFIX = "-load-locks";
     private final ConcurrentMap<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final CacheSnapshotter snapshotter = new CacheSnapshotter();
 
     private final HazelcastInstance hazelcastInstance;
 
     @Override
     protected void doStop() throws Exception {
         super.doStop();
+        snapshotter.close();
         if (hazelcastInstance != null) {
             hazelcastInstance.shutdown();
         }
@@ -55,9 +64,21 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
         return getOrCreateCache(name, new CacheConfiguration());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getOrCreateCache(final String name, final CacheConfiguration configuration) {
+        return getOrCreateCache(name, configuration, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V, C> Cache<K, V> getOrCreateCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final ValueMapper<V, C> valueMapper
+    ) {
+        if (!configuration.isDistributed() && !configuration.isOffHeap()) {
+            return getOrCreateInMemoryCache(name, configuration, valueMapper);
+        }
         return (Cache<K, V>) caches.computeIfAbsent(
             name,
             s -> {
@@ -66,17 +87,49 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
                     configureCache(s, configuration);
 
                     // Then create the cache entity
-                    return new HazelcastCache<>(hazelcastInstance.getMap(name), configuration.getTimeToLiveInMs());
-                } else {
-                    return new InMemoryCache<>(name, configuration);
+                    return new HazelcastCache<>(
+                        hazelcastInstance.getMap(name),
+                        hazelcastInstance.getMap(name + LOAD_LOCKS_SUFFIX),
+                        configuration.getTimeToLiveInMs()
+                    );
                 }
+                return new OffHeapCache<>(name, configuration, valueMapper);
             }
         );
     }
 
+    /**
+     * The snapshot of an in-memory cache is restored once the cache is registered, so the map is not locked while reading it from disk.
+     * Only the caller which registered the cache restores it.
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V, C> Cache<K, V> getOrCreateInMemoryCache(
+        final String name,
+        final CacheConfiguration configuration,
+        final ValueMapper<V, C> valueMapper
+    ) {
+        Cache<?, ?> existing = caches.get(name);
+        if (existing != null) {
+            return (Cache<K, V>) existing;
+        }
+        InMemoryCache<K, V> cache = new InMemoryCache<>(name, configuration);
+        existing = caches.putIfAbsent(name, cache);
+        if (existing != null) {
+            return (Cache<K, V>) existing;
+        }
+        try {
+            snapshotter.register(cache, configuration, valueMapper);
+        } catch (RuntimeException e) {
+            caches.remove(name, cache);
+            throw e;
+        }
+        return cache;
+    }
+
     @Override
     public void destroy(final String cacheName) {
         Cache<?, ?> cache = caches.remove(cacheName);
+        snapshotter.unregister(cacheName);
         if (cache != null) {
             cache.clear();
         }
@@ -104,7 +157,39 @@ public class HazelcastCacheManager extends AbstractService<CacheManager> impleme
                 mapConfig.setTimeToLiveSeconds((int) TimeUnit.SECONDS.convert(configuration.getTimeToLiveInMs(), TimeUnit.MILLISECONDS));
             }
 
+            if (configuration.getInMemoryFormat() != null) {
+                mapConfig.setInMemoryFormat(InMemoryFormat.valueOf(configuration.getInMemoryFormat().name()));
+            }
+
+            if (configuration.getBackupCount() >= 0) {
+                mapConfig.setBackupCount(configuration.getBackupCount());
+            }
+
+            if (configuration.getAsyncBackupCount() >= 0) {
+                mapConfig.setAsyncBackupCount(configuration.getAsyncBackupCount());
+            }
+
+            if (configuration.getNativeNearCacheMaxSize() > 0) {
+                mapConfig.setNearCacheConfig(nearCacheConfig(name, configuration));
+            }
+
             config.addMapConfig(mapConfig);
         }
     }
+
+    private NearCacheConfig nearCacheConfig(String name, CacheConfiguration configuration) {
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(name).setInvalidateOnChange(true);
+        if (configuration.getInMemoryFormat() != null) {
+            nearCacheConfig.setInMemoryFormat(InMemoryFormat.valueOf(configuration.getInMemoryFormat().name()));
+        }
+        nearCacheConfig
+            .getEvictionConfig()
+            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+            .setEvictionPolicy(EvictionPolicy.LRU)
+            .setSize((int) Math.min(configuration.getNativeNearCacheMaxSize(), Integer.MAX_VALUE));
+        if (configuration.getTimeToLiveInMs() > 0) {
+            nearCacheConfig.setTimeToLiveSeconds((int) TimeUnit.SECONDS.convert(configuration.getTimeToLiveInMs(), TimeUnit.MILLISECONDS));
+        }
+        return nearCacheConfig;
+    }
 }
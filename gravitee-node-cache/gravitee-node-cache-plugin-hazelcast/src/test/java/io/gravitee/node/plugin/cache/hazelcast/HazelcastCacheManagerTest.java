@@ -16,10 +16,16 @@
 package io.gravitee.node.plugin.cache.hazelcast;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -76,4 +82,69 @@ class HazelcastCacheManagerTest {
         assertThat(cache2).isNotNull();
         assertThat(cache).isNotSameAs(cache2);
     }
+
+    @Test
+    void should_not_keep_in_memory_cache_which_snapshot_cannot_be_registered() {
+        CacheConfiguration configuration = CacheConfiguration.builder().snapshotPath("target/not-binary-cache.snapshot").build();
+
+        assertThatThrownBy(() -> cut.getOrCreateCache("not-binary-cache", configuration)).isInstanceOf(IllegalArgumentException.class);
+
+        Cache<String, String> cache = cut.getOrCreateCache("not-binary-cache");
+        assertThat(cache).isNotNull();
+    }
+
+    @Test
+    void should_configure_in_memory_format_and_backups_of_distributed_cache() {
+        cut.getOrCreateCache(
+            "configured-cache",
+            CacheConfiguration
+                .builder()
+                .distributed(true)
+                .inMemoryFormat(CacheConfiguration.InMemoryFormat.OBJECT)
+                .backupCount(0)
+                .asyncBackupCount(1)
+                .build()
+        );
+
+        MapConfig mapConfig = hazelcastInstance.getConfig().getMapConfig("configured-cache");
+        assertThat(mapConfig.getInMemoryFormat()).isEqualTo(InMemoryFormat.OBJECT);
+        assertThat(mapConfig.getBackupCount()).isZero();
+        assertThat(mapConfig.getAsyncBackupCount()).isEqualTo(1);
+        assertThat(mapConfig.getNearCacheConfig()).isNull();
+    }
+
+    @Test
+    void should_keep_hazelcast_defaults_when_not_configured() {
+        cut.getOrCreateCache("default-cache", CacheConfiguration.builder().distributed(true).build());
+
+        MapConfig mapConfig = hazelcastInstance.getConfig().getMapConfig("default-cache");
+        assertThat(mapConfig.getInMemoryFormat()).isEqualTo(MapConfig.DEFAULT_IN_MEMORY_FORMAT);
+        assertThat(mapConfig.getBackupCount()).isEqualTo(MapConfig.DEFAULT_BACKUP_COUNT);
+        assertThat(mapConfig.getAsyncBackupCount()).isEqualTo(MapConfig.DEFAULT_ASYNC_BACKUP_COUNT);
+    }
+
+    @Test
+    void should_configure_native_near_cache_of_distributed_cache() {
+        Cache<String, String> cache = cut.getOrCreateCache(
+            "near-cached-cache",
+            CacheConfiguration
+                .builder()
+                .distributed(true)
+                .inMemoryFormat(CacheConfiguration.InMemoryFormat.OBJECT)
+                .nativeNearCacheMaxSize(100)
+                .timeToLiveInMs(60_000)
+                .build()
+        );
+
+        NearCacheConfig nearCacheConfig = hazelcastInstance.getConfig().getMapConfig("near-cached-cache").getNearCacheConfig();
+        assertThat(nearCacheConfig).isNotNull();
+        assertThat(nearCacheConfig.getInMemoryFormat()).isEqualTo(InMemoryFormat.OBJECT);
+        assertThat(nearCacheConfig.isInvalidateOnChange()).isTrue();
+        assertThat(nearCacheConfig.getTimeToLiveSeconds()).isEqualTo(60);
+        assertThat(nearCacheConfig.getEvictionConfig().getSize()).isEqualTo(100);
+        assertThat(nearCacheConfig.getEvictionConfig().getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+
+        cache.put("key", "value");
+        assertThat(cache.get("key")).isEqualTo("value");
+    }
 }
@@ -23,11 +23,16 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheFunctions;
 import io.gravitee.node.api.cache.CacheListener;
+import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -1057,4 +1062,103 @@ public class HazelcastCacheTest {
             await().atMost(500, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(listenerCalled).isTrue());
         }
     }
+
+    @Nested
+    class DistributedAsyncTest {
+
+        @Test
+        void should_compute_serializable_function_on_entry_owner() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, Integer> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+
+            BiFunction<String, Integer, Integer> increment = (BiFunction<String, Integer, Integer> & Serializable) (k, v) ->
+                v == null ? 1 : v + 1;
+
+            assertThat(cache.rxCompute(TEST_KEY, increment).blockingGet()).isEqualTo(1);
+            assertThat(cache.rxCompute(TEST_KEY, increment).blockingGet()).isEqualTo(2);
+            assertThat(cache.rxComputeIfPresent(TEST_KEY2, increment).blockingGet()).isNull();
+            assertThat(cache.get(TEST_KEY)).isEqualTo(2);
+            assertThat(cache.containsKey(TEST_KEY2)).isFalse();
+        }
+
+        @Test
+        void should_compute_registered_function_on_entry_owner() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, Integer> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+            // A capturing lambda which is not serializable, only the id of the function is sent to the entry owner
+            int step = 2;
+            BiFunction<String, Integer, Integer> increment = CacheFunctions.register("test-increment", (String k, Integer v) ->
+                v == null ? step : v + step
+            );
+
+            try {
+                assertThat(cache.compute(TEST_KEY, increment)).isEqualTo(2);
+                assertThat(cache.rxCompute(TEST_KEY, increment).blockingGet()).isEqualTo(4);
+                assertThat(cache.computeIfPresent(TEST_KEY, increment)).isEqualTo(6);
+                assertThat(cache.computeIfAbsent(TEST_KEY2, CacheFunctions.mapping("test-increment"))).isEqualTo(2);
+                assertThat(cache.get(TEST_KEY)).isEqualTo(6);
+            } finally {
+                CacheFunctions.unregister("test-increment");
+            }
+        }
+
+        @Test
+        void should_compute_if_absent_only_when_missing() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+
+            Function<String, String> mapping = (Function<String, String> & Serializable) k -> TEST_VALUE;
+            Function<String, String> updatedMapping = (Function<String, String> & Serializable) k -> TEST_VALUE_UPDATED;
+
+            assertThat(cache.rxComputeIfAbsent(TEST_KEY, mapping).blockingGet()).isEqualTo(TEST_VALUE);
+            assertThat(cache.rxComputeIfAbsent(TEST_KEY, updatedMapping).blockingGet()).isEqualTo(TEST_VALUE);
+        }
+
+        @Test
+        void should_compute_non_serializable_function_locally() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+
+            assertThat(cache.rxCompute(TEST_KEY, (k, v) -> TEST_VALUE).blockingGet()).isEqualTo(TEST_VALUE);
+            assertThat(cache.get(TEST_KEY)).isEqualTo(TEST_VALUE);
+        }
+
+        @Test
+        void should_put_evict_and_check_keys_asynchronously() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+
+            assertThat(cache.rxPut(TEST_KEY, TEST_VALUE, 1, TimeUnit.MINUTES).blockingGet()).isNull();
+            cache.rxPutAll(Map.of(TEST_KEY2, TEST_VALUE2), 1, TimeUnit.MINUTES).blockingAwait();
+            assertThat(cache.rxContainsKey(TEST_KEY).blockingGet()).isTrue();
+            assertThat(cache.rxContainsKey(TEST_KEY2).blockingGet()).isTrue();
+
+            cache.rxEvictAll(List.of(TEST_KEY, TEST_KEY2)).blockingAwait();
+
+            assertThat(cache.rxContainsKey(TEST_KEY).blockingGet()).isFalse();
+            assertThat(cache.rxContainsKey(TEST_KEY2).blockingGet()).isFalse();
+        }
+
+        @Test
+        void should_get_all_present_values_and_record_hits_and_misses() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+            cache.putAll(Map.of(TEST_KEY, TEST_VALUE, TEST_KEY2, TEST_VALUE2));
+
+            assertThat(cache.rxGetAll(List.of(TEST_KEY, TEST_KEY2, "no_key")).blockingGet())
+                .containsOnly(Map.entry(TEST_KEY, TEST_VALUE), Map.entry(TEST_KEY2, TEST_VALUE2));
+            assertThat(cache.stats().getHitCount()).isEqualTo(2);
+            assertThat(cache.stats().getMissCount()).isEqualTo(1);
+        }
+
+        @Test
+        void should_expire_value_put_with_ttl() {
+            CacheConfiguration configuration = CacheConfiguration.builder().distributed(true).build();
+            Cache<String, String> cache = hazelcastCacheManager.getOrCreateCache(CACHE_NAME, configuration);
+
+            cache.rxPut(TEST_KEY, TEST_VALUE, 1, TimeUnit.SECONDS).blockingGet();
+
+            await().atMost(3, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cache.rxGet(TEST_KEY).blockingGet()).isNull());
+        }
+    }
 }
@@ -15,26 +15,45 @@
  */
 package io.gravitee.node.plugin.cache.redis;
 
+import io.gravitee.node.api.cache.BinaryValueMapper;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheException;
+import io.gravitee.node.api.cache.CacheInvalidationListener;
 import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.CacheLoadOptions;
+import io.gravitee.node.api.cache.CacheStats;
+import io.gravitee.node.api.cache.CacheStatsCounter;
 import io.gravitee.node.api.cache.ValueMapper;
+import io.gravitee.node.plugin.cache.common.SingleFlightLoader;
+import io.gravitee.plugin.configurations.redis.HostAndPort;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 import io.vertx.redis.client.ResponseType;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import lombok.CustomLog;
@@ -47,18 +66,158 @@ import lombok.CustomLog;
 public class RedisCache<V> implements Cache<String, V> {
 
     public static final String SEPARATOR = ".";
+    /**
+     * Maximum number of keys sent in a single multi-key command (MSET, MGET, UNLINK) or in flight on a pipelined connection.
+     */
+    static final int BATCH_SIZE = 500;
+    /**
+     * Default number of keys Redis is hinted to examine on each SCAN iteration.
+     */
+    public static final int DEFAULT_SCAN_COUNT = 1000;
+    private static final String SCAN_START_CURSOR = "0";
+    private static final String KEYSPACE_CHANNEL_PREFIX = "__keyspace@*__:";
+    private static final String KEYSPACE_CHANNEL_SEPARATOR = "__:";
+    private static final String PATTERN_MESSAGE = "pmessage";
+    /**
+     * Maximum number of optimistic attempts of a compute operation before giving up because of concurrent modifications.
+     */
+    static final int MAX_COMPUTE_ATTEMPTS = 16;
+    /**
+     * Upper bounds of the random delay before retrying a compute operation, doubled on each attempt from the base one up to the maximum
+     * one, so that the clients competing for a same entry do not retry in lockstep.
+     */
+    private static final long COMPUTE_RETRY_BASE_DELAY_MS = 2;
+    private static final long COMPUTE_RETRY_MAX_DELAY_MS = 100;
+    /**
+     * Increment the counter KEYS[1] by ARGV[1], keeping its remaining time to live. Returns whether the key existed before and the
+     * incremented value.
+     */
+    private static final RedisScript INCREMENT_SCRIPT = new RedisScript(
+        """
+        local existed = redis.call('EXISTS', KEYS[1])
+        local value = redis.call('INCRBY', KEYS[1], ARGV[1])
+        return { existed, value }
+        """
+    );
+    /**
+     * Set the value only if the key is absent, returns the current value when present or nil when the value has been set.
+     */
+    private static final RedisScript SET_IF_ABSENT_SCRIPT = new RedisScript(
+        """
+        local current = redis.call('GET', KEYS[1])
+        if current then
+          return current
+        end
+        redis.call('SET', KEYS[1], ARGV[1])
+        return false
+        """
+    );
+    /**
+     * Compare and set: ARGV[1] tells if a value is expected ('1') or not ('0'), ARGV[2] is the expected value, ARGV[3] tells if the
+     * new value ARGV[4] must be set ('1') or if the key must be removed ('0'). The remaining time to live of the entry is kept.
+     * Returns 1 when the entry has been updated, 0 when the current value does not match the expected one.
+     */
+    private static final RedisScript COMPARE_AND_SET_SCRIPT = new RedisScript(
+        """
+        local current = redis.call('GET', KEYS[1])
+        if ARGV[1] == '1' then
+          if current ~= ARGV[2] then
+            return 0
+          end
+        elseif current then
+          return 0
+        end
+        if ARGV[3] == '1' then
+          local ttl = redis.call('PTTL', KEYS[1])
+          if ttl > 0 then
+            redis.call('SET', KEYS[1], ARGV[4], 'PX', ttl)
+          else
+            redis.call('SET', KEYS[1], ARGV[4])
+          end
+        else
+          redis.call('DEL', KEYS[1])
+        end
+        return 1
+        """
+    );
     private final String name;
-    private final ValueMapper<V, String> valueMapper;
+    private final ValueMapper<V, ?> valueMapper;
+    private final boolean binaryValueMapper;
+    private final Redis redis;
     private final RedisAPI redisAPI;
+    private final int scanCount;
+    private final boolean clusterMode;
+    private final Function<HostAndPort, Redis> clusterNodeClientFactory;
+    private final CacheStatsCounter statsCounter = new CacheStatsCounter();
+    private final SingleFlightLoader<String, V> loader;
     private final Map<String, CacheListener<String, V>> cacheListeners = new HashMap<>();
-
-    public RedisCache(String name, RedisAPI redisAPI, ValueMapper<V, String> mapper) {
+    private final Map<String, CacheInvalidationListener<String>> invalidationListeners = new ConcurrentHashMap<>();
+    private final RedisKeyspaceSubscriber keyspaceSubscriber;
+
+    public RedisCache(String name, Redis redis, RedisAPI redisAPI, ValueMapper<V, ?> mapper) {
+        this(name, redis, redisAPI, mapper, DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * @param mapper either a <code>ValueMapper&lt;V, String&gt;</code> or a {@link BinaryValueMapper} whose {@link Buffer} are exchanged
+     * with Redis as is.
+     */
+    public RedisCache(String name, Redis redis, RedisAPI redisAPI, ValueMapper<V, ?> mapper, int scanCount) {
+        this(name, redis, redisAPI, mapper, scanCount, null);
+    }
+
+    /**
+     * @param clusterNodeClientFactory creates a client connected to a single node when <code>redis</code> is a Redis Cluster client,
+     * <code>null</code> otherwise. In cluster mode keys are scanned and keyspace notifications are subscribed on each master node, a SCAN
+     * cursor or a subscription only covering the keyspace of the single node it is sent to.
+     */
+    public RedisCache(
+        String name,
+        Redis redis,
+        RedisAPI redisAPI,
+        ValueMapper<V, ?> mapper,
+        int scanCount,
+        Function<HostAndPort, Redis> clusterNodeClientFactory
+    ) {
+        this(name, redis, redisAPI, mapper, scanCount, clusterNodeClientFactory, false);
+    }
+
+    /**
+     * @param configureKeyspaceEvents whether the keyspace events required to notify invalidations can be enabled with
+     * <code>CONFIG SET</code> when missing. Otherwise, the invalidation listeners are told that changes cannot be observed.
+     */
+    public RedisCache(
+        String name,
+        Redis redis,
+        RedisAPI redisAPI,
+        ValueMapper<V, ?> mapper,
+        int scanCount,
+        Function<HostAndPort, Redis> clusterNodeClientFactory,
+        boolean configureKeyspaceEvents
+    ) {
         this.name = name;
+        this.redis = redis;
         this.redisAPI = redisAPI;
+        this.scanCount = scanCount > 0 ? scanCount : DEFAULT_SCAN_COUNT;
+        this.clusterMode = clusterNodeClientFactory != null;
+        this.clusterNodeClientFactory = clusterNodeClientFactory;
         if (mapper == null) {
             throw new IllegalArgumentException("ValueMapper required for Redis Cache");
         }
         this.valueMapper = mapper;
+        this.binaryValueMapper = mapper instanceof BinaryValueMapper;
+        this.loader = new SingleFlightLoader<>(this, new RedisCacheLoadLock(name, redis), statsCounter);
+        this.keyspaceSubscriber =
+            new RedisKeyspaceSubscriber(
+                name,
+                KEYSPACE_CHANNEL_PREFIX + getRedisEntryKey("*"),
+                redis,
+                clusterNodeClientFactory,
+                this::onKeyspaceNotification,
+                this::onKeyspaceNotificationsLost,
+                this::onKeyspaceNotificationsUnavailable,
+                configureKeyspaceEvents
+            );
     }
 
     @Override
@@ -79,19 +238,60 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Collection<V> values() {
-        throw new UnsupportedOperationException("Redis cache does not support values operation");
+        return this.rxValues().toList().blockingGet();
+    }
+
+    @Override
+    public Flowable<V> rxValues() {
+        return this.rxEntrySet().map(Map.Entry::getValue);
     }
 
+    /**
+     * Iterate over the keys of this cache with SCAN. A new SCAN iteration is only issued once the keys of the previous one have been
+     * requested downstream, so the keyspace is never fully materialized and the Redis server is never blocked.
+     * <p>
+     * In cluster mode a SCAN cursor only walks the keyspace of the node it is sent to: the master nodes are discovered with
+     * <code>CLUSTER SLOTS</code> and scanned one after the other, each through a client connected to that node only.
+     */
     @Override
     public Flowable<String> rxKeys() {
-        return Single
-            .fromCompletionStage(this.redisAPI.keys(getRedisEntryKey("*")).toCompletionStage())
-            .flatMap(this::throwExceptionOnError)
-            .flattenStreamAsFlowable(Response::stream)
-            .map(response -> response.toString(StandardCharsets.UTF_8).replace(getRedisEntryKey(""), ""))
+        final String prefix = getRedisEntryKey("");
+        final Flowable<Response> keys = clusterMode
+            ? RedisClusterNodes
+                .masters(redis)
+                .flatMapPublisher(masters ->
+                    Flowable
+                        .fromIterable(masters)
+                        .concatMap(master ->
+                            Flowable.using(() -> clusterNodeClientFactory.apply(master), client -> scan(RedisAPI.api(client)), Redis::close)
+                        )
+                )
+            : scan(redisAPI);
+        return keys
+            .map(response -> asString(response).substring(prefix.length()))
             .onErrorResumeNext(ex -> Flowable.error(new CacheException("Keys cannot be listed from cache", ex)));
     }
 
+    private Flowable<Response> scan(RedisAPI api) {
+        final List<String> scanArgs = List.of("MATCH", getRedisEntryKey("*"), "COUNT", String.valueOf(scanCount));
+        return Flowable.defer(() -> {
+            final AtomicReference<String> cursor = new AtomicReference<>(SCAN_START_CURSOR);
+            return Single
+                .defer(() -> Single.fromCompletionStage(api.scan(scanArguments(cursor.get(), scanArgs)).toCompletionStage()))
+                .flatMap(this::throwExceptionOnError)
+                .doOnSuccess(response -> cursor.set(asString(response.get(0))))
+                .repeatUntil(() -> SCAN_START_CURSOR.equals(cursor.get()))
+                .concatMapIterable(response -> response.get(1), 1);
+        });
+    }
+
+    private static List<String> scanArguments(String cursor, List<String> scanArgs) {
+        List<String> args = new ArrayList<>(scanArgs.size() + 1);
+        args.add(cursor);
+        args.addAll(scanArgs);
+        return args;
+    }
+
     @Override
     public Set<String> keys() {
         return this.rxKeys().collectInto(new HashSet<String>(), HashSet::add).blockingGet();
@@ -99,12 +299,26 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Set<Map.Entry<String, V>> entrySet() {
-        throw new UnsupportedOperationException("Redis cache does not support entrySet operation");
+        return this.rxEntrySet().collectInto(new HashSet<Map.Entry<String, V>>(), HashSet::add).blockingGet();
+    }
+
+    @Override
+    public Flowable<Map.Entry<String, V>> rxEntrySet() {
+        return this.rxKeys()
+            .buffer(BATCH_SIZE)
+            .concatMapSingle(this::mget, 1)
+            .concatMapIterable(Map::entrySet, 1)
+            .onErrorResumeNext(ex -> Flowable.error(new CacheException("Entries cannot be listed from cache", ex)));
     }
 
     @Override
     public int size() {
-        throw new UnsupportedOperationException("Redis cache does not support size operation");
+        return this.rxSize().blockingGet();
+    }
+
+    @Override
+    public Single<Integer> rxSize() {
+        return this.rxKeys().count().map(Long::intValue);
     }
 
     @Override
@@ -138,26 +352,59 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Maybe<V> rxGet(String key) {
+        return statsCounter.timeGet(fetch(key));
+    }
+
+    /**
+     * Read the value of the key without recording it in the statistics, e.g. to get the previous value of a write.
+     */
+    private Maybe<V> fetch(String key) {
         return Maybe
             .fromCompletionStage(this.redisAPI.get(getRedisEntryKey(key)).toCompletionStage())
             .flatMapSingle(this::throwExceptionOnError)
-            .map(response -> valueMapper.toValue(asString(response)))
+            .map(this::toValue)
             .onErrorResumeNext(ex -> Maybe.error(new CacheException("Keys cannot be listed from cache", ex)));
     }
 
+    @Override
+    public Map<String, V> getAll(Collection<? extends String> keys) {
+        return this.rxGetAll(keys).blockingGet();
+    }
+
+    /**
+     * Fetch the values with MGET, in a single round trip for up to {@link #BATCH_SIZE} keys.
+     */
+    @Override
+    public Single<Map<String, V>> rxGetAll(Collection<? extends String> keys) {
+        List<String> distinctKeys = keys.stream().<String>map(key -> key).distinct().toList();
+        if (distinctKeys.isEmpty()) {
+            return Single.just(Map.of());
+        }
+        Single<Map<String, V>> getAll = Flowable
+            .fromIterable(distinctKeys)
+            .buffer(BATCH_SIZE)
+            .concatMapSingle(this::mget, 1)
+            .<Map<String, V>>collect(HashMap::new, Map::putAll);
+        return statsCounter
+            .timeGetAll(getAll, distinctKeys.size())
+            .onErrorResumeNext(ex -> Single.error(new CacheException("Entries cannot be read from cache", ex)));
+    }
+
     @Override
     public V put(String key, V value) {
         return this.rxPut(key, value).blockingGet();
     }
 
+    /**
+     * The value replaces the one already stored for the key, if any, as with {@link #rxPutAll(Map)}.
+     */
     @Override
     public Maybe<V> rxPut(String key, V value) {
-        return rxGet(key)
+        return fetch(key)
             .map(Optional::ofNullable)
             .switchIfEmpty(Maybe.just(Optional.empty()))
             .flatMap(oldValue ->
-                Maybe
-                    .fromCompletionStage(this.redisAPI.setnx(getRedisEntryKey(key), valueMapper.toCachedValue(value)).toCompletionStage())
+                this.send(Request.cmd(Command.SET).arg(getRedisEntryKey(key)).arg(toCachedValue(value)))
                     .map(this::throwExceptionOnError)
                     .mapOptional(r -> {
                         this.cacheListeners.values()
@@ -170,7 +417,8 @@ public class RedisCache<V> implements Cache<String, V> {
                         return oldValue;
                     })
             )
-            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to add cache Entry", ex)));
+            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to add cache Entry", ex)))
+            .compose(statsCounter::timePut);
     }
 
     @Override
@@ -180,16 +428,12 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Maybe<V> rxPut(String key, V value, long ttl, TimeUnit ttlUnit) {
-        return rxGet(key)
+        return fetch(key)
             .map(Optional::ofNullable)
             .switchIfEmpty(Maybe.just(Optional.empty()))
             .flatMap(oldValue ->
-                Maybe
-                    .fromCompletionStage(
-                        this.redisAPI.set(
-                                List.of(getRedisEntryKey(key), valueMapper.toCachedValue(value), "PX", "" + ttlUnit.toMillis(ttl))
-                            )
-                            .toCompletionStage()
+                this.send(
+                        Request.cmd(Command.SET).arg(getRedisEntryKey(key)).arg(toCachedValue(value)).arg("PX").arg(ttlUnit.toMillis(ttl))
                     )
                     .map(this::throwExceptionOnError)
                     .mapOptional(r -> {
@@ -203,7 +447,8 @@ public class RedisCache<V> implements Cache<String, V> {
                         return oldValue;
                     })
             )
-            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to add cache Entry", ex)));
+            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to add cache Entry", ex)))
+            .compose(statsCounter::timePut);
     }
 
     @Override
@@ -215,7 +460,53 @@ public class RedisCache<V> implements Cache<String, V> {
     public Completable rxPutAll(Map<? extends String, ? extends V> m) {
         return Flowable
             .fromIterable(m.entrySet())
-            .flatMapCompletable(entry -> this.rxPut(entry.getKey(), entry.getValue()).ignoreElement());
+            .buffer(BATCH_SIZE)
+            .concatMapCompletable(entries ->
+                rxGetPrevious(entries)
+                    .flatMapCompletable(previous -> {
+                        Request request = Request.cmd(Command.MSET);
+                        entries.forEach(entry -> request.arg(getRedisEntryKey(entry.getKey())).arg(toCachedValue(entry.getValue())));
+                        return this.send(request)
+                            .toSingle()
+                            .flatMap(this::throwExceptionOnError)
+                            .doOnSuccess(r -> notifyPut(entries, previous))
+                            .ignoreElement();
+                    })
+            )
+            .onErrorResumeNext(ex -> Completable.error(new CacheException("Unable to add cache Entries", ex)))
+            .compose(putAll -> statsCounter.timePuts(putAll, m.size()));
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> m, long ttl, TimeUnit ttlUnit) {
+        this.rxPutAll(m, ttl, ttlUnit).blockingAwait();
+    }
+
+    @Override
+    public Completable rxPutAll(Map<? extends String, ? extends V> m, long ttl, TimeUnit ttlUnit) {
+        final String ttlMillis = String.valueOf(ttlUnit.toMillis(ttl));
+        return Flowable
+            .fromIterable(m.entrySet())
+            .buffer(BATCH_SIZE)
+            .concatMapCompletable(entries ->
+                rxGetPrevious(entries)
+                    .flatMapCompletable(previous -> {
+                        List<Request> requests = new ArrayList<>(entries.size());
+                        entries.forEach(entry ->
+                            requests.add(
+                                Request
+                                    .cmd(Command.SET)
+                                    .arg(getRedisEntryKey(entry.getKey()))
+                                    .arg(toCachedValue(entry.getValue()))
+                                    .arg("PX")
+                                    .arg(ttlMillis)
+                            )
+                        );
+                        return pipeline(requests).doOnComplete(() -> notifyPut(entries, previous));
+                    })
+            )
+            .onErrorResumeNext(ex -> Completable.error(new CacheException("Unable to add cache Entries", ex)))
+            .compose(putAll -> statsCounter.timePuts(putAll, m.size()));
     }
 
     @Override
@@ -223,9 +514,31 @@ public class RedisCache<V> implements Cache<String, V> {
         return this.rxComputeIfAbsent(key, remappingFunction).blockingGet();
     }
 
+    /**
+     * The mapping function is only called when the key is absent. The computed value is then stored atomically only if no other
+     * client has stored a value in between, otherwise the value stored by the other client is returned.
+     */
     @Override
     public Maybe<V> rxComputeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
-        throw new UnsupportedOperationException("Redis cache does not support computeIfAbsent operation");
+        return this.fetch(key)
+            .switchIfEmpty(
+                Maybe.defer(() -> {
+                    V value = mappingFunction.apply(key);
+                    if (value == null) {
+                        return Maybe.empty();
+                    }
+                    return SET_IF_ABSENT_SCRIPT
+                        .eval(redis, List.of(getRedisEntryKey(key)), List.of(toCachedValue(value)))
+                        .map(this::toValue)
+                        .switchIfEmpty(
+                            Maybe.fromCallable(() -> {
+                                this.cacheListeners.values().forEach(listener -> listener.onEntryAdded(key, value));
+                                return value;
+                            })
+                        );
+                })
+            )
+            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to compute cache Entry", ex)));
     }
 
     @Override
@@ -235,7 +548,8 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Maybe<V> rxComputeIfPresent(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
-        throw new UnsupportedOperationException("Redis cache does not support computeIfPresent operation");
+        return this.rxCompareAndSet(key, remappingFunction, false)
+            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to compute cache Entry", ex)));
     }
 
     @Override
@@ -245,7 +559,129 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Maybe<V> rxCompute(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
-        throw new UnsupportedOperationException("Redis cache does not support compute operation");
+        return this.rxCompareAndSet(key, remappingFunction, true)
+            .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to compute cache Entry", ex)));
+    }
+
+    /**
+     * Optimistic read-modify-write: the current value is read, remapped locally and written back with a compare-and-set script
+     * that only applies when the value has not been modified in between. The whole operation is retried on conflict after a random
+     * delay, counters being better updated with {@link #rxIncrement(String, long)}.
+     */
+    private Maybe<V> rxCompareAndSet(
+        String key,
+        BiFunction<? super String, ? super V, ? extends V> remappingFunction,
+        boolean computeIfAbsent
+    ) {
+        final String redisKey = getRedisEntryKey(key);
+        return Maybe
+            .defer(() ->
+                Maybe
+                    .fromCompletionStage(this.redisAPI.get(redisKey).toCompletionStage())
+                    .flatMapSingle(this::throwExceptionOnError)
+                    .map(response -> Optional.of(response.toBuffer()))
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMapMaybe(cached -> {
+                        if (cached.isEmpty() && !computeIfAbsent) {
+                            return Maybe.empty();
+                        }
+                        V oldValue = cached.map(this::toValue).orElse(null);
+                        V newValue = remappingFunction.apply(key, oldValue);
+                        if (oldValue == null && newValue == null) {
+                            return Maybe.empty();
+                        }
+                        List<Buffer> args = List.of(
+                            flag(cached.isPresent()),
+                            cached.orElseGet(Buffer::buffer),
+                            flag(newValue != null),
+                            newValue != null ? toCachedValue(newValue) : Buffer.buffer()
+                        );
+                        return COMPARE_AND_SET_SCRIPT
+                            .eval(redis, List.of(redisKey), args)
+                            .toSingle()
+                            .flatMapMaybe(applied -> {
+                                if (applied.toInteger() == 0) {
+                                    return Maybe.error(new ConcurrentModificationException("Entry [" + key + "] modified concurrently"));
+                                }
+                                notifyCompute(key, oldValue, newValue);
+                                return newValue == null ? Maybe.empty() : Maybe.just(newValue);
+                            });
+                    })
+            )
+            .retryWhen(errors -> {
+                final AtomicInteger attempts = new AtomicInteger(1);
+                return errors.concatMap(throwable -> {
+                    int attempt = attempts.getAndIncrement();
+                    if (!(throwable instanceof ConcurrentModificationException) || attempt >= MAX_COMPUTE_ATTEMPTS) {
+                        return Flowable.error(throwable);
+                    }
+                    return Flowable.timer(computeRetryDelay(attempt), TimeUnit.MILLISECONDS);
+                });
+            });
+    }
+
+    /**
+     * Full jitter: a random delay up to an exponentially growing bound.
+     */
+    private static long computeRetryDelay(int attempt) {
+        long bound = Math.min(COMPUTE_RETRY_MAX_DELAY_MS, COMPUTE_RETRY_BASE_DELAY_MS << attempt);
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    @Override
+    public long increment(String key, long delta) {
+        return this.rxIncrement(key, delta).blockingGet();
+    }
+
+    /**
+     * The counter is incremented with INCRBY in a single round trip, its value being stored as a decimal string: the value mapper of a
+     * cache used as counters must read and write <code>Long</code>s this way, e.g. with <code>Long::parseLong</code>.
+     */
+    @Override
+    public Single<Long> rxIncrement(String key, long delta) {
+        return INCREMENT_SCRIPT
+            .eval(redis, List.of(getRedisEntryKey(key)), List.of(Buffer.buffer(Long.toString(delta))))
+            .toSingle()
+            .map(response -> {
+                long value = response.get(1).toLong();
+                if (!this.cacheListeners.isEmpty()) {
+                    V newValue = toValue(Buffer.buffer(Long.toString(value)));
+                    if (response.get(0).toInteger() == 0) {
+                        this.cacheListeners.values().forEach(listener -> listener.onEntryAdded(key, newValue));
+                    } else {
+                        V oldValue = toValue(Buffer.buffer(Long.toString(value - delta)));
+                        this.cacheListeners.values().forEach(listener -> listener.onEntryUpdated(key, oldValue, newValue));
+                    }
+                }
+                return value;
+            })
+            .onErrorResumeNext(ex -> Single.error(new CacheException("Unable to increment cache Entry", ex)));
+    }
+
+    /**
+     * Hits, misses and writes are counted client side. Evictions made by Redis are not visible and not counted.
+     */
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public Maybe<V> rxGetOrLoad(String key, Function<? super String, Maybe<V>> loader, CacheLoadOptions options) {
+        return this.loader.rxGetOrLoad(key, loader, options);
+    }
+
+    private void notifyCompute(String key, V oldValue, V newValue) {
+        this.cacheListeners.values()
+            .forEach(listener -> {
+                if (newValue == null) {
+                    listener.onEntryEvicted(key, oldValue);
+                } else if (oldValue == null) {
+                    listener.onEntryAdded(key, newValue);
+                } else {
+                    listener.onEntryUpdated(key, oldValue, newValue);
+                }
+            });
     }
 
     @Override
@@ -255,7 +691,7 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Maybe<V> rxEvict(String key) {
-        return this.rxGet(key)
+        return this.fetch(key)
             .flatMap(value ->
                 Maybe
                     .fromCompletionStage(this.redisAPI.del(List.of(getRedisEntryKey(key))).toCompletionStage())
@@ -268,6 +704,17 @@ public class RedisCache<V> implements Cache<String, V> {
             .onErrorResumeNext(ex -> Maybe.error(new CacheException("Unable to remove cache Entry", ex)));
     }
 
+    @Override
+    public void evictAll(Collection<? extends String> keys) {
+        this.rxEvictAll(keys).blockingAwait();
+    }
+
+    @Override
+    public Completable rxEvictAll(Collection<? extends String> keys) {
+        return this.rxEvictAll(Flowable.fromIterable(keys))
+            .onErrorResumeNext(ex -> Completable.error(new CacheException("Unable to remove cache Entries", ex)));
+    }
+
     @Override
     public void clear() {
         this.rxClear().blockingAwait();
@@ -275,7 +722,108 @@ public class RedisCache<V> implements Cache<String, V> {
 
     @Override
     public Completable rxClear() {
-        return this.rxKeys().flatMapCompletable(key -> rxEvict(key).ignoreElement());
+        return this.rxEvictAll(this.rxKeys())
+            .onErrorResumeNext(ex -> Completable.error(new CacheException("Unable to clear cache", ex)));
+    }
+
+    private Completable rxEvictAll(Flowable<? extends String> keys) {
+        return keys
+            .buffer(BATCH_SIZE)
+            .concatMapCompletable(chunk -> {
+                if (cacheListeners.isEmpty()) {
+                    return unlink(chunk);
+                }
+                return mget(chunk)
+                    .flatMapCompletable(values ->
+                        unlink(chunk)
+                            .doOnComplete(() ->
+                                values.forEach((key, value) ->
+                                    this.cacheListeners.values().forEach(listener -> listener.onEntryEvicted(key, value))
+                                )
+                            )
+                    );
+            });
+    }
+
+    /**
+     * Remove the given keys with UNLINK, or with DEL in cluster mode which the cluster client splits by hash slot.
+     */
+    private Completable unlink(List<? extends String> keys) {
+        List<String> redisKeys = keys.stream().map(this::getRedisEntryKey).toList();
+        Future<Response> removal = clusterMode ? this.redisAPI.del(redisKeys) : this.redisAPI.unlink(redisKeys);
+        return Single
+            .fromCompletionStage(removal.toCompletionStage())
+            .flatMap(this::throwExceptionOnError)
+            .ignoreElement();
+    }
+
+    /**
+     * Fetch the current values of the given keys in a single MGET. Keys without value are not part of the returned map.
+     */
+    private Single<Map<String, V>> mget(List<? extends String> keys) {
+        List<String> redisKeys = keys.stream().map(this::getRedisEntryKey).toList();
+        return Single
+            .fromCompletionStage(this.redisAPI.mget(redisKeys).toCompletionStage())
+            .flatMap(this::throwExceptionOnError)
+            .map(response -> {
+                Map<String, V> values = new HashMap<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    Response value = response.get(i);
+                    if (value != null) {
+                        values.put(keys.get(i), toValue(value));
+                    }
+                }
+                return values;
+            });
+    }
+
+    private Single<Map<String, V>> rxGetPrevious(List<? extends Map.Entry<? extends String, ? extends V>> entries) {
+        if (cacheListeners.isEmpty()) {
+            return Single.just(Map.of());
+        }
+        return mget(entries.stream().<String>map(Map.Entry::getKey).toList());
+    }
+
+    private void notifyPut(List<? extends Map.Entry<? extends String, ? extends V>> entries, Map<String, V> previous) {
+        if (cacheListeners.isEmpty()) {
+            return;
+        }
+        entries.forEach(entry -> {
+            V old = previous.get(entry.getKey());
+            this.cacheListeners.values()
+                .forEach(listener -> {
+                    if (old == null) {
+                        listener.onEntryAdded(entry.getKey(), entry.getValue());
+                    } else {
+                        listener.onEntryUpdated(entry.getKey(), old, entry.getValue());
+                    }
+                });
+        });
+    }
+
+    /**
+     * Send all the requests on a single connection without waiting for each reply so they are pipelined to Redis.
+     */
+    private Completable pipeline(List<Request> requests) {
+        return Single
+            .fromCompletionStage(this.redis.connect().toCompletionStage())
+            .flatMapCompletable(connection ->
+                Flowable
+                    .fromIterable(requests)
+                    .flatMapCompletable(request -> send(connection, request), false, BATCH_SIZE)
+                    .doFinally(connection::close)
+            );
+    }
+
+    private Maybe<Response> send(Request request) {
+        return Maybe.fromCompletionStage(this.redis.send(request).toCompletionStage());
+    }
+
+    private Completable send(RedisConnection connection, Request request) {
+        return Maybe
+            .fromCompletionStage(connection.send(request).toCompletionStage())
+            .flatMapSingle(this::throwExceptionOnError)
+            .ignoreElement();
     }
 
     @Override
@@ -291,6 +839,102 @@ public class RedisCache<V> implements Cache<String, V> {
         return cacheListeners.remove(listenerCacheId) != null;
     }
 
+    /**
+     * Invalidation listeners are notified from Redis keyspace notifications so changes made by any client are observed. This requires
+     * keyspace notifications to be enabled on the Redis server, e.g. <code>notify-keyspace-events Kg$x</code>, which is done when
+     * allowed. Listeners are told to invalidate everything when the notifications are interrupted.
+     */
+    @Override
+    public String addCacheInvalidationListener(CacheInvalidationListener<String> listener) {
+        String listenerId = io.gravitee.common.utils.UUID.random().toString();
+        invalidationListeners.put(listenerId, listener);
+        subscribeKeyspaceNotifications();
+        return listenerId;
+    }
+
+    @Override
+    public boolean removeCacheInvalidationListener(String listenerId) {
+        boolean removed = invalidationListeners.remove(listenerId) != null;
+        if (invalidationListeners.isEmpty()) {
+            unsubscribeKeyspaceNotifications();
+        }
+        return removed;
+    }
+
+    /**
+     * Stop listening to the keyspace notifications for good, the cache having been destroyed or its manager stopped.
+     */
+    public void close() {
+        keyspaceSubscriber.close();
+    }
+
+    private synchronized void subscribeKeyspaceNotifications() {
+        keyspaceSubscriber.subscribe();
+    }
+
+    private synchronized void unsubscribeKeyspaceNotifications() {
+        if (invalidationListeners.isEmpty()) {
+            keyspaceSubscriber.unsubscribe();
+        }
+    }
+
+    private void onKeyspaceNotificationsLost() {
+        invalidationListeners.values().forEach(CacheInvalidationListener::onInvalidationOfAll);
+    }
+
+    private void onKeyspaceNotificationsUnavailable() {
+        invalidationListeners.values().forEach(CacheInvalidationListener::onInvalidationUnavailable);
+    }
+
+    private void onKeyspaceNotification(Response message) {
+        if (message == null || message.size() < 4 || !PATTERN_MESSAGE.equals(asString(message.get(0)))) {
+            return;
+        }
+        String channel = asString(message.get(2));
+        int separatorIndex = channel.indexOf(KEYSPACE_CHANNEL_SEPARATOR);
+        if (separatorIndex < 0) {
+            return;
+        }
+        String key = channel.substring(separatorIndex + KEYSPACE_CHANNEL_SEPARATOR.length() + getRedisEntryKey("").length());
+        invalidationListeners.values().forEach(listener -> listener.onInvalidation(key));
+    }
+
+    /**
+     * Values are always sent to Redis as raw bytes: a {@link BinaryValueMapper} buffer is passed through untouched while a
+     * <code>String</code> is encoded in UTF-8, exactly as the client would do with a <code>String</code> argument.
+     */
+    @SuppressWarnings("unchecked")
+    private Buffer toCachedValue(V value) {
+        if (binaryValueMapper) {
+            return ((ValueMapper<V, Buffer>) valueMapper).toCachedValue(value);
+        }
+        return Buffer.buffer(((ValueMapper<V, String>) valueMapper).toCachedValue(value), StandardCharsets.UTF_8.name());
+    }
+
+    private V toValue(Response response) {
+        if (binaryValueMapper) {
+            return toValue(response.toBuffer());
+        }
+        return toValue(asString(response));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V toValue(Buffer cachedValue) {
+        if (binaryValueMapper) {
+            return ((ValueMapper<V, Buffer>) valueMapper).toValue(cachedValue);
+        }
+        return toValue(cachedValue.toString(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V toValue(String cachedValue) {
+        return ((ValueMapper<V, String>) valueMapper).toValue(cachedValue);
+    }
+
+    private static Buffer flag(boolean value) {
+        return Buffer.buffer(value ? "1" : "0");
+    }
+
     private static String asString(Response response) {
         return response.toString(StandardCharsets.UTF_8);
     }
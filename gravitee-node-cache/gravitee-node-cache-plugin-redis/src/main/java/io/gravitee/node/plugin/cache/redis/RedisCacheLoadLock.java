@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.redis;
+
+import io.gravitee.common.utils.UUID;
+import io.gravitee.node.api.cache.CacheLoadLock;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.Request;
+import java.util.List;
+
+/**
+ * {@link CacheLoadLock} relying on a Redis key set with <code>SET NX PX</code>. The lock keys live outside the keyspace of the cache
+ * so they are never listed nor notified as cache entries.
+ *
+ * @author GraviteeSource Team
+ */
+class RedisCacheLoadLock implements CacheLoadLock<String> {
+
+    private static final String LOCK_SUFFIX = ":load-lock";
+    /**
+     * Delete the lock only if it is still held with the given token, so a lock acquired by another node after the lease expiration
+     * is never released.
+     */
+    private static final RedisScript RELEASE_SCRIPT = new RedisScript(
+        """
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+          return redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """
+    );
+
+    private final String lockKeyPrefix;
+    private final Redis redis;
+
+    RedisCacheLoadLock(final String cacheName, final Redis redis) {
+        this.lockKeyPrefix = cacheName + LOCK_SUFFIX + RedisCache.SEPARATOR;
+        this.redis = redis;
+    }
+
+    @Override
+    public Maybe<String> rxTryLock(final String key, final long leaseTimeInMs) {
+        final String token = UUID.random().toString();
+        final Request request = Request.cmd(Command.SET).arg(lockKeyPrefix + key).arg(token).arg("NX").arg("PX").arg(leaseTimeInMs);
+        // SET NX replies nil when the lock is already held
+        return Maybe.fromCompletionStage(redis.send(request).toCompletionStage()).map(response -> token);
+    }
+
+    @Override
+    public Completable rxUnlock(final String key, final String token) {
+        return RELEASE_SCRIPT.eval(redis, List.of(lockKeyPrefix + key), List.of(Buffer.buffer(token))).ignoreElement();
+    }
+}
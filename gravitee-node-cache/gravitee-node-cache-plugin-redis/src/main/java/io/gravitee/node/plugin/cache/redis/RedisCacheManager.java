@@ -21,11 +21,16 @@ import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheManager;
 import io.gravitee.node.api.cache.ValueMapper;
 import io.gravitee.node.vertx.client.redis.VertxRedisClientFactory;
+import io.gravitee.plugin.configurations.redis.HostAndPort;
 import io.gravitee.plugin.configurations.redis.RedisClientOptions;
+import io.gravitee.plugin.configurations.redis.RedisClusterOptions;
+import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisAPI;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
@@ -33,12 +38,20 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class RedisCacheManager extends AbstractService<CacheManager> implements CacheManager {
 
-    private final ConcurrentMap<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RedisCache<?>> caches = new ConcurrentHashMap<>();
 
     private final RedisClientOptions redisClientOptions;
 
     private final VertxRedisClientFactory redisClientFactory;
 
+    @Value("${cache.redis.scanCount:" + RedisCache.DEFAULT_SCAN_COUNT + "}")
+    private int scanCount = RedisCache.DEFAULT_SCAN_COUNT;
+
+    @Value("${cache.redis.configureKeyspaceEvents:false}")
+    private boolean configureKeyspaceEvents = false;
+
+    private Redis redis;
+
     private RedisAPI redisAPI;
 
     @Autowired
@@ -66,30 +79,82 @@ public class RedisCacheManager extends AbstractService<CacheManager> implements
     public <K, V, C> Cache<K, V> getOrCreateCache(String name, CacheConfiguration configuration, ValueMapper<V, C> valueMapper) {
         return (Cache<K, V>) caches.computeIfAbsent(
             name,
-            s -> new RedisCache<>(name, getOrCreateRedisAPI(), (ValueMapper<V, String>) valueMapper)
+            s ->
+                new RedisCache<>(
+                    name,
+                    getOrCreateRedis(),
+                    getOrCreateRedisAPI(),
+                    valueMapper,
+                    scanCount,
+                    clusterNodeClientFactory(),
+                    configureKeyspaceEvents
+                )
         );
     }
 
+    /**
+     * Same predicate as {@link VertxRedisClientFactory} uses to create a Redis Cluster client.
+     */
+    private boolean isClusterMode() {
+        RedisClusterOptions cluster = redisClientOptions.getCluster();
+        return cluster != null && cluster.isEnabled() && cluster.getNodes() != null && !cluster.getNodes().isEmpty();
+    }
+
+    /**
+     * In cluster mode, creates clients connected to a single node of the cluster with the credentials and SSL settings of the cluster.
+     */
+    private Function<HostAndPort, Redis> clusterNodeClientFactory() {
+        if (!isClusterMode()) {
+            return null;
+        }
+        return node ->
+            redisClientFactory.createClient(
+                RedisClientOptions
+                    .builder()
+                    .host(node.getHost())
+                    .port(node.getPort())
+                    .username(redisClientOptions.getUsername())
+                    .password(redisClientOptions.getPassword())
+                    .useSsl(redisClientOptions.isUseSsl())
+                    .ssl(redisClientOptions.getSsl())
+                    .build()
+            );
+    }
+
     @Override
     public void destroy(final String cacheName) {
-        Cache<?, ?> cache = caches.remove(cacheName);
+        RedisCache<?> cache = caches.remove(cacheName);
         if (cache != null) {
+            cache.close();
             cache.clear();
         }
     }
 
     @Override
     protected void doStop() {
+        caches.values().forEach(RedisCache::close);
+        caches.clear();
         if (redisAPI != null) {
             redisAPI.close();
             redisAPI = null;
+            redis = null;
         }
     }
 
-    private synchronized RedisAPI getOrCreateRedisAPI() {
-        if (redisAPI == null) {
-            this.redisAPI = RedisAPI.api(redisClientFactory.createClient(redisClientOptions));
+    void setConfigureKeyspaceEvents(final boolean configureKeyspaceEvents) {
+        this.configureKeyspaceEvents = configureKeyspaceEvents;
+    }
+
+    private synchronized Redis getOrCreateRedis() {
+        if (redis == null) {
+            this.redis = redisClientFactory.createClient(redisClientOptions);
+            this.redisAPI = RedisAPI.api(redis);
         }
+        return this.redis;
+    }
+
+    private synchronized RedisAPI getOrCreateRedisAPI() {
+        getOrCreateRedis();
         return this.redisAPI;
     }
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.redis;
+
+import io.gravitee.plugin.configurations.redis.HostAndPort;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Discovery of the nodes of a Redis Cluster, for the commands which only apply to the node they are sent to such as SCAN or
+ * PSUBSCRIBE on keyspace channels.
+ *
+ * @author GraviteeSource Team
+ */
+final class RedisClusterNodes {
+
+    private RedisClusterNodes() {}
+
+    /**
+     * List the master nodes holding at least one slot with <code>CLUSTER SLOTS</code>.
+     *
+     * @param redis the Redis Cluster client.
+     *
+     * @return the distinct master nodes, in the order of their first slot range.
+     */
+    static Single<List<HostAndPort>> masters(final Redis redis) {
+        return Single
+            .defer(() -> Single.fromCompletionStage(redis.send(Request.cmd(Command.CLUSTER).arg("SLOTS")).toCompletionStage()))
+            .map(slots -> {
+                // Each slot range is described by its first and last slots followed by its master and replica nodes
+                Map<String, HostAndPort> masters = new LinkedHashMap<>();
+                for (Response range : slots) {
+                    Response master = range.get(2);
+                    HostAndPort node = HostAndPort
+                        .builder()
+                        .host(master.get(0).toString(StandardCharsets.UTF_8))
+                        .port(master.get(1).toInteger())
+                        .build();
+                    masters.putIfAbsent(node.getHost() + ":" + node.getPort(), node);
+                }
+                return List.copyOf(masters.values());
+            });
+    }
+}
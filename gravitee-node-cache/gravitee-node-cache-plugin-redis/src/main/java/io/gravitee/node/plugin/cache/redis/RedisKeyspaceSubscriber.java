@@ -0,0 +1,294 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.redis;
+
+import io.gravitee.plugin.configurations.redis.HostAndPort;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.CustomLog;
+
+/**
+ * Subscription to the keyspace notifications matching a pattern. Redis publishes the notifications of a key on the node holding it
+ * only, so in cluster mode one connection is subscribed on each master node.
+ * <p>
+ * Keyspace notifications are disabled by default on Redis: the events configured on each node are checked with <code>CONFIG GET</code>
+ * and, when some are missing, the <code>onUnavailable</code> callback is called since changes cannot be observed. The missing events
+ * are only enabled with <code>CONFIG SET</code> when explicitly allowed, changing the server configuration being an administration
+ * decision. When <code>CONFIG GET</code> itself is not allowed, e.g. on managed Redis services, the events are assumed configured.
+ * <p>
+ * When a subscription is lost the notifications published meanwhile cannot be recovered: the <code>onLost</code> callback is called
+ * and a new subscription is made after {@link #RESUBSCRIBE_DELAY_MS}. It is called again once subscribed back.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+class RedisKeyspaceSubscriber {
+
+    static final long RESUBSCRIBE_DELAY_MS = 1000;
+    private static final String NOTIFY_KEYSPACE_EVENTS = "notify-keyspace-events";
+    /**
+     * Keyspace channel (K) for generic commands such as DEL or EXPIRE (g), string commands ($) and expirations (x).
+     */
+    private static final String REQUIRED_KEYSPACE_EVENTS = "Kg$x";
+    /**
+     * Alias of all the event classes, keyspace and keyevent channels excepted.
+     */
+    private static final char ALL_EVENTS = 'A';
+
+    private final String name;
+    private final String pattern;
+    private final Redis redis;
+    private final Function<HostAndPort, Redis> clusterNodeClientFactory;
+    private final Consumer<Response> onMessage;
+    private final Runnable onLost;
+    private final Runnable onUnavailable;
+    private final boolean configureKeyspaceEvents;
+    private boolean active;
+    private boolean stopped;
+    private Subscription subscription;
+
+    /**
+     * @param clusterNodeClientFactory creates a client connected to the given node, <code>null</code> if <code>redis</code> is not a
+     * Redis Cluster client.
+     * @param configureKeyspaceEvents whether the missing keyspace events can be enabled with <code>CONFIG SET</code>.
+     */
+    RedisKeyspaceSubscriber(
+        final String name,
+        final String pattern,
+        final Redis redis,
+        final Function<HostAndPort, Redis> clusterNodeClientFactory,
+        final Consumer<Response> onMessage,
+        final Runnable onLost,
+        final Runnable onUnavailable,
+        final boolean configureKeyspaceEvents
+    ) {
+        this.name = name;
+        this.pattern = pattern;
+        this.redis = redis;
+        this.clusterNodeClientFactory = clusterNodeClientFactory;
+        this.onMessage = onMessage;
+        this.onLost = onLost;
+        this.onUnavailable = onUnavailable;
+        this.configureKeyspaceEvents = configureKeyspaceEvents;
+    }
+
+    synchronized void subscribe() {
+        if (stopped) {
+            return;
+        }
+        active = true;
+        if (subscription == null) {
+            subscription = new Subscription(false);
+            subscription.start();
+        }
+    }
+
+    synchronized void unsubscribe() {
+        active = false;
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Unsubscribe for good: neither {@link #subscribe()} nor a pending resubscription has any effect afterwards.
+     */
+    synchronized void close() {
+        stopped = true;
+        unsubscribe();
+    }
+
+    private void onSubscriptionLost(final Subscription lost, final Throwable throwable) {
+        synchronized (this) {
+            if (subscription != lost) {
+                return;
+            }
+            subscription = null;
+        }
+        lost.close();
+        log.warn("Keyspace notifications of cache [{}] lost, subscribing again in {}ms", name, RESUBSCRIBE_DELAY_MS, throwable);
+        onLost.run();
+        Completable.timer(RESUBSCRIBE_DELAY_MS, TimeUnit.MILLISECONDS).subscribe(this::resubscribe);
+    }
+
+    private synchronized void resubscribe() {
+        if (active && !stopped && subscription == null) {
+            subscription = new Subscription(true);
+            subscription.start();
+        }
+    }
+
+    private final class Subscription {
+
+        private final boolean resubscription;
+        private final List<Redis> nodeClients = new CopyOnWriteArrayList<>();
+        private final List<RedisConnection> connections = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+
+        private Subscription(final boolean resubscription) {
+            this.resubscription = resubscription;
+        }
+
+        private void start() {
+            nodes()
+                .flatMapCompletable(nodes -> Flowable.fromIterable(nodes).flatMapCompletable(this::subscribe))
+                .subscribe(
+                    () -> {
+                        log.debug("Subscribed to keyspace notifications of cache [{}]", name);
+                        // Changes made while not subscribed have been missed
+                        if (resubscription && !closed) {
+                            onLost.run();
+                        }
+                    },
+                    throwable -> onSubscriptionLost(this, throwable)
+                );
+        }
+
+        private Single<List<Redis>> nodes() {
+            if (clusterNodeClientFactory == null) {
+                return Single.just(List.of(redis));
+            }
+            return RedisClusterNodes
+                .masters(redis)
+                .map(masters -> {
+                    masters.forEach(master -> nodeClients.add(clusterNodeClientFactory.apply(master)));
+                    if (closed) {
+                        nodeClients.forEach(Redis::close);
+                        return List.<Redis>of();
+                    }
+                    return List.copyOf(nodeClients);
+                });
+        }
+
+        private Completable subscribe(final Redis client) {
+            return Single
+                .fromCompletionStage(client.connect().toCompletionStage())
+                .flatMapCompletable(connection -> {
+                    connections.add(connection);
+                    if (closed) {
+                        connection.close();
+                        return Completable.complete();
+                    }
+                    connection.handler(onMessage::accept);
+                    connection.exceptionHandler(throwable -> onSubscriptionLost(this, throwable));
+                    connection.endHandler(ignore -> onSubscriptionLost(this, null));
+                    Request psubscribe = Request.cmd(Command.PSUBSCRIBE).arg(pattern);
+                    return checkKeyspaceEvents(connection).andThen(send(connection, psubscribe).ignoreElement());
+                });
+        }
+
+        private Completable checkKeyspaceEvents(final RedisConnection connection) {
+            return send(connection, Request.cmd(Command.CONFIG).arg("GET").arg(NOTIFY_KEYSPACE_EVENTS))
+                .flatMapCompletable(response -> {
+                    String events = configValue(response);
+                    String missingEvents = missingKeyspaceEvents(events);
+                    if (missingEvents.isEmpty()) {
+                        return Completable.complete();
+                    }
+                    if (!configureKeyspaceEvents) {
+                        onKeyspaceEventsMissing(null);
+                        return Completable.complete();
+                    }
+                    Request enable = Request.cmd(Command.CONFIG).arg("SET").arg(NOTIFY_KEYSPACE_EVENTS).arg(events + missingEvents);
+                    return send(connection, enable).ignoreElement().doOnError(this::onKeyspaceEventsMissing).onErrorComplete();
+                })
+                .doOnError(throwable ->
+                    log.warn(
+                        "Unable to check keyspace notifications for cache [{}], '{} {}' is assumed to be set on Redis",
+                        name,
+                        NOTIFY_KEYSPACE_EVENTS,
+                        REQUIRED_KEYSPACE_EVENTS,
+                        throwable
+                    )
+                )
+                .onErrorComplete();
+        }
+
+        private void onKeyspaceEventsMissing(final Throwable throwable) {
+            log.warn(
+                "Keyspace notifications are disabled for cache [{}], '{} {}' must be set on Redis for changes to be notified: " +
+                "changes are not observed and no near cache is kept",
+                name,
+                NOTIFY_KEYSPACE_EVENTS,
+                REQUIRED_KEYSPACE_EVENTS,
+                throwable
+            );
+            if (!closed) {
+                onUnavailable.run();
+            }
+        }
+
+        private Maybe<Response> send(final RedisConnection connection, final Request request) {
+            return Maybe
+                .fromCompletionStage(connection.send(request).toCompletionStage())
+                .flatMap(response ->
+                    ResponseType.ERROR == response.type() ? Maybe.error(new IllegalStateException(response.format())) : Maybe.just(response)
+                );
+        }
+
+        private void close() {
+            closed = true;
+            connections.forEach(RedisConnection::close);
+            nodeClients.forEach(Redis::close);
+        }
+    }
+
+    /**
+     * <code>CONFIG GET</code> replies with a map with RESP3 and with a flat array of names and values with RESP2.
+     */
+    private static String configValue(final Response response) {
+        Response value = null;
+        try {
+            value = response.get(NOTIFY_KEYSPACE_EVENTS);
+        } catch (UnsupportedOperationException e) {
+            // Not a map
+        }
+        if (value == null && response.size() > 1) {
+            value = response.get(1);
+        }
+        return value == null ? "" : asString(value);
+    }
+
+    static String missingKeyspaceEvents(final String events) {
+        StringBuilder missing = new StringBuilder();
+        for (char event : REQUIRED_KEYSPACE_EVENTS.toCharArray()) {
+            boolean covered = events.indexOf(event) >= 0 || (event != 'K' && events.indexOf(ALL_EVENTS) >= 0);
+            if (!covered) {
+                missing.append(event);
+            }
+        }
+        return missing.toString();
+    }
+
+    private static String asString(final Response response) {
+        return response.toString(StandardCharsets.UTF_8);
+    }
+}
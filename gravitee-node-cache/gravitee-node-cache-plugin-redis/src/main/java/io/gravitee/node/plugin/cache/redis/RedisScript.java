@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cache.redis;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Lua script executed with EVALSHA. The SHA1 digest is computed locally so the script is only sent to Redis when it is not
+ * already in the server script cache (NOSCRIPT reply), in which case EVAL both runs and caches it.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+class RedisScript {
+
+    private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+    private final String source;
+    private final String sha;
+
+    RedisScript(final String source) {
+        this.source = source;
+        this.sha = sha1(source);
+    }
+
+    /**
+     * Execute the script.
+     *
+     * @param redis the client used to send the commands.
+     * @param keys the keys accessed by the script.
+     * @param args the arguments of the script, sent as raw bytes.
+     *
+     * @return the response of the script or an empty <code>Maybe</code> if the script returned nil.
+     */
+    Maybe<Response> eval(final Redis redis, final List<String> keys, final List<Buffer> args) {
+        return Maybe
+            .fromCompletionStage(redis.send(request(Command.EVALSHA, sha, keys, args)).toCompletionStage())
+            .onErrorResumeNext(throwable -> {
+                if (throwable.getMessage() != null && throwable.getMessage().startsWith(NO_SCRIPT_ERROR)) {
+                    return Maybe.fromCompletionStage(redis.send(request(Command.EVAL, source, keys, args)).toCompletionStage());
+                }
+                return Maybe.error(throwable);
+            });
+    }
+
+    private static Request request(final Command command, final String script, final List<String> keys, final List<Buffer> args) {
+        Request request = Request.cmd(command).arg(script).arg(keys.size());
+        keys.forEach(request::arg);
+        args.forEach(request::arg);
+        return request;
+    }
+
+    private static String sha1(final String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 algorithm is not available", e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.gravitee.node.plugin.cache.redis;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.ValueMapper;
+import io.gravitee.node.vertx.client.redis.VertxRedisClientFactory;
+import io.gravitee.plugin.configurations.redis.HostAndPort;
+import io.gravitee.plugin.configurations.redis.RedisClientOptions;
+import io.gravitee.plugin.configurations.redis.RedisClusterOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.CustomLog;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+/**
+ * Run the cache against a Redis Cluster made of two masters sharing the hash slots, so the entries of a cache are spread over both.
+ * Keyspace notifications are enabled by the cache itself.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class RedisCacheClusterTest {
+
+    private static final int FIRST_PORT = 6380;
+    private static final int SECOND_PORT = 6381;
+    private static final int SLOTS = 16384;
+
+    private static final List<RedisServer> redisServers = new ArrayList<>();
+    private static Vertx vertx;
+    private static RedisAPI firstNode;
+    private static RedisAPI secondNode;
+    private static Cache<String, String> redisCache;
+
+    @BeforeAll
+    public static void redisClusterInitialization() throws Exception {
+        redisServers.add(startClusterNode(FIRST_PORT));
+        redisServers.add(startClusterNode(SECOND_PORT));
+
+        vertx = Vertx.vertx();
+        firstNode = RedisAPI.api(Redis.createClient(vertx, "redis://localhost:" + FIRST_PORT));
+        secondNode = RedisAPI.api(Redis.createClient(vertx, "redis://localhost:" + SECOND_PORT));
+        await(firstNode.cluster(List.of("MEET", "127.0.0.1", String.valueOf(SECOND_PORT))));
+        await(firstNode.cluster(addSlots(0, SLOTS / 2)));
+        await(secondNode.cluster(addSlots(SLOTS / 2, SLOTS)));
+        Awaitility
+            .await()
+            .atMost(30, TimeUnit.SECONDS)
+            .until(() -> isClusterReady(firstNode) && isClusterReady(secondNode));
+
+        final var cluster = RedisClusterOptions
+            .builder()
+            .enabled(true)
+            .nodes(List.of(HostAndPort.builder().host("localhost").port(FIRST_PORT).build()))
+            .build();
+        final var options = RedisClientOptions.builder().host("localhost").port(FIRST_PORT).cluster(cluster).build();
+        final var cacheManager = new RedisCacheManager(options, new VertxRedisClientFactory(vertx));
+        cacheManager.setConfigureKeyspaceEvents(true);
+        redisCache =
+            cacheManager.getOrCreateCache(
+                "test-cluster",
+                CacheConfiguration.builder().build(),
+                new ValueMapper<String, String>() {
+                    @Override
+                    public String toCachedValue(String value) {
+                        return value;
+                    }
+
+                    @Override
+                    public String toValue(String cachedValue) {
+                        return cachedValue;
+                    }
+                }
+            );
+    }
+
+    @Test
+    void should_list_keys_of_every_master() throws Exception {
+        final Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            entries.put(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        }
+        entries.forEach(redisCache::put);
+
+        // Entries are spread over both masters
+        Assertions.assertTrue(await(firstNode.dbsize()).toInteger() > 0);
+        Assertions.assertTrue(await(secondNode.dbsize()).toInteger() > 0);
+
+        Assertions.assertTrue(redisCache.keys().containsAll(entries.keySet()));
+        Assertions.assertTrue(redisCache.size() >= entries.size());
+
+        var testClear = redisCache.rxClear().test();
+        testClear.await();
+        testClear.assertNoErrors();
+
+        var testEmpty = redisCache.rxIsEmpty().test();
+        testEmpty.await();
+        testEmpty.assertValue(true);
+        Assertions.assertEquals(0, await(firstNode.dbsize()).toInteger());
+        Assertions.assertEquals(0, await(secondNode.dbsize()).toInteger());
+    }
+
+    @Test
+    void should_notify_invalidations_of_keys_held_by_every_master() {
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        final Set<String> invalidated = ConcurrentHashMap.newKeySet();
+        final String listenerId = redisCache.addCacheInvalidationListener(invalidated::add);
+        try {
+            // Keyspace notifications are only published by the master holding the key
+            Awaitility
+                .await()
+                .atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    keys.forEach(key -> redisCache.put(key, "myvalue"));
+                    Assertions.assertTrue(invalidated.containsAll(keys));
+                });
+        } finally {
+            redisCache.removeCacheInvalidationListener(listenerId);
+            redisCache.evictAll(keys);
+        }
+    }
+
+    @AfterAll
+    public static void shutdownRedisCluster() {
+        if (vertx != null) {
+            vertx.close();
+        }
+        for (RedisServer redisServer : redisServers) {
+            try {
+                redisServer.stop();
+            } catch (IOException e) {
+                log.warn("Unable to stop Redis Server: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static RedisServer startClusterNode(int port) throws IOException {
+        final var redisServer = RedisServer
+            .newRedisServer()
+            .port(port)
+            .setting("dir " + Files.createTempDirectory("redis-cluster-" + port).toAbsolutePath())
+            .setting("cluster-enabled yes")
+            .setting("cluster-config-file nodes.conf")
+            .setting("cluster-node-timeout 5000")
+            .build();
+        redisServer.start();
+        return redisServer;
+    }
+
+    private static List<String> addSlots(int from, int to) {
+        final List<String> args = new ArrayList<>(to - from + 1);
+        args.add("ADDSLOTS");
+        for (int slot = from; slot < to; slot++) {
+            args.add(String.valueOf(slot));
+        }
+        return args;
+    }
+
+    private static boolean isClusterReady(RedisAPI node) throws Exception {
+        return await(node.cluster(List.of("INFO"))).toString().contains("cluster_state:ok");
+    }
+
+    private static Response await(Future<Response> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -16,17 +16,32 @@
 
 package io.gravitee.node.plugin.cache.redis;
 
+import io.gravitee.node.api.cache.BinaryValueMapper;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheInvalidationListener;
+import io.gravitee.node.api.cache.CacheLoadOptions;
 import io.gravitee.node.api.cache.ValueMapper;
 import io.gravitee.node.vertx.client.redis.VertxRedisClientFactory;
 import io.gravitee.plugin.configurations.redis.RedisClientOptions;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisAPI;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.CustomLog;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.*;
@@ -41,7 +56,9 @@ import redis.embedded.RedisServer;
 public class RedisCacheTest {
 
     private static RedisServer redisServer;
+    private static RedisCacheManager cacheManager;
     private static Cache<String, String> redisCache;
+    private static RedisAPI otherClient;
 
     @BeforeAll
     public static void redisInitialization() throws IOException {
@@ -50,9 +67,11 @@ public class RedisCacheTest {
 
         final var options = RedisClientOptions.builder().host("localhost").port(6379).build();
         final var vertx = Vertx.vertx();
-        final var cm = new RedisCacheManager(options, new VertxRedisClientFactory(vertx));
+        cacheManager = new RedisCacheManager(options, new VertxRedisClientFactory(vertx));
+        cacheManager.setConfigureKeyspaceEvents(true);
+        otherClient = RedisAPI.api(Redis.createClient(vertx, "redis://localhost:6379"));
         redisCache =
-            cm.getOrCreateCache(
+            cacheManager.getOrCreateCache(
                 "test",
                 CacheConfiguration.builder().build(),
                 new ValueMapper<String, String>() {
@@ -85,6 +104,25 @@ public class RedisCacheTest {
         test.assertValue("myvalue1"); // when key is present the put return previous value
     }
 
+    @Test
+    void should_overwrite_existing_key_with_put_and_put_all() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        final var otherKey = UUID.randomUUID().toString();
+        redisCache.put(key, "myvalue1");
+        redisCache.put(otherKey, "myvalue1");
+
+        TestObserver<String> test = redisCache.rxPut(key, "myvalue2").test();
+        test.await();
+        test.assertValue("myvalue1");
+        var testPutAll = redisCache.rxPutAll(Map.of(otherKey, "myvalue2")).test();
+        testPutAll.await();
+        testPutAll.assertNoErrors();
+
+        // Both paths replace the stored value
+        Assertions.assertEquals("myvalue2", redisCache.get(key));
+        Assertions.assertEquals("myvalue2", redisCache.get(otherKey));
+    }
+
     @Test
     void should_store_a_key_with_ttl() throws Exception {
         final var key = UUID.randomUUID().toString();
@@ -124,6 +162,210 @@ public class RedisCacheTest {
         testGet.assertValue(entries.get("key1"));
     }
 
+    @Test
+    void should_store_all_map_entries_with_ttl() throws Exception {
+        final var key1 = UUID.randomUUID().toString();
+        final var key2 = UUID.randomUUID().toString();
+        final var entries = Map.of(key1, "myvalue1", key2, "myvalue2");
+
+        var testPutAll = redisCache.rxPutAll(entries, 3, TimeUnit.SECONDS).test();
+        testPutAll.await();
+        testPutAll.assertNoErrors();
+
+        var testGet = redisCache.rxGet(key2).test();
+        testGet.await();
+        testGet.assertValue("myvalue2");
+
+        Awaitility
+            .await()
+            .atLeast(2, TimeUnit.SECONDS)
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var get = redisCache.rxGet(key1).test();
+                get.await();
+                get.assertNoValues();
+            });
+    }
+
+    @Test
+    void should_evict_all_keys() throws Exception {
+        final var key1 = UUID.randomUUID().toString();
+        final var key2 = UUID.randomUUID().toString();
+        final var key3 = UUID.randomUUID().toString();
+
+        var testPutAll = redisCache.rxPutAll(Map.of(key1, "myvalue1", key2, "myvalue2", key3, "myvalue3")).test();
+        testPutAll.await();
+        testPutAll.assertNoErrors();
+
+        var testEvictAll = redisCache.rxEvictAll(List.of(key1, key2)).test();
+        testEvictAll.await();
+        testEvictAll.assertNoErrors();
+
+        var testGet = redisCache.rxGet(key1).test();
+        testGet.await();
+        testGet.assertNoValues();
+
+        testGet = redisCache.rxGet(key3).test();
+        testGet.await();
+        testGet.assertValue("myvalue3");
+    }
+
+    @Test
+    void should_get_all_present_values_in_batches() throws Exception {
+        final Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < RedisCache.BATCH_SIZE + 10; i++) {
+            entries.put(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        }
+        var testPutAll = redisCache.rxPutAll(entries).test();
+        testPutAll.await();
+        testPutAll.assertNoErrors();
+
+        final List<String> keys = new ArrayList<>(entries.keySet());
+        keys.add(UUID.randomUUID().toString());
+        var testGetAll = redisCache.rxGetAll(keys).test();
+        testGetAll.await();
+        testGetAll.assertValue(entries);
+    }
+
+    @Test
+    void should_stream_keys_values_and_size() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        final var value = UUID.randomUUID().toString();
+        TestObserver<String> test = redisCache.rxPut(key, value).test();
+        test.await();
+
+        var testKeys = redisCache.rxKeys().toList().test();
+        testKeys.await();
+        testKeys.assertValue(keys -> keys.contains(key));
+
+        var testValues = redisCache.rxValues().toList().test();
+        testValues.await();
+        testValues.assertValue(values -> values.contains(value));
+
+        var testSize = redisCache.rxSize().test();
+        testSize.await();
+        testSize.assertValue(size -> size >= 1);
+    }
+
+    @Test
+    void should_compute_if_absent_only_when_key_is_missing() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        var test = redisCache.rxComputeIfAbsent(key, k -> "myvalue1").test();
+        test.await();
+        test.assertValue("myvalue1");
+
+        test = redisCache.rxComputeIfAbsent(key, k -> "myvalue2").test();
+        test.await();
+        test.assertValue("myvalue1");
+    }
+
+    @Test
+    void should_compute_if_present_and_remove_when_function_returns_null() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        var test = redisCache.rxComputeIfPresent(key, (k, v) -> "myvalue1").test();
+        test.await();
+        test.assertNoValues();
+
+        redisCache.rxPut(key, "myvalue1").test().await();
+        test = redisCache.rxComputeIfPresent(key, (k, v) -> v + "-updated").test();
+        test.await();
+        test.assertValue("myvalue1-updated");
+
+        test = redisCache.rxComputeIfPresent(key, (k, v) -> null).test();
+        test.await();
+        test.assertNoValues();
+
+        test = redisCache.rxGet(key).test();
+        test.await();
+        test.assertNoValues();
+    }
+
+    @Test
+    void should_compute_atomically_under_contention() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        var test = Flowable
+            .range(0, 10)
+            .flatMapMaybe(i ->
+                redisCache.rxCompute(key, (k, v) -> String.valueOf(v == null ? 1 : Integer.parseInt(v) + 1)).subscribeOn(Schedulers.io())
+            )
+            .ignoreElements()
+            .test();
+        test.await();
+        test.assertNoErrors();
+
+        var testGet = redisCache.rxGet(key).test();
+        testGet.await();
+        testGet.assertValue("10");
+    }
+
+    @Test
+    void should_increment_counter_atomically() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        var test = Flowable
+            .range(0, 10)
+            .flatMapSingle(i -> redisCache.rxIncrement(key, 2).subscribeOn(Schedulers.io()))
+            .toList()
+            .test();
+        test.await();
+        test.assertNoErrors();
+        test.assertValue(values -> values.contains(20L));
+
+        var testDecrement = redisCache.rxIncrement(key, -5).test();
+        testDecrement.await();
+        testDecrement.assertValue(15L);
+
+        var testGet = redisCache.rxGet(key).test();
+        testGet.await();
+        testGet.assertValue("15");
+    }
+
+    @Test
+    void should_store_binary_values_as_is() throws Exception {
+        final Cache<String, byte[]> binaryCache = cacheManager.getOrCreateCache(
+            "test-binary",
+            CacheConfiguration.builder().build(),
+            new BinaryValueMapper<byte[]>() {
+                @Override
+                public Buffer toCachedValue(byte[] value) {
+                    return Buffer.buffer(value);
+                }
+
+                @Override
+                public byte[] toValue(Buffer cachedValue) {
+                    return cachedValue.getBytes();
+                }
+            }
+        );
+        final var key = UUID.randomUUID().toString();
+        // Not a valid UTF-8 sequence, would be altered by a String round trip
+        final byte[] value = new byte[] { (byte) 0xC3, (byte) 0x28, 0, (byte) 0xFF };
+
+        binaryCache.rxPut(key, value).test().await();
+        var test = binaryCache.rxGet(key).test();
+        test.await();
+        test.assertValue(cached -> Arrays.equals(value, cached));
+
+        test = binaryCache.rxCompute(key, (k, v) -> new byte[] { v[0], (byte) 0xFE }).test();
+        test.await();
+        test.assertValue(cached -> Arrays.equals(new byte[] { (byte) 0xC3, (byte) 0xFE }, cached));
+    }
+
+    @Test
+    void should_load_missing_value_once_with_distributed_lock() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        final var loads = new AtomicInteger();
+        final var options = CacheLoadOptions.builder().distributedLock(true).build();
+        final Maybe<String> load = Maybe.fromCallable(() -> "myvalue" + loads.incrementAndGet()).delay(100, TimeUnit.MILLISECONDS);
+        var test = Flowable
+            .range(0, 10)
+            .flatMapMaybe(i -> redisCache.rxGetOrLoad(key, k -> load, options).subscribeOn(Schedulers.io()))
+            .toList()
+            .test();
+        test.await();
+        test.assertValue(values -> values.size() == 10 && values.stream().allMatch("myvalue1"::equals));
+        Assertions.assertEquals(1, loads.get());
+    }
+
     @Test
     void should_evict_a_key() throws Exception {
         final var key = UUID.randomUUID().toString();
@@ -178,6 +420,154 @@ public class RedisCacheTest {
         testEmpty.assertValue(true);
     }
 
+    @Test
+    void should_enable_keyspace_notifications_and_notify_invalidations() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        final List<String> invalidated = new CopyOnWriteArrayList<>();
+        final String listenerId = redisCache.addCacheInvalidationListener(invalidated::add);
+        try {
+            // Subscribing is asynchronous, changes are only notified once subscribed
+            Awaitility
+                .await()
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    otherClient.set(List.of("test." + key, "myvalue1")).toCompletionStage().toCompletableFuture().get();
+                    Assertions.assertTrue(invalidated.contains(key));
+                });
+
+            var config = otherClient.config(List.of("GET", "notify-keyspace-events")).toCompletionStage().toCompletableFuture().get();
+            Assertions.assertTrue(config.toString().contains("K"));
+        } finally {
+            redisCache.removeCacheInvalidationListener(listenerId);
+        }
+    }
+
+    @Test
+    void should_unsubscribe_keyspace_notifications_when_cache_is_destroyed() throws Exception {
+        final Cache<String, String> destroyedCache = cacheManager.getOrCreateCache(
+            "test-destroyed",
+            CacheConfiguration.builder().build(),
+            new ValueMapper<String, String>() {
+                @Override
+                public String toCachedValue(String value) {
+                    return value;
+                }
+
+                @Override
+                public String toValue(String cachedValue) {
+                    return cachedValue;
+                }
+            }
+        );
+        final long patterns = patternSubscriptions();
+        destroyedCache.addCacheInvalidationListener(key -> {});
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> patternSubscriptions() == patterns + 1);
+
+        cacheManager.destroy("test-destroyed");
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> patternSubscriptions() == patterns);
+        // Listening again to a destroyed cache has no effect
+        destroyedCache.addCacheInvalidationListener(key -> {});
+        Awaitility
+            .await()
+            .during(200, TimeUnit.MILLISECONDS)
+            .atMost(1, TimeUnit.SECONDS)
+            .until(() -> patternSubscriptions() == patterns);
+    }
+
+    private static long patternSubscriptions() throws Exception {
+        return otherClient.pubsub(List.of("NUMPAT")).toCompletionStage().toCompletableFuture().get().toLong();
+    }
+
+    @Test
+    void should_notify_invalidations_are_unavailable_when_keyspace_notifications_are_disabled() throws Exception {
+        otherClient.config(List.of("SET", "notify-keyspace-events", "")).toCompletionStage().toCompletableFuture().get();
+        final var options = RedisClientOptions.builder().host("localhost").port(6379).build();
+        final var otherCacheManager = new RedisCacheManager(options, new VertxRedisClientFactory(Vertx.vertx()));
+        final Cache<String, String> otherCache = otherCacheManager.getOrCreateCache(
+            "test-unavailable",
+            CacheConfiguration.builder().build(),
+            new ValueMapper<String, String>() {
+                @Override
+                public String toCachedValue(String value) {
+                    return value;
+                }
+
+                @Override
+                public String toValue(String cachedValue) {
+                    return cachedValue;
+                }
+            }
+        );
+        final AtomicInteger unavailable = new AtomicInteger();
+        final String listenerId = otherCache.addCacheInvalidationListener(
+            new CacheInvalidationListener<>() {
+                @Override
+                public void onInvalidation(String invalidatedKey) {}
+
+                @Override
+                public void onInvalidationUnavailable() {
+                    unavailable.incrementAndGet();
+                }
+            }
+        );
+        try {
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> unavailable.get() == 1);
+
+            // Enabling the events is left to the administrator of the Redis server
+            var config = otherClient.config(List.of("GET", "notify-keyspace-events")).toCompletionStage().toCompletableFuture().get();
+            Assertions.assertFalse(config.toString().contains("K"));
+        } finally {
+            otherCache.removeCacheInvalidationListener(listenerId);
+            otherClient.config(List.of("SET", "notify-keyspace-events", "Kg$x")).toCompletionStage().toCompletableFuture().get();
+        }
+    }
+
+    @Test
+    void should_invalidate_all_and_subscribe_again_when_keyspace_notifications_are_lost() throws Exception {
+        final var key = UUID.randomUUID().toString();
+        final List<String> invalidated = new CopyOnWriteArrayList<>();
+        final AtomicInteger invalidationsOfAll = new AtomicInteger();
+        final String listenerId = redisCache.addCacheInvalidationListener(
+            new CacheInvalidationListener<>() {
+                @Override
+                public void onInvalidation(String invalidatedKey) {
+                    invalidated.add(invalidatedKey);
+                }
+
+                @Override
+                public void onInvalidationOfAll() {
+                    invalidationsOfAll.incrementAndGet();
+                }
+            }
+        );
+        try {
+            Awaitility
+                .await()
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    redisCache.put(key, "myvalue1");
+                    Assertions.assertTrue(invalidated.contains(key));
+                });
+
+            otherClient.client(List.of("KILL", "TYPE", "pubsub")).toCompletionStage().toCompletableFuture().get();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> invalidationsOfAll.get() >= 1);
+
+            invalidated.clear();
+            Awaitility
+                .await()
+                .atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> {
+                    redisCache.put(key, "myvalue2");
+                    Assertions.assertTrue(invalidated.contains(key));
+                });
+            // Changes made while not subscribed are also covered once subscribed again
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> invalidationsOfAll.get() == 2);
+        } finally {
+            redisCache.removeCacheInvalidationListener(listenerId);
+        }
+    }
+
     @AfterAll
     public static void shutdownRedisServer() {
         if (redisServer != null) {
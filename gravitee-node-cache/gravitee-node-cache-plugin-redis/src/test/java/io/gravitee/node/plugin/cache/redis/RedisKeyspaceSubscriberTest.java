@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.gravitee.node.plugin.cache.redis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RedisKeyspaceSubscriberTest {
+
+    @Test
+    void should_require_all_keyspace_events_when_notifications_are_disabled() {
+        Assertions.assertEquals("Kg$x", RedisKeyspaceSubscriber.missingKeyspaceEvents(""));
+    }
+
+    @Test
+    void should_only_add_missing_keyspace_events() {
+        Assertions.assertEquals("Kx", RedisKeyspaceSubscriber.missingKeyspaceEvents("Eg$"));
+        Assertions.assertEquals("", RedisKeyspaceSubscriber.missingKeyspaceEvents("xKg$"));
+    }
+
+    @Test
+    void should_consider_all_events_alias_without_keyspace_channel() {
+        Assertions.assertEquals("K", RedisKeyspaceSubscriber.missingKeyspaceEvents("AE"));
+        Assertions.assertEquals("", RedisKeyspaceSubscriber.missingKeyspaceEvents("KA"));
+    }
+}
@@ -19,6 +19,9 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.node.api.cache.CacheConfiguration;
 import io.gravitee.node.api.cache.CacheManager;
+import io.gravitee.node.api.cache.ValueMapper;
+import io.gravitee.node.plugin.cache.common.CacheSnapshotter;
+import io.gravitee.node.plugin.cache.common.OffHeapCache;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -29,6 +32,13 @@ import java.util.concurrent.ConcurrentMap;
 public class StandaloneCacheManager extends AbstractService<CacheManager> implements CacheManager {
 
     private final ConcurrentMap<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final CacheSnapshotter snapshotter = new CacheSnapshotter();
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        snapshotter.close();
+    }
 
     @Override
     public <K, V> Cache<K, V> getOrCreateCache(final String name) {
@@ -38,12 +48,42 @@ public class StandaloneCacheManager extends AbstractService<CacheManager> implem
     @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getOrCreateCache(final String cacheName, final CacheConfiguration configuration) {
-        return (Cache<K, V>) caches.computeIfAbsent(cacheName, s -> new StandaloneCache<>(cacheName, configuration));
+        return getOrCreateCache(cacheName, configuration, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V, C> Cache<K, V> getOrCreateCache(
+        final String cacheName,
+        final CacheConfiguration configuration,
+        final ValueMapper<V, C> valueMapper
+    ) {
+        if (configuration.isOffHeap()) {
+            return (Cache<K, V>) caches.computeIfAbsent(cacheName, s -> new OffHeapCache<>(cacheName, configuration, valueMapper));
+        }
+        Cache<?, ?> existing = caches.get(cacheName);
+        if (existing != null) {
+            return (Cache<K, V>) existing;
+        }
+        // The snapshot is restored once the cache is registered, so the map is not locked while reading it from disk
+        StandaloneCache<K, V> cache = new StandaloneCache<>(cacheName, configuration);
+        existing = caches.putIfAbsent(cacheName, cache);
+        if (existing != null) {
+            return (Cache<K, V>) existing;
+        }
+        try {
+            snapshotter.register(cache, configuration, valueMapper);
+        } catch (RuntimeException e) {
+            caches.remove(cacheName, cache);
+            throw e;
+        }
+        return cache;
     }
 
     @Override
     public void destroy(final String cacheName) {
         Cache<?, ?> cache = caches.remove(cacheName);
+        snapshotter.unregister(cacheName);
         if (cache != null) {
             cache.clear();
         }
@@ -25,17 +25,27 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cluster.ClusterManager;
 import io.gravitee.node.api.cluster.Member;
 import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.messaging.CoalescingTopic;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
 import io.gravitee.node.api.cluster.messaging.Queue;
 import io.gravitee.node.api.cluster.messaging.Topic;
 import io.gravitee.node.plugin.cluster.hazelcast.messaging.HazelcastQueue;
 import io.gravitee.node.plugin.cluster.hazelcast.messaging.HazelcastTopic;
-import java.util.HashSet;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.MessageCodecs;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import lombok.CustomLog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -45,20 +55,61 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class HazelcastClusterManager extends AbstractService<ClusterManager> implements ClusterManager, MembershipListener {
 
+    private static final int DEFAULT_QUEUE_LISTENER_THREADS = 4;
+
     private final HazelcastInstance hazelcastInstance;
 
-    private final Set<MemberListener> memberListeners = new HashSet<>();
+    /**
+     * Listeners are notified while holding no lock, they can be added or removed during a notification.
+     */
+    private final Set<MemberListener> memberListeners = new CopyOnWriteArraySet<>();
     private final Map<String, Queue<?>> queuesByName = new ConcurrentHashMap<>();
+    private final Set<CoalescingTopic<?>> coalescingTopics = ConcurrentHashMap.newKeySet();
+    private final MessageCodecs codecs = new MessageCodecs();
+
+    @Value("${cluster.hazelcast.queue.max-batch-size:" + HazelcastQueue.DEFAULT_MAX_BATCH_SIZE + "}")
+    private int queueMaxBatchSize = HazelcastQueue.DEFAULT_MAX_BATCH_SIZE;
+
+    @Value("${cluster.hazelcast.queue.listener-threads:" + DEFAULT_QUEUE_LISTENER_THREADS + "}")
+    private int queueListenerThreads = DEFAULT_QUEUE_LISTENER_THREADS;
+
+    @Value("${cluster.hazelcast.topic.reliable:false}")
+    private boolean reliableTopics = false;
+
+    /**
+     * Messages encoded by a codec and messages published at once are sent in envelopes that nodes of previous versions cannot read,
+     * so they are only enabled once every node of the cluster is upgraded.
+     */
+    @Value("${cluster.hazelcast.message-envelopes:false}")
+    private boolean messageEnvelopes = false;
+
+    /**
+     * Executor shared by all the queues to drain them and deliver their messages, created with the first queue.
+     */
+    private ExecutorService queueExecutor;
+
+    /**
+     * Snapshot of the members, rebuilt when a member joins or leaves the cluster so that reading it does not allocate.
+     */
+    private volatile MembersView membersView;
 
     @Override
     protected void doStart() throws Exception {
         super.doStart();
         hazelcastInstance.getCluster().addMembershipListener(this);
+        refreshMembersView();
     }
 
     @Override
     protected void doStop() throws Exception {
         super.doStop();
+        // Pending events are published before Hazelcast is shut down
+        coalescingTopics.forEach(CoalescingTopic::close);
+        synchronized (this) {
+            if (queueExecutor != null) {
+                queueExecutor.shutdown();
+            }
+        }
         if (hazelcastInstance != null) {
             hazelcastInstance.shutdown();
         }
@@ -76,18 +127,16 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
 
     @Override
     public Set<Member> members() {
-        return hazelcastInstance
-            .getCluster()
-            .getMembers()
-            .stream()
-            .map(member -> new HazelcastMember(member, isPrimaryMember(member), true))
-            .collect(Collectors.toSet());
+        return membersView().members();
     }
 
     @Override
     public Member self() {
-        com.hazelcast.cluster.Member localMember = hazelcastInstance.getCluster().getLocalMember();
-        return new HazelcastMember(localMember, isPrimaryMember(localMember), hazelcastInstance.getLifecycleService().isRunning());
+        HazelcastMember self = membersView().self();
+        if (!hazelcastInstance.getLifecycleService().isRunning()) {
+            return self.withRunning(false);
+        }
+        return self;
     }
 
     @Override
@@ -100,10 +149,34 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
         memberListeners.remove(listener);
     }
 
+    /**
+     * Codecs are ignored unless message envelopes are enabled, the messages being then serialized by Hazelcast.
+     */
+    @Override
+    public <T> void registerCodec(final MessageCodec<T> codec) {
+        if (!messageEnvelopes) {
+            log.debug("Message envelopes are disabled, messages of type [{}] are serialized by Hazelcast", codec.type().getName());
+            return;
+        }
+        codecs.register(codec);
+    }
+
     @Override
     public <T> Topic<T> topic(final String name) {
-        ITopic<T> iTopic = hazelcastInstance.getTopic(name);
-        return new HazelcastTopic<>(iTopic);
+        ITopic<Object> iTopic = reliableTopics ? hazelcastInstance.getReliableTopic(name) : hazelcastInstance.getTopic(name);
+        return new HazelcastTopic<>(iTopic, codecs, messageEnvelopes);
+    }
+
+    @Override
+    public <T> CoalescingTopic<T> coalescingTopic(
+        final String name,
+        final int maxBatchSize,
+        final long maxDelayMs,
+        final Function<? super T, ?> keyMapper
+    ) {
+        CoalescingTopic<T> coalescingTopic = ClusterManager.super.coalescingTopic(name, maxBatchSize, maxDelayMs, keyMapper);
+        coalescingTopics.add(coalescingTopic);
+        return coalescingTopic;
     }
 
     @Override
@@ -111,8 +184,8 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
         return (Queue<T>) queuesByName.computeIfAbsent(
             name,
             key -> {
-                IQueue<T> iQueue = hazelcastInstance.getQueue(key);
-                return new HazelcastQueue<>(iQueue);
+                IQueue<Object> iQueue = hazelcastInstance.getQueue(key);
+                return new HazelcastQueue<>(iQueue, codecs, queueExecutor(), queueMaxBatchSize);
             }
         );
     }
@@ -120,21 +193,71 @@ public class HazelcastClusterManager extends AbstractService<ClusterManager> imp
     @Override
     public void memberAdded(final MembershipEvent event) {
         log.info("A node joined the cluster: {}", event);
-        com.hazelcast.cluster.Member eventMember = event.getMember();
-        Member newMember = new HazelcastMember(eventMember, isPrimaryMember(eventMember));
+        Member newMember = refreshMembersView().member(event.getMember()).orElseGet(() -> new HazelcastMember(event.getMember(), false));
         memberListeners.forEach(listener -> listener.onMemberAdded(newMember));
     }
 
     @Override
     public void memberRemoved(final MembershipEvent event) {
         log.info("A node leaved the cluster: {}", event);
-        com.hazelcast.cluster.Member eventMember = event.getMember();
-        Member removeMember = new HazelcastMember(eventMember, isPrimaryMember(eventMember));
+        refreshMembersView();
+        // The member is not part of the cluster anymore, so it cannot be the primary one
+        Member removeMember = new HazelcastMember(event.getMember(), false);
         memberListeners.forEach(listener -> listener.onMemberRemoved(removeMember));
     }
 
-    private boolean isPrimaryMember(com.hazelcast.cluster.Member member) {
-        com.hazelcast.cluster.Member firstMemberAsPrimary = hazelcastInstance.getCluster().getMembers().iterator().next();
-        return member != null && member.equals(firstMemberAsPrimary);
+    void setMessageEnvelopes(final boolean messageEnvelopes) {
+        this.messageEnvelopes = messageEnvelopes;
+    }
+
+    private synchronized ExecutorService queueExecutor() {
+        if (queueExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            queueExecutor =
+                Executors.newFixedThreadPool(
+                    Math.max(1, queueListenerThreads),
+                    r -> {
+                        Thread thread = new Thread(r, "gio-cluster-queue-" + threadCount.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                );
+        }
+        return queueExecutor;
+    }
+
+    private MembersView membersView() {
+        MembersView view = membersView;
+        // Members may be read before this cluster manager is started
+        return view != null ? view : refreshMembersView();
+    }
+
+    private synchronized MembersView refreshMembersView() {
+        Set<com.hazelcast.cluster.Member> clusterMembers = hazelcastInstance.getCluster().getMembers();
+        // The oldest member, first of the set, is the primary one
+        com.hazelcast.cluster.Member primaryMember = clusterMembers.isEmpty() ? null : clusterMembers.iterator().next();
+        HazelcastMember self = null;
+        Set<Member> members = new LinkedHashSet<>();
+        for (com.hazelcast.cluster.Member clusterMember : clusterMembers) {
+            HazelcastMember member = new HazelcastMember(clusterMember, clusterMember.equals(primaryMember), true);
+            members.add(member);
+            if (clusterMember.localMember()) {
+                self = member;
+            }
+        }
+        if (self == null) {
+            com.hazelcast.cluster.Member localMember = hazelcastInstance.getCluster().getLocalMember();
+            self = new HazelcastMember(localMember, localMember.equals(primaryMember), true);
+        }
+        MembersView view = new MembersView(Collections.unmodifiableSet(members), self);
+        membersView = view;
+        return view;
+    }
+
+    private record MembersView(Set<Member> members, HazelcastMember self) {
+        Optional<Member> member(final com.hazelcast.cluster.Member clusterMember) {
+            String id = clusterMember.getUuid().toString();
+            return members.stream().filter(member -> member.id().equals(id)).findFirst();
+        }
     }
 }
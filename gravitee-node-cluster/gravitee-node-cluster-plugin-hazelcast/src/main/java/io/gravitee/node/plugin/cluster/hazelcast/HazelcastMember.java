@@ -62,6 +62,10 @@ public class HazelcastMember implements Member {
         return running;
     }
 
+    HazelcastMember withRunning(final boolean running) {
+        return new HazelcastMember(member, primary, running);
+    }
+
     @Override
     public Map<String, String> attributes() {
         return member.getAttributes();
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer writing an {@link EncodedMessage} as its codec name followed by its payload, with no other overhead.
+ *
+ * @author GraviteeSource Team
+ */
+public class EncodedMessageSerializer implements StreamSerializer<EncodedMessage> {
+
+    private static final int TYPE_ID = 1_000;
+
+    @Override
+    public void write(final ObjectDataOutput out, final EncodedMessage message) throws IOException {
+        out.writeString(message.codec());
+        out.writeByteArray(message.payload());
+    }
+
+    @Override
+    public EncodedMessage read(final ObjectDataInput in) throws IOException {
+        return new EncodedMessage(in.readString(), in.readByteArray());
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+}
@@ -16,85 +16,307 @@
 package io.gravitee.node.plugin.cluster.hazelcast.messaging;
 
 import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.ItemEvent;
+import com.hazelcast.collection.ItemListener;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import io.gravitee.node.api.cluster.messaging.Message;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
 import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.UnacknowledgedMessages;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.CustomLog;
-import lombok.RequiredArgsConstructor;
 
 /**
+ * Queue consumed on item events rather than by polling: the listeners of this node are only woken up when items are added to the
+ * queue. Available items are then drained in batches of at most <code>maxBatchSize</code> items, on the given bounded executor, and
+ * dispatched in turn to the message listeners. Each item is delivered to a single listener across the cluster, as the nodes compete
+ * to drain the queue. A drained batch is lost if the node stops before delivering it, a smaller batch size limits that loss.
+ * Items are taken out of the Hazelcast queue before being handled, by listeners as well as by consumptions: an item held by a node
+ * which crashes is lost, items are thus delivered at most once on crash.
+ * Items of a type with a registered {@link io.gravitee.node.api.cluster.messaging.MessageCodec} are sent encoded with it.
+ *
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
  */
-@RequiredArgsConstructor
+@CustomLog
 public class HazelcastQueue<T> implements Queue<T> {
 
-    private final IQueue<T> iQueue;
-    private final Map<String, QueuePollingThread<T>> queuePollingThreads = new ConcurrentHashMap<>();
+    public static final int DEFAULT_MAX_BATCH_SIZE = 10;
+
+    private final IQueue<Object> iQueue;
+    private final MessageCodecs codecs;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final Map<String, MessageListener<T>> messageListeners = new ConcurrentHashMap<>();
+    /**
+     * Number of drain requests since the current drain started, a single drain runs at a time.
+     */
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicInteger nextListener = new AtomicInteger();
+    private UUID itemListenerId;
+
+    public HazelcastQueue(final IQueue<Object> iQueue, final MessageCodecs codecs, final Executor executor, final int maxBatchSize) {
+        this.iQueue = iQueue;
+        this.codecs = codecs;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+    }
 
     @Override
     public void add(T item) {
-        iQueue.add(item);
+        iQueue.add(codecs.encode(item));
+    }
+
+    @Override
+    public void addAll(final Collection<T> items) {
+        iQueue.addAll(items.stream().map(codecs::encode).toList());
     }
 
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
         String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
-        QueuePollingThread<T> queuePollingThread = new QueuePollingThread<>(iQueue, messageListener);
-        queuePollingThread.start();
-        queuePollingThreads.put(subscriptionId, queuePollingThread);
+        messageListeners.put(subscriptionId, messageListener);
+        subscribeItemEvents();
+        // Items may have been added before this node listened to the queue
+        requestDrain();
         return subscriptionId;
     }
 
     @Override
     public boolean removeMessageListener(final String subscriptionId) {
-        QueuePollingThread<T> queuePollingThread = queuePollingThreads.remove(subscriptionId);
-        if (queuePollingThread != null) {
-            queuePollingThread.terminate();
+        messageListeners.remove(subscriptionId);
+        if (messageListeners.isEmpty()) {
+            unsubscribeItemEvents();
         }
         return true;
     }
 
-    @RequiredArgsConstructor
-    @CustomLog
-    public static class QueuePollingThread<T> extends Thread {
+    /**
+     * Consumed items are polled from the queue on the given executor as long as they are requested, and again on item events once the
+     * queue is empty, so that no thread waits for items. Items are emitted on IO schedulers.
+     * Negatively acknowledged items are redelivered by the same consumption before the items still in the queue. Items left
+     * unacknowledged when the consumption ends are added back at the end of the queue, Hazelcast queues not allowing to insert them at
+     * the head: they are then delivered after the items added meanwhile. Items not acknowledged yet are lost if the node crashes.
+     */
+    @Override
+    public Flowable<Message<T>> consume(final int prefetch) {
+        return Flowable
+            .defer(() -> {
+                Consumption consumption = new Consumption();
+                return Flowable.<Message<T>>create(consumption::start, BackpressureStrategy.MISSING).doOnRequest(consumption::request);
+            })
+            .observeOn(Schedulers.io(), false, prefetch);
+    }
 
-        private final IQueue<T> queue;
-        private final MessageListener<T> messageListener;
-        private volatile boolean running;
+    private synchronized void subscribeItemEvents() {
+        if (itemListenerId == null) {
+            itemListenerId = iQueue.addItemListener(new DrainItemListener(), false);
+        }
+    }
 
-        @Override
-        public void run() {
-            running = true;
+    private synchronized void unsubscribeItemEvents() {
+        if (itemListenerId != null && messageListeners.isEmpty()) {
+            iQueue.removeItemListener(itemListenerId);
+            itemListenerId = null;
+        }
+    }
+
+    private void requestDrain() {
+        if (drainRequests.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("Queue '{}' is not drained anymore as the cluster manager is stopped.", iQueue.getName());
+                drainRequests.set(0);
+            }
+        }
+    }
 
-            while (running) {
+    private void drain() {
+        int requests = drainRequests.get();
+        do {
+            try {
+                drainAvailableItems();
+            } catch (HazelcastInstanceNotActiveException e) {
+                log.info("Hazelcast is not active, stop draining queue '{}'.", iQueue.getName());
+                drainRequests.set(0);
+                return;
+            } catch (Exception e) {
+                log.warn("Draining hazelcast queue '{}' encountered an error.", iQueue.getName(), e);
+            }
+            // Items added while draining have requested another drain
+            requests = drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    private void drainAvailableItems() {
+        List<Object> items = new ArrayList<>(maxBatchSize);
+        while (!messageListeners.isEmpty() && iQueue.drainTo(items, maxBatchSize) > 0) {
+            for (Object item : items) {
+                deliver(item);
+            }
+            items.clear();
+        }
+    }
+
+    private void deliver(final Object item) {
+        List<MessageListener<T>> listeners = List.copyOf(messageListeners.values());
+        if (listeners.isEmpty()) {
+            // The last listener has been removed meanwhile, give the item back to the other nodes
+            iQueue.add(item);
+            return;
+        }
+        MessageListener<T> listener = listeners.get(Math.floorMod(nextListener.getAndIncrement(), listeners.size()));
+        try {
+            listener.onMessage(new Message<>(iQueue.getName(), codecs.<T>decode(item)));
+        } catch (Exception e) {
+            log.warn("Listener of hazelcast queue '{}' failed to handle a message.", iQueue.getName(), e);
+        }
+    }
+
+    /**
+     * Consumption polling the items as long as they are requested. A single poll runs at a time, so items are emitted sequentially.
+     */
+    private final class Consumption {
+
+        private final AtomicLong requested = new AtomicLong();
+        /**
+         * Number of poll requests since the current poll started.
+         */
+        private final AtomicInteger pollRequests = new AtomicInteger();
+        private final java.util.Queue<T> redelivered = new ConcurrentLinkedQueue<>();
+        private final UnacknowledgedMessages<T> unacknowledged = new UnacknowledgedMessages<>(this::redeliver);
+        private volatile FlowableEmitter<Message<T>> emitter;
+        private UUID itemListenerId;
+        private boolean closed;
+
+        private void start(final FlowableEmitter<Message<T>> emitter) {
+            itemListenerId = iQueue.addItemListener(new PollItemListener(), false);
+            emitter.setCancellable(this::close);
+            this.emitter = emitter;
+            // Items may have been requested before the consumption started
+            requestPoll();
+        }
+
+        private void request(final long count) {
+            requested.getAndUpdate(current -> current + count < 0 ? Long.MAX_VALUE : current + count);
+            requestPoll();
+        }
+
+        private void requestPoll() {
+            if (pollRequests.getAndIncrement() == 0) {
                 try {
-                    final T item = queue.poll(100, TimeUnit.MILLISECONDS);
+                    executor.execute(this::poll);
+                } catch (RejectedExecutionException e) {
+                    log.debug("Queue '{}' is not consumed anymore as the cluster manager is stopped.", iQueue.getName());
+                    pollRequests.set(0);
+                }
+            }
+        }
 
-                    if (item != null) {
-                        messageListener.onMessage(new Message<>(queue.getName(), item));
-                    }
+        private void poll() {
+            int requests = pollRequests.get();
+            do {
+                try {
+                    pollRequestedItems();
                 } catch (HazelcastInstanceNotActiveException e) {
-                    log.info("Hazelcast is not active, stop polling queue '{}'.", queue.getName());
-                    break;
+                    log.info("Hazelcast is not active, stop consuming queue '{}'.", iQueue.getName());
+                    pollRequests.set(0);
+                    emitter.onError(e);
+                    return;
                 } catch (Exception e) {
-                    log.warn("Polling hazelcast queue '{}' encountered an error.", queue.getName(), e);
+                    log.warn("Consuming hazelcast queue '{}' encountered an error.", iQueue.getName(), e);
                 }
+                // Items requested, added or redelivered while polling have requested another poll
+                requests = pollRequests.addAndGet(-requests);
+            } while (requests != 0);
+        }
+
+        private void pollRequestedItems() {
+            FlowableEmitter<Message<T>> current = emitter;
+            while (current != null && !current.isCancelled() && requested.get() > 0) {
+                T content = redelivered.poll();
+                if (content == null) {
+                    Object item = iQueue.poll();
+                    if (item == null) {
+                        return;
+                    }
+                    content = codecs.decode(item);
+                }
+                requested.decrementAndGet();
+                current.onNext(unacknowledged.track(iQueue.getName(), content));
+            }
+        }
+
+        private void redeliver(final T content) {
+            boolean consuming;
+            synchronized (this) {
+                consuming = !closed;
+                if (consuming) {
+                    redelivered.add(content);
+                }
+            }
+            if (consuming) {
+                requestPoll();
+            } else {
+                add(content);
             }
         }
 
-        public void terminate() {
-            this.running = false;
+        private void close() {
+            synchronized (this) {
+                closed = true;
+            }
             try {
-                // Make sure current polling is terminated
-                this.join(1_000);
-            } catch (InterruptedException e) {
-                log.warn("Polling hazelcast queue '{}' encountered an error when terminating", queue.getName(), e);
+                iQueue.removeItemListener(itemListenerId);
+            } catch (HazelcastInstanceNotActiveException e) {
+                log.debug("Hazelcast is not active, item listener of queue '{}' is already removed.", iQueue.getName());
+            }
+            unacknowledged.close();
+            T content;
+            while ((content = redelivered.poll()) != null) {
+                add(content);
+            }
+        }
+
+        private class PollItemListener implements ItemListener<Object> {
+
+            @Override
+            public void itemAdded(final ItemEvent<Object> item) {
+                requestPoll();
+            }
+
+            @Override
+            public void itemRemoved(final ItemEvent<Object> item) {
+                // Nothing to poll
             }
         }
     }
+
+    private class DrainItemListener implements ItemListener<Object> {
+
+        @Override
+        public void itemAdded(final ItemEvent<Object> item) {
+            requestDrain();
+        }
+
+        @Override
+        public void itemRemoved(final ItemEvent<Object> item) {
+            // Nothing to drain
+        }
+    }
 }
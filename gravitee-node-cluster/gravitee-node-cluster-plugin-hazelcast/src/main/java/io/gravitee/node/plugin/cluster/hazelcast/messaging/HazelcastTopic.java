@@ -20,36 +20,70 @@ import io.gravitee.node.api.cluster.messaging.Message;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
 import io.gravitee.node.api.cluster.messaging.Topic;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
 import java.util.UUID;
 
 /**
+ * Topic backed by a Hazelcast {@link ITopic}. When batching is enabled, the events published at once are sent as a single
+ * {@link MessageBatch}, unpacked for the listeners, otherwise they are sent one by one.
+ * Events of a type with a registered {@link io.gravitee.node.api.cluster.messaging.MessageCodec} are sent encoded with it.
+ *
  * @author Kamiel Ahmadpour (kamiel.ahmadpour at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class HazelcastTopic<T> implements Topic<T> {
 
-    private final ITopic<T> iTopic;
+    private final ITopic<Object> iTopic;
+    private final MessageCodecs codecs;
+    private final boolean batching;
 
-    public HazelcastTopic(ITopic<T> iTopic) {
+    public HazelcastTopic(ITopic<Object> iTopic, final MessageCodecs codecs, final boolean batching) {
         this.iTopic = iTopic;
+        this.codecs = codecs;
+        this.batching = batching;
     }
 
     @Override
     public void publish(T event) {
-        iTopic.publish(event);
+        iTopic.publish(codecs.encode(event));
     }
 
     @Override
     public Completable rxPublish(final T event) {
-        return Completable.fromCompletionStage(iTopic.publishAsync(event)).subscribeOn(Schedulers.io());
+        return Completable.fromCompletionStage(iTopic.publishAsync(codecs.encode(event))).subscribeOn(Schedulers.io());
+    }
+
+    @Override
+    public void publishAll(final Collection<T> events) {
+        if (!batching) {
+            events.forEach(this::publish);
+        } else if (!events.isEmpty()) {
+            iTopic.publish(batch(events));
+        }
+    }
+
+    @Override
+    public Completable rxPublishAll(final Collection<T> events) {
+        if (events.isEmpty()) {
+            return Completable.complete();
+        }
+        if (!batching) {
+            return Flowable.fromIterable(events).concatMapCompletable(this::rxPublish);
+        }
+        return Completable.fromCompletionStage(iTopic.publishAsync(batch(events))).subscribeOn(Schedulers.io());
     }
 
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
-        UUID subscriptionUUID = iTopic.addMessageListener(message ->
-            messageListener.onMessage(new Message<>(iTopic.getName(), message.getMessageObject()))
-        );
+        UUID subscriptionUUID = iTopic.addMessageListener(message -> {
+            if (message.getMessageObject() instanceof MessageBatch batch) {
+                batch.items().forEach(item -> messageListener.onMessage(new Message<>(iTopic.getName(), codecs.<T>decode(item))));
+            } else {
+                messageListener.onMessage(new Message<>(iTopic.getName(), codecs.<T>decode(message.getMessageObject())));
+            }
+        });
         return subscriptionUUID.toString();
     }
 
@@ -57,4 +91,8 @@ public class HazelcastTopic<T> implements Topic<T> {
     public boolean removeMessageListener(final String subscriptionId) {
         return iTopic.removeMessageListener(UUID.fromString(subscriptionId));
     }
+
+    private MessageBatch batch(final Collection<T> events) {
+        return new MessageBatch(events.stream().map(codecs::encode).toList());
+    }
 }
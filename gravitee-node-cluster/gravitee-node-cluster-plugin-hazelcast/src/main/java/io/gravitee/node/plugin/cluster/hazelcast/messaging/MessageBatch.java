@@ -0,0 +1,26 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import java.util.List;
+
+/**
+ * Messages published at once on a topic, sent to the other members of the cluster as a single message and unpacked for the listeners.
+ *
+ * @param items the messages, possibly encoded with their {@link io.gravitee.node.api.cluster.messaging.MessageCodec}.
+ * @author GraviteeSource Team
+ */
+public record MessageBatch(List<Object> items) {}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hazelcast serializer writing a {@link MessageBatch} as its number of items followed by the items, each one with its own serializer.
+ *
+ * @author GraviteeSource Team
+ */
+public class MessageBatchSerializer implements StreamSerializer<MessageBatch> {
+
+    private static final int TYPE_ID = 1_001;
+
+    @Override
+    public void write(final ObjectDataOutput out, final MessageBatch batch) throws IOException {
+        out.writeInt(batch.items().size());
+        for (Object item : batch.items()) {
+            out.writeObject(item);
+        }
+    }
+
+    @Override
+    public MessageBatch read(final ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(in.readObject());
+        }
+        return new MessageBatch(items);
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link MessageCodec} used by the topics and queues of a cluster manager. Messages of a type with a registered codec
+ * are sent as {@link EncodedMessage}, the others are left to the Hazelcast serialization.
+ *
+ * @author GraviteeSource Team
+ */
+public class MessageCodecs {
+
+    private final Map<Class<?>, MessageCodec<?>> codecsByType = new ConcurrentHashMap<>();
+    private final Map<String, MessageCodec<?>> codecsByName = new ConcurrentHashMap<>();
+
+    public <T> void register(final MessageCodec<T> codec) {
+        codecsByName.put(codec.name(), codec);
+        codecsByType.put(codec.type(), codec);
+    }
+
+    /**
+     * @param message the message to send.
+     * @return the message encoded with the codec registered for its type, or the message itself when there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public Object encode(final Object message) {
+        if (message == null || codecsByType.isEmpty()) {
+            return message;
+        }
+        MessageCodec<Object> codec = (MessageCodec<Object>) codecsByType.get(message.getClass());
+        return codec == null ? message : new EncodedMessage(codec.name(), codec.encode(message));
+    }
+
+    /**
+     * @param message the received message.
+     * @return the message decoded with the codec it has been encoded with, or the message itself when it has not been encoded.
+     * @throws IllegalStateException if the codec of the message is not registered.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(final Object message) {
+        if (message instanceof EncodedMessage encodedMessage) {
+            MessageCodec<?> codec = codecsByName.get(encodedMessage.codec());
+            if (codec == null) {
+                throw new IllegalStateException("No codec registered with name [" + encodedMessage.codec() + "]");
+            }
+            return (T) codec.decode(encodedMessage.payload());
+        }
+        return (T) message;
+    }
+}
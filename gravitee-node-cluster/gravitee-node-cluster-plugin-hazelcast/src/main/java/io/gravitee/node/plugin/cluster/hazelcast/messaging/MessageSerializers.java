@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.hazelcast.messaging;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+
+/**
+ * Registration of the Hazelcast serializers of the envelopes sent by the topics and queues.
+ *
+ * @author GraviteeSource Team
+ */
+public final class MessageSerializers {
+
+    private MessageSerializers() {}
+
+    /**
+     * Register the serializers in the given configuration. It must be done before the Hazelcast instance is created.
+     *
+     * @param config the configuration of the Hazelcast instance.
+     */
+    public static void register(final Config config) {
+        SerializationConfig serializationConfig = config.getSerializationConfig();
+        serializationConfig.addSerializerConfig(
+            new SerializerConfig().setTypeClass(EncodedMessage.class).setImplementation(new EncodedMessageSerializer())
+        );
+        serializationConfig.addSerializerConfig(
+            new SerializerConfig().setTypeClass(MessageBatch.class).setImplementation(new MessageBatchSerializer())
+        );
+    }
+}
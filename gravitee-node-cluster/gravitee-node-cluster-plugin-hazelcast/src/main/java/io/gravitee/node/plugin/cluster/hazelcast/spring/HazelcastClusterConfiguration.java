@@ -25,11 +25,15 @@ import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.version.Version;
 import io.gravitee.node.api.Node;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.MessageSerializers;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -59,6 +63,9 @@ public class HazelcastClusterConfiguration {
     @Autowired
     private Node node;
 
+    @Autowired
+    private Environment environment;
+
     @Bean
     public HazelcastInstance clusterHazelcastInstance() throws FileNotFoundException {
         // Force Hazelcast to use SLF4J before loading any HZ classes
@@ -83,9 +90,26 @@ public class HazelcastClusterConfiguration {
         memberAttributeConfig.setAttribute("gio_node_hostname", node.hostname());
         config.setMemberAttributeConfig(memberAttributeConfig);
 
+        MessageSerializers.register(config);
+        // Messages of these classes are serialized with Hazelcast Compact serialization instead of Java serialization
+        compactClasses().forEach(config.getSerializationConfig().getCompactSerializationConfig()::addClass);
+
         return Hazelcast.newHazelcastInstance(config);
     }
 
+    private List<Class<?>> compactClasses() {
+        List<Class<?>> compactClasses = new ArrayList<>();
+        String className;
+        while ((className = environment.getProperty("cluster.hazelcast.compact-classes[" + compactClasses.size() + "]")) != null) {
+            try {
+                compactClasses.add(Class.forName(className, false, getClass().getClassLoader()));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unable to load the class [" + className + "] to serialize with Compact", e);
+            }
+        }
+        return compactClasses;
+    }
+
     private Config fromFilePath(String filePath) throws FileNotFoundException {
         if (filePath.endsWith("xml")) {
             return new FileSystemXmlConfig(hazelcastConfigFilePath);
@@ -19,6 +19,7 @@
 package io.gravitee.node.plugin.cluster.hazelcast;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -32,12 +33,23 @@ import io.gravitee.common.component.Lifecycle;
 import io.gravitee.node.api.cluster.ClusterManager;
 import io.gravitee.node.api.cluster.Member;
 import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
 import io.gravitee.node.api.cluster.messaging.Queue;
 import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.plugin.cluster.hazelcast.messaging.MessageSerializers;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import java.io.FileNotFoundException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.*;
 
@@ -55,6 +67,7 @@ class HazelcastClusterManagerTest {
         Config config = new FileSystemXmlConfig("src/test/resources/cluster.xml");
         config.setProperty(ClusterProperty.HEALTH_MONITORING_LEVEL.getName(), "OFF");
         config.setInstanceName("test-hz-instance");
+        MessageSerializers.register(config);
         cut = new HazelcastClusterManager(Hazelcast.newHazelcastInstance(config));
         cut.start();
     }
@@ -108,4 +121,186 @@ class HazelcastClusterManagerTest {
                 assertThat(msg.get()).isEqualTo(new Message("hello!"));
             });
     }
+
+    @Test
+    void should_deliver_each_queued_message_once_across_listeners() {
+        Queue<Integer> test = cut.queue("test-batch");
+        // Messages added before any listener are delivered once a listener is added
+        for (int i = 0; i < 50; i++) {
+            test.add(i);
+        }
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        test.addMessageListener(message -> received.add(message.content()));
+        test.addMessageListener(message -> received.add(message.content()));
+        for (int i = 50; i < 100; i++) {
+            test.add(i);
+        }
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(received).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 100).boxed().toList()));
+    }
+
+    @Test
+    void should_stop_delivering_queued_messages_when_listener_is_removed() {
+        Queue<String> test = cut.queue("test-remove");
+        List<String> received = new CopyOnWriteArrayList<>();
+        String subscriptionId = test.addMessageListener(message -> received.add(message.content()));
+        test.add("first");
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).containsExactly("first"));
+
+        test.removeMessageListener(subscriptionId);
+        test.add("second");
+
+        await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).hasSize(1));
+    }
+
+    @Test
+    void should_publish_all_messages_in_topic() {
+        Topic<Integer> test = cut.topic("test-publish-all");
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        test.addMessageListener(message -> received.add(message.content()));
+
+        test.rxPublishAll(IntStream.range(0, 100).boxed().toList()).blockingAwait();
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(received).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 100).boxed().toList()));
+    }
+
+    @Test
+    void should_add_all_messages_in_queue() {
+        Queue<Integer> test = cut.queue("test-add-all");
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        test.addMessageListener(message -> received.add(message.content()));
+
+        test.addAll(IntStream.range(0, 100).boxed().toList());
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(received).containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList()));
+    }
+
+    @Test
+    void should_encode_messages_with_registered_codec_when_message_envelopes_are_enabled() {
+        ((HazelcastClusterManager) cut).setMessageEnvelopes(true);
+        AtomicInteger encoded = new AtomicInteger();
+        cut.registerCodec(greetingCodec(encoded));
+        Topic<Greeting> topic = cut.topic("test-codec");
+        Queue<Greeting> queue = cut.queue("test-codec");
+        List<Greeting> received = new CopyOnWriteArrayList<>();
+        topic.addMessageListener(message -> received.add(message.content()));
+        queue.addMessageListener(message -> received.add(message.content()));
+
+        topic.publish(new Greeting("from topic"));
+        queue.add(new Greeting("from queue"));
+
+        await()
+            .atMost(1, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(received).containsExactlyInAnyOrder(new Greeting("from topic"), new Greeting("from queue")));
+        assertThat(encoded).hasValue(2);
+    }
+
+    @Test
+    void should_ignore_registered_codec_by_default() {
+        AtomicInteger encoded = new AtomicInteger();
+        cut.registerCodec(greetingCodec(encoded));
+        Topic<Greeting> topic = cut.topic("test-no-codec");
+        Queue<Greeting> queue = cut.queue("test-no-codec");
+        List<Greeting> received = new CopyOnWriteArrayList<>();
+        topic.addMessageListener(message -> received.add(message.content()));
+        queue.addMessageListener(message -> received.add(message.content()));
+
+        topic.publishAll(List.of(new Greeting("from topic")));
+        queue.add(new Greeting("from queue"));
+
+        await()
+            .atMost(1, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(received).containsExactlyInAnyOrder(new Greeting("from topic"), new Greeting("from queue")));
+        assertThat(encoded).hasValue(0);
+    }
+
+    private static MessageCodec<Greeting> greetingCodec(final AtomicInteger encoded) {
+        return new MessageCodec<>() {
+            @Override
+            public Class<Greeting> type() {
+                return Greeting.class;
+            }
+
+            @Override
+            public byte[] encode(final Greeting message) {
+                encoded.incrementAndGet();
+                return message.value().getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Greeting decode(final byte[] bytes) {
+                return new Greeting(new String(bytes, StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    @Test
+    void should_return_same_members_view_until_membership_changes() throws Exception {
+        Set<Member> members = cut.members();
+        assertThat(cut.members()).isSameAs(members);
+        assertThat(cut.self()).isSameAs(cut.self());
+        assertThatThrownBy(() -> members.add(cut.self())).isInstanceOf(UnsupportedOperationException.class);
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        cut.addMemberListener(
+            new MemberListener() {
+                @Override
+                public void onMemberAdded(final Member member) {
+                    events.add("added");
+                    // Listeners may be removed while being notified
+                    cut.removeMemberListener(this);
+                }
+            }
+        );
+        cut.addMemberListener(
+            new MemberListener() {
+                @Override
+                public void onMemberRemoved(final Member member) {
+                    events.add("removed");
+                }
+            }
+        );
+        Config config = new FileSystemXmlConfig("src/test/resources/cluster.xml");
+        config.setProperty(ClusterProperty.HEALTH_MONITORING_LEVEL.getName(), "OFF");
+        config.setInstanceName("test-hz-instance-2");
+        HazelcastInstance otherInstance = Hazelcast.newHazelcastInstance(config);
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cut.members()).hasSize(2));
+        assertThat(cut.self().primary()).isTrue();
+        otherInstance.shutdown();
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(cut.members()).hasSize(1));
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> assertThat(events).containsExactly("added", "removed"));
+    }
+
+    @Test
+    void should_consume_queued_messages_on_demand() {
+        Queue<String> test = cut.queue("test-consume");
+        test.add("first");
+        test.add("second");
+
+        TestSubscriber<Message<String>> subscriber = test.consume(1).test(1);
+        subscriber.awaitCount(1);
+        subscriber.values().get(0).nack();
+        subscriber.request(2);
+
+        subscriber.awaitCount(3);
+        // The message negatively acknowledged may be redelivered before the second one, which may have been prefetched
+        assertThat(subscriber.values()).extracting(Message::content).containsExactlyInAnyOrder("first", "second", "first");
+        subscriber.values().stream().filter(message -> message.content().equals("second")).forEach(Message::ack);
+        subscriber.cancel();
+
+        // The message left unacknowledged is redelivered once the consumption is cancelled
+        List<String> received = new CopyOnWriteArrayList<>();
+        test.addMessageListener(message -> received.add(message.content()));
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(received).containsExactly("first"));
+    }
+
+    record Greeting(String value) implements Serializable {}
 }
@@ -19,8 +19,11 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.cluster.ClusterManager;
 import io.gravitee.node.api.cluster.Member;
 import io.gravitee.node.api.cluster.MemberListener;
+import io.gravitee.node.api.cluster.messaging.CoalescingTopic;
 import io.gravitee.node.api.cluster.messaging.Queue;
 import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.plugin.cluster.standalone.messaging.InMemoryQueue;
+import io.gravitee.node.plugin.cluster.standalone.messaging.InMemoryTopic;
 import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneMessageCodec;
 import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneQueue;
 import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneTopic;
@@ -28,7 +31,12 @@ import io.vertx.core.Vertx;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
@@ -37,17 +45,51 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class StandaloneClusterManager extends AbstractService<ClusterManager> implements ClusterManager {
 
+    private static final String IN_MEMORY_MESSAGING = "memory";
+    private static final int DEFAULT_MESSAGING_CAPACITY = 1024;
+    private static final int DEFAULT_MESSAGING_LISTENER_THREADS = 4;
+
     private static final Member LOCAL_MEMBER = new StandaloneMember();
     private final Map<String, Topic<?>> topicsByName = new ConcurrentHashMap<>();
     private final Map<String, Queue<?>> queuesByName = new ConcurrentHashMap<>();
+    private final Set<CoalescingTopic<?>> coalescingTopics = ConcurrentHashMap.newKeySet();
     private final Vertx vertx;
 
+    /**
+     * Topics and queues go through the Vert.x event bus by default, <code>memory</code> backs them with in-memory ring buffers.
+     */
+    @Value("${cluster.standalone.messaging.type:eventbus}")
+    private String messagingType = "eventbus";
+
+    @Value("${cluster.standalone.messaging.capacity:" + DEFAULT_MESSAGING_CAPACITY + "}")
+    private int messagingCapacity = DEFAULT_MESSAGING_CAPACITY;
+
+    @Value("${cluster.standalone.messaging.listener-threads:" + DEFAULT_MESSAGING_LISTENER_THREADS + "}")
+    private int messagingListenerThreads = DEFAULT_MESSAGING_LISTENER_THREADS;
+
+    /**
+     * Executor shared by the in-memory topics and queues to deliver their messages, created with the first of them.
+     */
+    private ExecutorService messagingExecutor;
+
     @Override
     protected void doStart() throws Exception {
         super.doStart();
         vertx.eventBus().registerCodec(new StandaloneMessageCodec());
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        // Pending events are published before the messaging executor is shut down
+        coalescingTopics.forEach(CoalescingTopic::close);
+        synchronized (this) {
+            if (messagingExecutor != null) {
+                messagingExecutor.shutdown();
+            }
+        }
+    }
+
     @Override
     public String clusterId() {
         return "standalone";
@@ -80,11 +122,59 @@ public class StandaloneClusterManager extends AbstractService<ClusterManager> im
 
     @Override
     public <T> Topic<T> topic(final String name) {
-        return (Topic<T>) topicsByName.computeIfAbsent(name, key -> new StandaloneTopic<>(vertx, name));
+        return (Topic<T>) topicsByName.computeIfAbsent(
+            name,
+            key -> {
+                if (inMemoryMessaging()) {
+                    return new InMemoryTopic<>(key, messagingCapacity, messagingExecutor());
+                }
+                return new StandaloneTopic<>(vertx, key);
+            }
+        );
+    }
+
+    @Override
+    public <T> CoalescingTopic<T> coalescingTopic(
+        final String name,
+        final int maxBatchSize,
+        final long maxDelayMs,
+        final Function<? super T, ?> keyMapper
+    ) {
+        CoalescingTopic<T> coalescingTopic = ClusterManager.super.coalescingTopic(name, maxBatchSize, maxDelayMs, keyMapper);
+        coalescingTopics.add(coalescingTopic);
+        return coalescingTopic;
     }
 
     @Override
     public <T> Queue<T> queue(final String name) {
-        return (Queue<T>) queuesByName.computeIfAbsent(name, key -> new StandaloneQueue<>(vertx, name));
+        return (Queue<T>) queuesByName.computeIfAbsent(
+            name,
+            key -> {
+                if (inMemoryMessaging()) {
+                    return new InMemoryQueue<>(key, messagingCapacity, messagingExecutor());
+                }
+                return new StandaloneQueue<>(vertx, key);
+            }
+        );
+    }
+
+    private boolean inMemoryMessaging() {
+        return IN_MEMORY_MESSAGING.equalsIgnoreCase(messagingType);
+    }
+
+    private synchronized ExecutorService messagingExecutor() {
+        if (messagingExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            messagingExecutor =
+                Executors.newFixedThreadPool(
+                    Math.max(1, messagingListenerThreads),
+                    r -> {
+                        Thread thread = new Thread(r, "gio-cluster-messaging-" + threadCount.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                );
+        }
+        return messagingExecutor;
     }
 }
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.UnacknowledgedMessages;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue kept in a bounded lock-free ring buffer instead of going through the event bus. Items are delivered in turn to the message
+ * listeners on the given executor, without being wrapped in event bus messages nor copied. Items added while there is no listener
+ * are kept, in order, until one is added. Consumptions only take items from the ring buffer as they are requested.
+ *
+ * @author GraviteeSource Team
+ */
+public class InMemoryQueue<T> implements Queue<T> {
+
+    private final String queueName;
+    private final RingBufferDispatcher<T> dispatcher;
+    private final Map<String, MessageListener<T>> messageListeners = new ConcurrentHashMap<>();
+    private final Set<Consumption> consumptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextListener = new AtomicInteger();
+
+    /**
+     * @param queueName the name of the queue.
+     * @param capacity the maximum number of items waiting to be delivered, rounded up to the next power of two.
+     * @param executor the executor delivering the items to the listeners.
+     */
+    public InMemoryQueue(final String queueName, final int capacity, final Executor executor) {
+        this.queueName = queueName;
+        this.dispatcher = new RingBufferDispatcher<>(queueName, capacity, executor, this::deliver, this::canDeliver);
+    }
+
+    /**
+     * @throws IllegalStateException if the queue is full.
+     */
+    @Override
+    public void add(final T item) {
+        offer(item);
+        dispatcher.requestDrain();
+    }
+
+    /**
+     * @throws IllegalStateException if the queue is full, the items preceding the first one which could not be added are kept.
+     */
+    @Override
+    public void addAll(final Collection<T> items) {
+        try {
+            items.forEach(this::offer);
+        } finally {
+            dispatcher.requestDrain();
+        }
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener) {
+        String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
+        messageListeners.put(subscriptionId, messageListener);
+        // Items may have been added before any listener
+        dispatcher.requestDrain();
+        return subscriptionId;
+    }
+
+    /**
+     * Items are taken from the ring buffer only when they are requested, items added while nothing is requested are kept in the
+     * ring buffer. Negatively acknowledged items, and the items not acknowledged when the consumption ends, are added back to the
+     * queue.
+     */
+    @Override
+    public Flowable<Message<T>> consume(final int prefetch) {
+        return Flowable
+            .defer(() -> {
+                Consumption consumption = new Consumption();
+                return Flowable.<Message<T>>create(consumption::start, BackpressureStrategy.MISSING).doOnRequest(consumption::request);
+            })
+            .observeOn(Schedulers.io(), false, prefetch);
+    }
+
+    @Override
+    public boolean removeMessageListener(final String subscriptionId) {
+        return messageListeners.remove(subscriptionId) != null;
+    }
+
+    /**
+     * @return the number of items waiting to be delivered.
+     */
+    public int size() {
+        return dispatcher.size();
+    }
+
+    private void offer(final T item) {
+        if (!dispatcher.offer(item)) {
+            throw new IllegalStateException("Queue '" + queueName + "' is full");
+        }
+    }
+
+    private boolean canDeliver() {
+        if (!messageListeners.isEmpty()) {
+            return true;
+        }
+        for (Consumption consumption : consumptions) {
+            if (consumption.isRequesting()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean deliver(final T item) {
+        List<MessageListener<T>> listeners = List.copyOf(messageListeners.values());
+        List<Consumption> currentConsumptions = List.copyOf(consumptions);
+        int receivers = listeners.size() + currentConsumptions.size();
+        if (receivers == 0) {
+            // The last listener has been removed meanwhile, the dispatcher keeps the item for the next one
+            return false;
+        }
+        int first = Math.floorMod(nextListener.getAndIncrement(), receivers);
+        for (int i = 0; i < receivers; i++) {
+            int receiver = (first + i) % receivers;
+            if (receiver < listeners.size()) {
+                listeners.get(receiver).onMessage(new Message<>(queueName, item));
+                return true;
+            }
+            if (currentConsumptions.get(receiver - listeners.size()).emit(item)) {
+                return true;
+            }
+        }
+        // No consumption requests items anymore, the dispatcher keeps the item until one does
+        return false;
+    }
+
+    /**
+     * Consumption emitting the items the dispatcher takes from the ring buffer as long as they are requested. Items are only emitted
+     * by the dispatcher drain, a single one runs at a time.
+     */
+    private final class Consumption {
+
+        private final AtomicLong requested = new AtomicLong();
+        private final UnacknowledgedMessages<T> unacknowledged = new UnacknowledgedMessages<>(InMemoryQueue.this::add);
+        private volatile FlowableEmitter<Message<T>> emitter;
+
+        private void start(final FlowableEmitter<Message<T>> emitter) {
+            emitter.setCancellable(this::close);
+            this.emitter = emitter;
+            consumptions.add(this);
+            // Items may have been requested before the consumption started
+            dispatcher.requestDrain();
+        }
+
+        private void request(final long count) {
+            requested.getAndUpdate(current -> current + count < 0 ? Long.MAX_VALUE : current + count);
+            dispatcher.requestDrain();
+        }
+
+        private boolean isRequesting() {
+            FlowableEmitter<Message<T>> current = emitter;
+            return current != null && !current.isCancelled() && requested.get() > 0;
+        }
+
+        private boolean emit(final T item) {
+            if (!isRequesting()) {
+                return false;
+            }
+            requested.decrementAndGet();
+            emitter.onNext(unacknowledged.track(queueName, item));
+            return true;
+        }
+
+        private void close() {
+            consumptions.remove(this);
+            unacknowledged.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.gravitee.node.api.cluster.messaging.Topic;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import lombok.CustomLog;
+
+/**
+ * Topic delivering the events directly to its listeners instead of going through the event bus. Each listener has its own bounded
+ * lock-free ring buffer, drained on the given executor, so a slow listener does not delay the others and receives the events in
+ * the order they have been published. Events published while the buffer of a listener is full are dropped for that listener.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class InMemoryTopic<T> implements Topic<T> {
+
+    private final String topicName;
+    private final int capacity;
+    private final Executor executor;
+    private final Map<String, RingBufferDispatcher<T>> dispatchers = new ConcurrentHashMap<>();
+
+    /**
+     * @param topicName the name of the topic.
+     * @param capacity the maximum number of events waiting to be delivered to each listener, rounded up to the next power of two.
+     * @param executor the executor delivering the events to the listeners.
+     */
+    public InMemoryTopic(final String topicName, final int capacity, final Executor executor) {
+        this.topicName = topicName;
+        this.capacity = capacity;
+        this.executor = executor;
+    }
+
+    @Override
+    public void publish(final T event) {
+        for (RingBufferDispatcher<T> dispatcher : dispatchers.values()) {
+            offer(dispatcher, event);
+            dispatcher.requestDrain();
+        }
+    }
+
+    @Override
+    public void publishAll(final Collection<T> events) {
+        for (RingBufferDispatcher<T> dispatcher : dispatchers.values()) {
+            events.forEach(event -> offer(dispatcher, event));
+            dispatcher.requestDrain();
+        }
+    }
+
+    @Override
+    public String addMessageListener(final MessageListener<T> messageListener) {
+        String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
+        dispatchers.put(
+            subscriptionId,
+            new RingBufferDispatcher<>(
+                topicName,
+                capacity,
+                executor,
+                event -> {
+                    messageListener.onMessage(new Message<>(topicName, event));
+                    return true;
+                },
+                // Pending events are not delivered anymore once the listener is removed
+                () -> dispatchers.containsKey(subscriptionId)
+            )
+        );
+        return subscriptionId;
+    }
+
+    @Override
+    public boolean removeMessageListener(final String subscriptionId) {
+        return dispatchers.remove(subscriptionId) != null;
+    }
+
+    private void offer(final RingBufferDispatcher<T> dispatcher, final T event) {
+        if (!dispatcher.offer(event)) {
+            log.warn("A listener of topic '{}' is too slow, an event has been dropped.", topicName);
+        }
+    }
+}
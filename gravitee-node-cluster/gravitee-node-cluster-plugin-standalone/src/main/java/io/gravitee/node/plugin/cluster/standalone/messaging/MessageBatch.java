@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Items sent at once on the event bus, so that a batch of messages only costs a single hop. Consumers unwrap it with
+ * {@link #forEachItem(Object, Consumer)} to handle single items and batches alike.
+ *
+ * @author GraviteeSource Team
+ */
+record MessageBatch<T>(List<T> items) {
+    @SuppressWarnings("unchecked")
+    static <T> void forEachItem(final Object body, final Consumer<T> consumer) {
+        if (body instanceof MessageBatch<?> batch) {
+            ((MessageBatch<T>) batch).items().forEach(consumer);
+        } else {
+            consumer.accept((T) body);
+        }
+    }
+}
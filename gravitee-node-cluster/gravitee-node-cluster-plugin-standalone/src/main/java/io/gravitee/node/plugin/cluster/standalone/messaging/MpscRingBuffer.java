@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for multiple producers and a single consumer. Producers claim a slot by incrementing the producer
+ * index, each slot having a sequence telling whether it is free for the current lap or holds an item ready to be consumed.
+ * The consumer does not need any atomic operation as long as {@link #poll()} is never called concurrently.
+ *
+ * @param <E> the type of the items.
+ * @author GraviteeSource Team
+ */
+final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    /**
+     * @param capacity the minimum number of items the buffer can hold, rounded up to the next power of two.
+     */
+    MpscRingBuffer(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, got " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.items = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an item to the buffer, may be called concurrently.
+     *
+     * @param item the item to add.
+     * @return <code>true</code> if the item has been added, <code>false</code> if the buffer is full.
+     */
+    boolean offer(final E item) {
+        Objects.requireNonNull(item, "Null items are not supported");
+        long index = producerIndex.get();
+        while (true) {
+            int offset = (int) index & mask;
+            long sequence = sequences.get(offset);
+            if (sequence == index) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    items.lazySet(offset, item);
+                    // Publishes the item to the consumer
+                    sequences.set(offset, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (sequence < index) {
+                // The slot still holds the item of the previous lap
+                return false;
+            } else {
+                // Another producer claimed this slot meanwhile
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * Take the oldest item of the buffer, must not be called concurrently.
+     *
+     * @return the item or <code>null</code> if the buffer is empty or the oldest item is still being added.
+     */
+    E poll() {
+        long index = consumerIndex;
+        int offset = (int) index & mask;
+        if (sequences.get(offset) != index + 1) {
+            return null;
+        }
+        E item = items.get(offset);
+        items.lazySet(offset, null);
+        consumerIndex = index + 1;
+        // Frees the slot for the next lap
+        sequences.set(offset, index + capacity);
+        return item;
+    }
+
+    /**
+     * @return the approximate number of items in the buffer.
+     */
+    int size() {
+        long size = producerIndex.get() - consumerIndex;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
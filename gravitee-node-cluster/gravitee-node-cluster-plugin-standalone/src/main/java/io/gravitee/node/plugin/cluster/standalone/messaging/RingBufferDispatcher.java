@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import lombok.CustomLog;
+
+/**
+ * Dispatch the items of a {@link MpscRingBuffer} to a handler on the given executor. A single drain runs at a time, so the
+ * handler receives the items in order and the buffer is only consumed by one thread at a time. An item the handler declines is held,
+ * ahead of the buffer, until the next drain.
+ *
+ * @param <T> the type of the items.
+ * @author GraviteeSource Team
+ */
+@CustomLog
+final class RingBufferDispatcher<T> {
+
+    private final String name;
+    private final MpscRingBuffer<T> buffer;
+    private final Executor executor;
+    private final Predicate<T> handler;
+    private final BooleanSupplier active;
+    /**
+     * Item declined by the handler, handled first by the next drain.
+     */
+    private volatile T heldItem;
+    /**
+     * Number of drain requests since the current drain started, a single drain runs at a time.
+     */
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    /**
+     * @param name the name of the queue or topic, used for logging.
+     * @param capacity the capacity of the ring buffer.
+     * @param executor the executor running the handler.
+     * @param handler the handler of the items, returning <code>false</code> when it could not handle an item anymore.
+     * @param active whether items could be handled, the buffer is not drained otherwise.
+     */
+    RingBufferDispatcher(
+        final String name,
+        final int capacity,
+        final Executor executor,
+        final Predicate<T> handler,
+        final BooleanSupplier active
+    ) {
+        this.name = name;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.executor = executor;
+        this.handler = handler;
+        this.active = active;
+    }
+
+    /**
+     * Add an item to the buffer without requesting a drain, see {@link #requestDrain()}.
+     *
+     * @return <code>true</code> if the item has been added, <code>false</code> if the buffer is full.
+     */
+    boolean offer(final T item) {
+        return buffer.offer(item);
+    }
+
+    int size() {
+        return buffer.size() + (heldItem != null ? 1 : 0);
+    }
+
+    void requestDrain() {
+        if (drainRequests.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("'{}' is not drained anymore as the cluster manager is stopped.", name);
+                drainRequests.set(0);
+            }
+        }
+    }
+
+    private void drain() {
+        int requests = drainRequests.get();
+        do {
+            drainAvailableItems();
+            // Items added while draining have requested another drain
+            requests = drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    private void drainAvailableItems() {
+        while (active.getAsBoolean()) {
+            T item = heldItem != null ? heldItem : buffer.poll();
+            if (item == null) {
+                return;
+            }
+            heldItem = null;
+            try {
+                if (!handler.test(item)) {
+                    // Keep the item ahead of the buffer rather than adding it back behind the newer items
+                    heldItem = item;
+                    return;
+                }
+            } catch (Exception e) {
+                log.warn("Listener of '{}' failed to handle a message.", name, e);
+            }
+        }
+    }
+}
@@ -18,13 +18,23 @@ package io.gravitee.node.plugin.cluster.standalone.messaging;
 import io.gravitee.node.api.cluster.messaging.Message;
 import io.gravitee.node.api.cluster.messaging.MessageListener;
 import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.UnacknowledgedMessages;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.MessageConsumer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
@@ -32,7 +42,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class StandaloneQueue<T> implements Queue<T> {
 
-    private final Map<String, MessageConsumer<T>> consumerMap = new ConcurrentHashMap<>();
+    private final Map<String, MessageConsumer<Object>> consumerMap = new ConcurrentHashMap<>();
     private final Vertx vertx;
     private final String queueName;
     private final DeliveryOptions deliveryOptions;
@@ -48,16 +58,23 @@ public class StandaloneQueue<T> implements Queue<T> {
         vertx.eventBus().send(queueName, item, deliveryOptions);
     }
 
+    @Override
+    public void addAll(final Collection<T> items) {
+        if (!items.isEmpty()) {
+            vertx.eventBus().send(queueName, new MessageBatch<>(List.copyOf(items)), deliveryOptions);
+        }
+    }
+
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
         String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
 
-        MessageConsumer<T> vertxConsumer = vertx
+        MessageConsumer<Object> vertxConsumer = vertx
             .eventBus()
-            .<T>localConsumer(queueName)
+            .localConsumer(queueName)
             .handler(event ->
                 vertx.executeBlocking(() -> {
-                    messageListener.onMessage(new Message<>(queueName, event.body()));
+                    MessageBatch.<T>forEachItem(event.body(), item -> messageListener.onMessage(new Message<>(queueName, item)));
                     return null;
                 })
             );
@@ -66,6 +83,21 @@ public class StandaloneQueue<T> implements Queue<T> {
         return subscriptionId;
     }
 
+    /**
+     * Consumed items are received by an event bus consumer and kept in a local queue, from which they are only emitted as they are
+     * requested. A paused consumer is not used as it drops the items received beyond its buffer. Negatively acknowledged items, and
+     * the items not emitted yet when the consumption ends, are sent again on the queue.
+     */
+    @Override
+    public Flowable<Message<T>> consume(final int prefetch) {
+        return Flowable
+            .defer(() -> {
+                Consumption consumption = new Consumption();
+                return Flowable.<Message<T>>create(consumption::start, BackpressureStrategy.MISSING).doOnRequest(consumption::request);
+            })
+            .observeOn(Schedulers.io(), false, prefetch);
+    }
+
     @Override
     public boolean removeMessageListener(final String subscriptionId) {
         if (consumerMap.containsKey(subscriptionId)) {
@@ -73,4 +105,86 @@ public class StandaloneQueue<T> implements Queue<T> {
         }
         return false;
     }
+
+    /**
+     * Consumption emitting the received items as long as they are requested. A single drain runs at a time, so items are emitted
+     * sequentially.
+     */
+    private final class Consumption {
+
+        private final AtomicLong requested = new AtomicLong();
+        /**
+         * Number of drain requests since the current drain started.
+         */
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private final ConcurrentLinkedQueue<T> received = new ConcurrentLinkedQueue<>();
+        private final UnacknowledgedMessages<T> unacknowledged = new UnacknowledgedMessages<>(this::receive);
+        private volatile FlowableEmitter<Message<T>> emitter;
+        private MessageConsumer<Object> vertxConsumer;
+        private boolean closed;
+
+        private void start(final FlowableEmitter<Message<T>> emitter) {
+            vertxConsumer = vertx.eventBus().localConsumer(queueName, event -> MessageBatch.<T>forEachItem(event.body(), this::receive));
+            emitter.setCancellable(this::close);
+            this.emitter = emitter;
+            // Items may have been requested before the consumption started
+            requestDrain();
+        }
+
+        private void request(final long count) {
+            requested.getAndUpdate(current -> current + count < 0 ? Long.MAX_VALUE : current + count);
+            requestDrain();
+        }
+
+        private void receive(final T content) {
+            boolean consuming;
+            synchronized (this) {
+                consuming = !closed;
+                if (consuming) {
+                    received.add(content);
+                }
+            }
+            if (consuming) {
+                requestDrain();
+            } else {
+                add(content);
+            }
+        }
+
+        private void requestDrain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            int requests = 1;
+            do {
+                drainRequestedItems();
+                // Items requested or received while draining have requested another drain
+                requests = drainRequests.addAndGet(-requests);
+            } while (requests != 0);
+        }
+
+        private void drainRequestedItems() {
+            FlowableEmitter<Message<T>> current = emitter;
+            while (current != null && !current.isCancelled() && requested.get() > 0) {
+                T content = received.poll();
+                if (content == null) {
+                    return;
+                }
+                requested.decrementAndGet();
+                current.onNext(unacknowledged.track(queueName, content));
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+            }
+            vertxConsumer.unregister();
+            unacknowledged.close();
+            T content;
+            while ((content = received.poll()) != null) {
+                add(content);
+            }
+        }
+    }
 }
@@ -23,6 +23,8 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.MessageConsumer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,7 +34,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class StandaloneTopic<T> implements Topic<T> {
 
-    private final Map<String, MessageConsumer<T>> consumerMap = new ConcurrentHashMap<>();
+    private final Map<String, MessageConsumer<Object>> consumerMap = new ConcurrentHashMap<>();
     private final Vertx vertx;
     private final String topicName;
     private final DeliveryOptions deliveryOptions;
@@ -48,16 +50,23 @@ public class StandaloneTopic<T> implements Topic<T> {
         vertx.eventBus().publish(topicName, event, deliveryOptions);
     }
 
+    @Override
+    public void publishAll(final Collection<T> events) {
+        if (!events.isEmpty()) {
+            vertx.eventBus().publish(topicName, new MessageBatch<>(List.copyOf(events)), deliveryOptions);
+        }
+    }
+
     @Override
     public String addMessageListener(final MessageListener<T> messageListener) {
         String subscriptionId = io.gravitee.common.utils.UUID.random().toString();
 
-        MessageConsumer<T> vertxConsumer = vertx
+        MessageConsumer<Object> vertxConsumer = vertx
             .eventBus()
-            .<T>localConsumer(topicName)
+            .localConsumer(topicName)
             .handler(event ->
                 vertx.executeBlocking(() -> {
-                    messageListener.onMessage(new Message<>(topicName, event.body()));
+                    MessageBatch.<T>forEachItem(event.body(), item -> messageListener.onMessage(new Message<>(topicName, item)));
                     return null;
                 })
             );
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.benchmark;
+
+import io.gravitee.node.api.cluster.messaging.Queue;
+import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.plugin.cluster.standalone.messaging.InMemoryQueue;
+import io.gravitee.node.plugin.cluster.standalone.messaging.InMemoryTopic;
+import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneMessageCodec;
+import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneQueue;
+import io.gravitee.node.plugin.cluster.standalone.messaging.StandaloneTopic;
+import io.vertx.core.Vertx;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of the standalone topics and queues, going through the Vert.x event bus or the in-memory ring buffers. Each invocation
+ * sends a batch of messages and waits for all of them to be delivered to the listener.
+ * <p>
+ * Benchmarks are not part of the test suite, run the {@link #main(String[])} method once the test classes are compiled.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class StandaloneMessagingBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+
+    @Param({ "eventbus", "memory" })
+    private String messagingType;
+
+    private Vertx vertx;
+    private ExecutorService executor;
+    private Topic<Integer> topic;
+    private Queue<Integer> queue;
+    private final AtomicLong topicDelivered = new AtomicLong();
+    private final AtomicLong queueDelivered = new AtomicLong();
+    private long topicSent;
+    private long queueSent;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        vertx.eventBus().registerCodec(new StandaloneMessageCodec());
+        executor = Executors.newFixedThreadPool(4);
+        if ("memory".equals(messagingType)) {
+            topic = new InMemoryTopic<>("benchmark-topic", BATCH_SIZE, executor);
+            queue = new InMemoryQueue<>("benchmark-queue", BATCH_SIZE, executor);
+        } else {
+            topic = new StandaloneTopic<>(vertx, "benchmark-topic");
+            queue = new StandaloneQueue<>(vertx, "benchmark-queue");
+        }
+        topic.addMessageListener(message -> topicDelivered.incrementAndGet());
+        queue.addMessageListener(message -> queueDelivered.incrementAndGet());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long publish() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            topic.publish(i);
+        }
+        topicSent += BATCH_SIZE;
+        return awaitDelivery(topicDelivered, topicSent);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long add() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            queue.add(i);
+        }
+        queueSent += BATCH_SIZE;
+        return awaitDelivery(queueDelivered, queueSent);
+    }
+
+    private static long awaitDelivery(final AtomicLong delivered, final long sent) {
+        long count;
+        while ((count = delivered.get()) < sent) {
+            Thread.onSpinWait();
+        }
+        return count;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StandaloneMessagingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.cluster.messaging.CoalescingTopic;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * @author GraviteeSource Team
+ */
+@ExtendWith(VertxExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CoalescingTopicTest {
+
+    public static final String TOPIC_NAME = "topicName";
+    private StandaloneTopic<String> topic;
+
+    @BeforeEach
+    public void beforeEach(Vertx vertx) {
+        vertx.eventBus().registerCodec(new StandaloneMessageCodec());
+        topic = new StandaloneTopic<>(vertx, TOPIC_NAME);
+    }
+
+    @Test
+    void should_publish_pending_events_at_once_after_max_delay(Vertx vertx, VertxTestContext testContext) {
+        Checkpoint singleMessage = testContext.checkpoint();
+        vertx
+            .eventBus()
+            .localConsumer(TOPIC_NAME)
+            .handler(event -> {
+                testContext.verify(() -> assertThat(event.body()).isEqualTo(new MessageBatch<>(List.of("first", "second", "third"))));
+                singleMessage.flag();
+            });
+        CoalescingTopic<String> cut = new CoalescingTopic<>(topic, 100, 50);
+
+        cut.publish("first");
+        cut.publish("second");
+        cut.publish("third");
+
+        testContext.verify(() -> assertThat(cut.pendingEvents()).isEqualTo(3));
+    }
+
+    @Test
+    void should_publish_pending_events_when_max_batch_size_is_reached(VertxTestContext testContext) {
+        Checkpoint allEvents = testContext.checkpoint(2);
+        CoalescingTopic<String> cut = new CoalescingTopic<>(topic, 2, 60_000);
+        cut.addMessageListener(message -> allEvents.flag());
+
+        cut.publish("first");
+        cut.publish("second");
+
+        testContext.verify(() -> assertThat(cut.pendingEvents()).isZero());
+    }
+
+    @Test
+    void should_only_publish_last_pending_event_of_a_key(VertxTestContext testContext) {
+        Checkpoint lastEvents = testContext.checkpoint(2);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CoalescingTopic<String> cut = new CoalescingTopic<>(topic, 100, 60_000, event -> event.charAt(0));
+        cut.addMessageListener(message -> {
+            received.add(message.content());
+            if (received.size() == 2) {
+                testContext.verify(() -> assertThat(received).containsExactly("b1", "a2"));
+            }
+            lastEvents.flag();
+        });
+
+        cut.publish("a1");
+        cut.publish("b1");
+        cut.publish("a2");
+        cut.flush();
+    }
+
+    @Test
+    void should_publish_pending_events_on_close_and_following_events_right_away(VertxTestContext testContext) {
+        Checkpoint allEvents = testContext.checkpoint(2);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CoalescingTopic<String> cut = new CoalescingTopic<>(topic, 100, 60_000);
+        cut.addMessageListener(message -> {
+            received.add(message.content());
+            if (received.size() == 2) {
+                testContext.verify(() -> assertThat(received).containsExactly("pending", "after close"));
+            }
+            allEvents.flag();
+        });
+
+        cut.publish("pending");
+        cut.close();
+        cut.publish("after close");
+
+        testContext.verify(() -> assertThat(cut.pendingEvents()).isZero());
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class InMemoryQueueTest {
+
+    private static final String QUEUE_NAME = "queueName";
+
+    private ExecutorService executor;
+    private InMemoryQueue<String> cut;
+
+    @BeforeEach
+    void beforeEach() {
+        executor = Executors.newFixedThreadPool(2);
+        cut = new InMemoryQueue<>(QUEUE_NAME, 4, executor);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_deliver_items_in_order() throws InterruptedException {
+        CountDownLatch allItems = new CountDownLatch(3);
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            assertThat(message.destination()).isEqualTo(QUEUE_NAME);
+            received.add(message.content());
+            allItems.countDown();
+        });
+
+        cut.add("first");
+        cut.addAll(List.of("second", "third"));
+
+        assertThat(allItems.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void should_deliver_each_item_to_a_single_listener() throws InterruptedException {
+        CountDownLatch allItems = new CountDownLatch(4);
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            first.add(message.content());
+            allItems.countDown();
+        });
+        cut.addMessageListener(message -> {
+            second.add(message.content());
+            allItems.countDown();
+        });
+
+        cut.addAll(List.of("1", "2", "3", "4"));
+
+        assertThat(allItems.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(first).hasSize(2).doesNotContainAnyElementsOf(second);
+        assertThat(second).hasSize(2);
+    }
+
+    @Test
+    void should_keep_items_until_a_listener_is_added() throws InterruptedException {
+        cut.add("message");
+        assertThat(cut.size()).isEqualTo(1);
+
+        CountDownLatch received = new CountDownLatch(1);
+        cut.addMessageListener(message -> received.countDown());
+
+        assertThat(received.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(cut.size()).isZero();
+    }
+
+    @Test
+    void should_keep_items_in_order_when_last_listener_is_removed() throws InterruptedException {
+        CountDownLatch firstItem = new CountDownLatch(1);
+        String[] subscriptionId = new String[1];
+        subscriptionId[0] =
+            cut.addMessageListener(message -> {
+                cut.removeMessageListener(subscriptionId[0]);
+                firstItem.countDown();
+            });
+        cut.addAll(List.of("1", "2", "3", "4"));
+        assertThat(firstItem.await(1, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch otherItems = new CountDownLatch(3);
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            received.add(message.content());
+            otherItems.countDown();
+        });
+
+        assertThat(otherItems.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("2", "3", "4");
+    }
+
+    @Test
+    void should_reject_items_when_full() {
+        cut.addAll(List.of("1", "2", "3", "4"));
+
+        assertThatThrownBy(() -> cut.add("5")).isInstanceOf(IllegalStateException.class);
+        assertThat(cut.size()).isEqualTo(4);
+    }
+
+    @Test
+    void should_stop_delivering_to_removed_listener() {
+        String subscriptionId = cut.addMessageListener(message -> {});
+
+        assertThat(cut.removeMessageListener(subscriptionId)).isTrue();
+        assertThat(cut.removeMessageListener(subscriptionId)).isFalse();
+        cut.add("message");
+        assertThat(cut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_consume_and_acknowledge_items() {
+        cut.addAll(List.of("first", "second"));
+
+        List<String> consumed = cut
+            .consume(1)
+            .doOnNext(Message::ack)
+            .map(Message::content)
+            .take(2)
+            .toList()
+            .blockingGet();
+
+        assertThat(consumed).containsExactly("first", "second");
+    }
+
+    @Test
+    void should_only_take_requested_items_from_queue_and_add_back_unacknowledged_ones() {
+        // Drains run on the calling thread so that the items taken from the queue are known
+        InMemoryQueue<String> queue = new InMemoryQueue<>(QUEUE_NAME, 4, Runnable::run);
+        TestSubscriber<Message<String>> subscriber = queue.consume(1).test(0);
+        queue.addAll(List.of("first", "second", "third"));
+
+        assertThat(queue.size()).isEqualTo(2);
+        subscriber.cancel();
+        assertThat(queue.size()).isEqualTo(3);
+
+        List<String> consumed = queue.consume(1).doOnNext(Message::ack).map(Message::content).take(3).toList().blockingGet();
+        assertThat(consumed).containsExactly("second", "third", "first");
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class InMemoryTopicTest {
+
+    private static final String TOPIC_NAME = "topicName";
+
+    private ExecutorService executor;
+    private InMemoryTopic<String> cut;
+
+    @BeforeEach
+    void beforeEach() {
+        executor = Executors.newFixedThreadPool(2);
+        cut = new InMemoryTopic<>(TOPIC_NAME, 16, executor);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_receive_event_on_all_listeners() throws InterruptedException {
+        CountDownLatch allListeners = new CountDownLatch(2);
+        cut.addMessageListener(message -> allListeners.countDown());
+        cut.addMessageListener(message -> allListeners.countDown());
+
+        cut.publish("message");
+
+        assertThat(allListeners.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_receive_all_published_events_in_order() throws InterruptedException {
+        CountDownLatch allEvents = new CountDownLatch(3);
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            assertThat(message.destination()).isEqualTo(TOPIC_NAME);
+            received.add(message.content());
+            allEvents.countDown();
+        });
+
+        cut.publish("first");
+        cut.publishAll(List.of("second", "third"));
+
+        assertThat(allEvents.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void should_not_delay_other_listeners_with_a_slow_one() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch allEvents = new CountDownLatch(6);
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        cut.addMessageListener(message -> {
+            received.add(message.content());
+            allEvents.countDown();
+        });
+
+        for (int i = 0; i < 6; i++) {
+            cut.publish(String.valueOf(i));
+        }
+
+        assertThat(allEvents.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("0", "1", "2", "3", "4", "5");
+        blocked.countDown();
+    }
+
+    @Test
+    void should_not_deliver_events_to_removed_listener() throws InterruptedException {
+        List<String> removed = new CopyOnWriteArrayList<>();
+        CountDownLatch received = new CountDownLatch(1);
+        String subscriptionId = cut.addMessageListener(message -> removed.add(message.content()));
+        cut.addMessageListener(message -> received.countDown());
+
+        assertThat(cut.removeMessageListener(subscriptionId)).isTrue();
+        cut.publish("message");
+
+        assertThat(received.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(removed).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.plugin.cluster.standalone.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MpscRingBufferTest {
+
+    @Test
+    void should_round_capacity_to_next_power_of_two() {
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new MpscRingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpscRingBuffer<>(8).capacity()).isEqualTo(8);
+        assertThatThrownBy(() -> new MpscRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_poll_items_in_order_and_reject_them_when_full() {
+        MpscRingBuffer<Integer> cut = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(cut.offer(i)).isTrue();
+        }
+
+        assertThat(cut.offer(4)).isFalse();
+        assertThat(cut.size()).isEqualTo(4);
+        assertThat(cut.poll()).isZero();
+        // The freed slot is reused for the next lap
+        assertThat(cut.offer(4)).isTrue();
+        List<Integer> polled = new ArrayList<>();
+        Integer item;
+        while ((item = cut.poll()) != null) {
+            polled.add(item);
+        }
+        assertThat(polled).containsExactly(1, 2, 3, 4);
+        assertThat(cut.size()).isZero();
+    }
+
+    @Test
+    void should_not_lose_items_offered_concurrently() throws InterruptedException {
+        int producers = 4;
+        int itemsPerProducer = 10_000;
+        MpscRingBuffer<Integer> cut = new MpscRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch produced = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    while (!cut.offer(producer * itemsPerProducer + i)) {
+                        Thread.yield();
+                    }
+                }
+                produced.countDown();
+            });
+        }
+
+        int[] lastByProducer = new int[producers];
+        Arrays.fill(lastByProducer, -1);
+        int consumed = 0;
+        while (consumed < producers * itemsPerProducer) {
+            Integer item = cut.poll();
+            if (item != null) {
+                int producer = item / itemsPerProducer;
+                // Items of a same producer are consumed in the order they have been offered
+                assertThat(item % itemsPerProducer).isEqualTo(lastByProducer[producer] + 1);
+                lastByProducer[producer] = item % itemsPerProducer;
+                consumed++;
+            } else {
+                Thread.yield();
+            }
+        }
+
+        assertThat(produced.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(cut.poll()).isNull();
+        executor.shutdown();
+    }
+}
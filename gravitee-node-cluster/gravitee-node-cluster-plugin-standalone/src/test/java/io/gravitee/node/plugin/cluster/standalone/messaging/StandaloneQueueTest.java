@@ -6,12 +6,18 @@ package io.gravitee.node.plugin.cluster.standalone.messaging;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.gravitee.node.api.cluster.messaging.Message;
+import io.gravitee.node.api.cluster.messaging.MessageListener;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -59,4 +65,64 @@ class StandaloneQueueTest {
         cut.addMessageListener(message -> oneListenerOnly.flag());
         cut.add("message");
     }
+
+    @Test
+    void should_receive_all_added_items_once(VertxTestContext testContext) {
+        Checkpoint eachItemOnce = testContext.checkpoint(3);
+        List<String> received = new CopyOnWriteArrayList<>();
+        MessageListener<String> listener = message -> {
+            received.add(message.content());
+            if (received.size() == 3) {
+                testContext.verify(() -> assertThat(received).containsExactly("first", "second", "third"));
+            }
+            eachItemOnce.flag();
+        };
+        cut.addMessageListener(listener);
+        cut.addMessageListener(listener);
+        cut.addAll(List.of("first", "second", "third"));
+    }
+
+    @Test
+    void should_consume_items_on_demand_and_redeliver_negatively_acknowledged_ones() {
+        TestSubscriber<Message<String>> subscriber = cut.consume(1).test(1);
+        cut.add("first");
+        cut.add("second");
+
+        subscriber.awaitCount(1);
+        subscriber.values().get(0).nack();
+        subscriber.request(2);
+
+        subscriber.awaitCount(3);
+        assertThat(subscriber.values()).extracting(Message::content).containsExactly("first", "second", "first");
+        subscriber.cancel();
+    }
+
+    @Test
+    void should_consume_all_items_received_before_being_requested() {
+        List<String> items = IntStream.range(0, 2000).mapToObj(String::valueOf).toList();
+        TestSubscriber<Message<String>> subscriber = cut.consume(10).test(1);
+        items.forEach(cut::add);
+
+        subscriber.awaitCount(1);
+        subscriber.request(items.size() - 1);
+
+        subscriber.awaitCount(items.size());
+        assertThat(subscriber.values()).extracting(Message::content).containsExactlyElementsOf(items);
+        subscriber.cancel();
+    }
+
+    @Test
+    void should_send_again_items_not_consumed_when_consumption_is_cancelled(VertxTestContext testContext) {
+        TestSubscriber<Message<String>> subscriber = cut.consume(1).test(1);
+        cut.addAll(List.of("first", "second"));
+        subscriber.awaitCount(1);
+        subscriber.values().get(0).ack();
+
+        Checkpoint secondReceived = testContext.checkpoint();
+        cut.addMessageListener(message -> {
+            testContext.verify(() -> assertThat(message.content()).isEqualTo("second"));
+            secondReceived.flag();
+        });
+        subscriber.cancel();
+    }
 }
@@ -12,6 +12,8 @@ import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -59,4 +61,18 @@ class StandaloneTopicTest {
         cut.addMessageListener(message -> allListeners.flag());
         cut.publish("message");
     }
+
+    @Test
+    void should_receive_all_published_events_in_order(VertxTestContext testContext) {
+        Checkpoint allEvents = testContext.checkpoint(3);
+        List<String> received = new CopyOnWriteArrayList<>();
+        cut.addMessageListener(message -> {
+            received.add(message.content());
+            if (received.size() == 3) {
+                testContext.verify(() -> assertThat(received).containsExactly("first", "second", "third"));
+            }
+            allEvents.flag();
+        });
+        cut.publishAll(List.of("first", "second", "third"));
+    }
 }
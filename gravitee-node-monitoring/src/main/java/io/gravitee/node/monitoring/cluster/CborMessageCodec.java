@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.cluster;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.gravitee.node.api.cluster.messaging.MessageCodec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link MessageCodec} serializing the messages in CBOR, a compact and schema-less binary form of JSON.
+ * Messages are mapped from their fields, whatever their visibility, so that the monitoring objects exposing computed getters or no
+ * setters are sent as is. Messages are much smaller and cheaper to (de)serialize than with Java serialization.
+ *
+ * @param <T> the type of messages handled by this codec.
+ * @author GraviteeSource Team
+ */
+public class CborMessageCodec<T> implements MessageCodec<T> {
+
+    private static final ObjectMapper MAPPER = CBORMapper
+        .builder()
+        .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+        .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .visibility(PropertyAccessor.CREATOR, JsonAutoDetect.Visibility.ANY)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    private final Class<T> type;
+
+    public CborMessageCodec(final Class<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public Class<T> type() {
+        return type;
+    }
+
+    @Override
+    public byte[] encode(final T message) {
+        try {
+            return MAPPER.writeValueAsBytes(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode message of type " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public T decode(final byte[] bytes) {
+        try {
+            return MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode message of type " + type.getName(), e);
+        }
+    }
+}
@@ -21,11 +21,12 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.node.api.Monitoring;
 import io.gravitee.node.api.Node;
 import io.gravitee.node.api.cluster.ClusterManager;
-import io.gravitee.node.api.cluster.messaging.Topic;
+import io.gravitee.node.api.cluster.messaging.CoalescingTopic;
 import io.gravitee.node.api.healthcheck.HealthCheck;
 import io.gravitee.node.api.infos.NodeInfos;
 import io.gravitee.node.api.monitor.Monitor;
 import io.gravitee.node.monitoring.NodeMonitoringService;
+import io.gravitee.node.monitoring.cluster.CborMessageCodec;
 import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
 import io.gravitee.node.monitoring.infos.NodeInfosService;
 import io.gravitee.node.monitoring.monitor.NodeMonitorService;
@@ -47,14 +48,20 @@ import lombok.RequiredArgsConstructor;
 @CustomLog
 public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEventHandler> {
 
+    /**
+     * Maximum time a monitoring event is kept pending before being published to the cluster. Only the latest event of each kind is
+     * published meanwhile, the previous ones being superseded by it.
+     */
+    static final long PUBLISH_DELAY_MS = 1000;
+    private static final int MAX_BATCH_SIZE = 100;
     private final Vertx vertx;
     private final ClusterManager clusterManager;
     private final ObjectMapper objectMapper;
     private final Node node;
     private final NodeMonitoringService nodeMonitoringService;
-    private Topic<NodeInfos> nodeInfosTopic;
-    private Topic<HealthCheck> healthCheckTopic;
-    private Topic<Monitor> monitorTopic;
+    private CoalescingTopic<NodeInfos> nodeInfosTopic;
+    private CoalescingTopic<HealthCheck> healthCheckTopic;
+    private CoalescingTopic<Monitor> monitorTopic;
     private String monitorSubscriptionId;
     private String healthCheckSubscription;
     private String nodeInfoSubscription;
@@ -70,7 +77,12 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
     }
 
     private void registerClusterListener() {
-        nodeInfosTopic = clusterManager.topic("node-infos");
+        // Monitoring messages are sent to the cluster in CBOR rather than with Java serialization when the cluster manager supports it
+        clusterManager.registerCodec(new CborMessageCodec<>(NodeInfos.class));
+        clusterManager.registerCodec(new CborMessageCodec<>(HealthCheck.class));
+        clusterManager.registerCodec(new CborMessageCodec<>(Monitor.class));
+        // All the events published by this handler are about the current node, keyed by its id only the latest one is published
+        nodeInfosTopic = clusterManager.coalescingTopic("node-infos", MAX_BATCH_SIZE, PUBLISH_DELAY_MS, event -> node.id());
         nodeInfoSubscription =
             nodeInfosTopic.addMessageListener(message -> {
                 log.debug("Received node infos message from cluster");
@@ -90,7 +102,7 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
                         .subscribe();
                 }
             });
-        healthCheckTopic = clusterManager.topic("node-healthcheck");
+        healthCheckTopic = clusterManager.coalescingTopic("node-healthcheck", MAX_BATCH_SIZE, PUBLISH_DELAY_MS, event -> node.id());
         healthCheckSubscription =
             healthCheckTopic.addMessageListener(message -> {
                 log.debug("Received health check message from cluster");
@@ -110,7 +122,7 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
                         .subscribe();
                 }
             });
-        monitorTopic = clusterManager.topic("node-monitor");
+        monitorTopic = clusterManager.coalescingTopic("node-monitor", MAX_BATCH_SIZE, PUBLISH_DELAY_MS, event -> node.id());
         monitorSubscriptionId =
             monitorTopic.addMessageListener(message -> {
                 log.debug("Received monitor message from cluster");
@@ -178,9 +190,16 @@ public class NodeMonitoringEventHandler extends AbstractService<NodeMonitoringEv
             monitorMessageConsumer.unregister();
         }
 
-        if (clusterManager != null && monitorTopic != null) {
-            monitorTopic.removeMessageListener(nodeInfoSubscription);
-            monitorTopic.removeMessageListener(healthCheckSubscription);
+        if (nodeInfosTopic != null) {
+            nodeInfosTopic.close();
+            nodeInfosTopic.removeMessageListener(nodeInfoSubscription);
+        }
+        if (healthCheckTopic != null) {
+            healthCheckTopic.close();
+            healthCheckTopic.removeMessageListener(healthCheckSubscription);
+        }
+        if (monitorTopic != null) {
+            monitorTopic.close();
             monitorTopic.removeMessageListener(monitorSubscriptionId);
         }
     }
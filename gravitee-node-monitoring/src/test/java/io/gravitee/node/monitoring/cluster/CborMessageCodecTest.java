@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.node.monitoring.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.node.api.healthcheck.HealthCheck;
+import io.gravitee.node.api.healthcheck.Result;
+import io.gravitee.node.api.infos.NodeInfos;
+import io.gravitee.node.api.infos.NodeStatus;
+import io.gravitee.node.api.monitor.Monitor;
+import io.gravitee.node.monitoring.monitor.probe.JvmProbe;
+import io.gravitee.node.monitoring.monitor.probe.OsProbe;
+import io.gravitee.node.monitoring.monitor.probe.ProcessProbe;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CborMessageCodecTest {
+
+    @Test
+    void should_encode_and_decode_monitor() {
+        Monitor monitor = Monitor
+            .on("node#1")
+            .at(System.currentTimeMillis())
+            .os(OsProbe.getInstance().osInfo())
+            .jvm(JvmProbe.getInstance().jvmInfo())
+            .process(ProcessProbe.getInstance().processInfo())
+            .build();
+        CborMessageCodec<Monitor> codec = new CborMessageCodec<>(Monitor.class);
+
+        Monitor decoded = codec.decode(codec.encode(monitor));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(monitor);
+    }
+
+    @Test
+    void should_encode_and_decode_health_check() {
+        HealthCheck healthCheck = new HealthCheck(
+            System.currentTimeMillis(),
+            Map.of("ok", Result.healthy("ok"), "ko", Result.unhealthy("ko"))
+        );
+        CborMessageCodec<HealthCheck> codec = new CborMessageCodec<>(HealthCheck.class);
+
+        HealthCheck decoded = codec.decode(codec.encode(healthCheck));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(healthCheck);
+    }
+
+    @Test
+    void should_encode_and_decode_node_infos() {
+        NodeInfos nodeInfos = new NodeInfos();
+        nodeInfos.setId("node#1");
+        nodeInfos.setStatus(NodeStatus.STARTED);
+        nodeInfos.setEvaluatedAt(System.currentTimeMillis());
+        nodeInfos.setTags(List.of("tag"));
+        nodeInfos.setMetadata(Map.of("key", "value"));
+        CborMessageCodec<NodeInfos> codec = new CborMessageCodec<>(NodeInfos.class);
+
+        NodeInfos decoded = codec.decode(codec.encode(nodeInfos));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(nodeInfos);
+    }
+}
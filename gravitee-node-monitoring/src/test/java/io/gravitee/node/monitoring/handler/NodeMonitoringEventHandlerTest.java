@@ -18,7 +18,9 @@ package io.gravitee.node.monitoring.handler;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -83,7 +85,7 @@ class NodeMonitoringEventHandlerTest {
 
         when(nodeMonitoringService.createOrUpdate(any())).thenAnswer(invocation -> Single.just(invocation.getArgument(0)));
         vertx.eventBus().publish(NodeInfosService.GIO_NODE_INFOS_BUS, nodeInfos);
-        verify(nodeMonitoringService, timeout(500))
+        verify(nodeMonitoringService, timeout(NodeMonitoringEventHandler.PUBLISH_DELAY_MS + 500))
             .createOrUpdate(
                 argThat(monitoring -> {
                     assertThat(monitoring.getNodeId()).isEqualTo("nodeId");
@@ -94,12 +96,32 @@ class NodeMonitoringEventHandlerTest {
             );
     }
 
+    @Test
+    void should_only_publish_latest_node_info_event_of_a_burst(Vertx vertx) {
+        final NodeInfos first = new NodeInfos();
+        first.setEvaluatedAt(System.currentTimeMillis());
+        first.setStatus(NodeStatus.STARTED);
+        first.setId(NODE_ID);
+        final NodeInfos latest = new NodeInfos();
+        latest.setEvaluatedAt(first.getEvaluatedAt() + 1);
+        latest.setStatus(NodeStatus.STARTED);
+        latest.setId(NODE_ID);
+
+        when(nodeMonitoringService.createOrUpdate(any())).thenAnswer(invocation -> Single.just(invocation.getArgument(0)));
+        vertx.eventBus().publish(NodeInfosService.GIO_NODE_INFOS_BUS, first);
+        vertx.eventBus().publish(NodeInfosService.GIO_NODE_INFOS_BUS, latest);
+
+        verify(nodeMonitoringService, after(NodeMonitoringEventHandler.PUBLISH_DELAY_MS + 500).times(1))
+            .createOrUpdate(argThat(monitoring -> monitoring.getEvaluatedAt().getTime() == latest.getEvaluatedAt()));
+        verify(nodeMonitoringService, times(1)).createOrUpdate(any());
+    }
+
     @Test
     void should_handle_healtcheck_event(Vertx vertx) {
         final HealthCheck healthCheck = new HealthCheck(System.currentTimeMillis(), Map.of("test", Result.healthy("ok")));
         vertx.eventBus().publish(NodeHealthCheckService.GIO_NODE_HEALTHCHECK_BUS, healthCheck);
 
-        verify(nodeMonitoringService, timeout(500))
+        verify(nodeMonitoringService, timeout(NodeMonitoringEventHandler.PUBLISH_DELAY_MS + 500))
             .createOrUpdate(
                 argThat(monitoring -> {
                     assertThat(monitoring.getNodeId()).isEqualTo("nodeId");
@@ -121,7 +143,7 @@ class NodeMonitoringEventHandlerTest {
             .build();
         vertx.eventBus().publish(NodeMonitorService.GIO_NODE_MONITOR_BUS, monitor);
 
-        verify(nodeMonitoringService, timeout(500))
+        verify(nodeMonitoringService, timeout(NodeMonitoringEventHandler.PUBLISH_DELAY_MS + 500))
             .createOrUpdate(
                 argThat(monitoring -> {
                     assertThat(monitoring.getNodeId()).isEqualTo("nodeId");